@@ -0,0 +1,59 @@
+package com.appsmith.external.helpers;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Reads the value of a column from the current row of a result set, converted to a type that can be serialized to
+ * JSON. Each decoder reads the cell exactly once, with the getter that suits the column's type, and returns null for
+ * SQL NULL values.
+ */
+@FunctionalInterface
+public interface ColumnDecoder {
+
+    Object decode(ResultSet resultSet, int column) throws SQLException;
+
+    ColumnDecoder OBJECT = ResultSet::getObject;
+
+    ColumnDecoder STRING = ResultSet::getString;
+
+    /**
+     * For types like intervals, whose driver objects have a readable `toString`, but don't serialize well otherwise.
+     */
+    ColumnDecoder OBJECT_TO_STRING = (resultSet, column) -> {
+        final Object value = resultSet.getObject(column);
+        return value == null ? null : value.toString();
+    };
+
+    /**
+     * Dates, as ISO formatted strings, like `2019-07-01`.
+     */
+    ColumnDecoder ISO_DATE = (resultSet, column) -> {
+        final Date value = resultSet.getDate(column);
+        return value == null ? null : DateTimeFormatter.ISO_DATE.format(value.toLocalDate());
+    };
+
+    /**
+     * Timestamps without a time zone, as ISO formatted strings in UTC, to the second, like `2019-07-01T10:00:00Z`.
+     */
+    ColumnDecoder ISO_TIMESTAMP = (resultSet, column) -> {
+        final Timestamp value = resultSet.getTimestamp(column);
+        return value == null
+                ? null
+                : DateTimeFormatter.ISO_DATE_TIME.format(value.toLocalDateTime().truncatedTo(ChronoUnit.SECONDS)) + "Z";
+    };
+
+    /**
+     * Timestamps with a time zone, as ISO formatted strings with the offset, like `2019-07-01T10:00:00+02:00`.
+     */
+    ColumnDecoder ISO_OFFSET_TIMESTAMP = (resultSet, column) -> {
+        final OffsetDateTime value = resultSet.getObject(column, OffsetDateTime.class);
+        return value == null ? null : DateTimeFormatter.ISO_DATE_TIME.format(value);
+    };
+
+}
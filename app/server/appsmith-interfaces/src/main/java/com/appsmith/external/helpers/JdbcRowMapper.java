@@ -0,0 +1,78 @@
+package com.appsmith.external.helpers;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps the rows of a result set to JSON friendly values. The name and decoder of each column are resolved once from the
+ * result set's metadata, so reading a row is just a call to the decoder of each cell.
+ */
+public class JdbcRowMapper {
+
+    private final String[] columnNames;
+
+    private final ColumnDecoder[] decoders;
+
+    private JdbcRowMapper(String[] columnNames, ColumnDecoder[] decoders) {
+        this.columnNames = columnNames;
+        this.decoders = decoders;
+    }
+
+    /**
+     * @param metaData           Metadata of the result set to map.
+     * @param useColumnLabels    Whether to name columns with their label (the alias in the query, if any), instead of
+     *                           their name.
+     * @param decodersByTypeName Decoders for columns of types that need converting, keyed by the lower case type name
+     *                           reported by the driver. Columns of other types are read with `getObject`.
+     */
+    public static JdbcRowMapper of(ResultSetMetaData metaData,
+                                   boolean useColumnLabels,
+                                   Map<String, ColumnDecoder> decodersByTypeName) throws SQLException {
+        final int columnCount = metaData.getColumnCount();
+        final String[] columnNames = new String[columnCount];
+        final ColumnDecoder[] decoders = new ColumnDecoder[columnCount];
+
+        for (int i = 0; i < columnCount; i++) {
+            columnNames[i] = useColumnLabels ? metaData.getColumnLabel(i + 1) : metaData.getColumnName(i + 1);
+            final String typeName = metaData.getColumnTypeName(i + 1);
+            decoders[i] = typeName == null
+                    ? ColumnDecoder.OBJECT
+                    : decodersByTypeName.getOrDefault(typeName.toLowerCase(Locale.ROOT), ColumnDecoder.OBJECT);
+        }
+
+        return new JdbcRowMapper(columnNames, decoders);
+    }
+
+    public List<String> getColumnNames() {
+        return Arrays.asList(columnNames);
+    }
+
+    /**
+     * @return The current row of the result set, as a map that keeps the order of the columns.
+     */
+    public Map<String, Object> readRow(ResultSet resultSet) throws SQLException {
+        final Map<String, Object> row = new LinkedHashMap<>(columnNames.length * 4 / 3 + 1);
+        for (int i = 0; i < decoders.length; i++) {
+            row.put(columnNames[i], decoders[i].decode(resultSet, i + 1));
+        }
+        return row;
+    }
+
+    /**
+     * @return The values of the current row of the result set, in the order of the columns.
+     */
+    public Object[] readValues(ResultSet resultSet) throws SQLException {
+        final Object[] values = new Object[decoders.length];
+        for (int i = 0; i < decoders.length; i++) {
+            values[i] = decoders[i].decode(resultSet, i + 1);
+        }
+        return values;
+    }
+
+}
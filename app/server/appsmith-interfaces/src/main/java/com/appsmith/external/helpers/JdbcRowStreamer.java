@@ -0,0 +1,201 @@
+package com.appsmith.external.helpers;
+
+import com.appsmith.external.models.RowsChunk;
+import com.appsmith.external.pluginExceptions.AppsmithPluginError;
+import com.appsmith.external.pluginExceptions.AppsmithPluginException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the result of a SQL query from a JDBC data source in chunks of rows. Rows are only read from the cursor as
+ * chunks are requested downstream, so a slow consumer pauses the cursor instead of the rows piling up in memory. The
+ * connection is held from subscription until the stream completes, errors out or is cancelled.
+ */
+@Slf4j
+public class JdbcRowStreamer {
+
+    /**
+     * Creates the statement to run the query with, with the fetch size and cursor type that makes the driver read rows
+     * from the database in batches, instead of all at once. If a `PreparedStatement` is returned, it's executed as is,
+     * with the parameters bound to it by the creator.
+     */
+    @FunctionalInterface
+    public interface StatementCreator {
+        Statement create(Connection connection) throws SQLException;
+    }
+
+    private JdbcRowStreamer() {
+    }
+
+    /**
+     * @param dataSource         Pool to borrow the connection from.
+     * @param query              Query to execute.
+     * @param chunkSize          Maximum number of rows in each chunk.
+     * @param statementCreator   Creates the statement to execute the query with.
+     * @param resultLimits       Limits past which no more rows are read. The chunk at which the limits are reached is
+     *                           marked truncated, and is the last one.
+     * @param decodersByTypeName Decoders for columns of types that need converting, as taken by `JdbcRowMapper`.
+     * @return Flux of chunks of rows. For statements that don't return rows, a single chunk with the number of affected
+     * rows is emitted.
+     */
+    public static Flux<RowsChunk> stream(DataSource dataSource,
+                                         String query,
+                                         int chunkSize,
+                                         StatementCreator statementCreator,
+                                         ResultLimits resultLimits,
+                                         Map<String, ColumnDecoder> decodersByTypeName) {
+        return Flux.using(
+                () -> new Cursor(dataSource, query, statementCreator, resultLimits.newTracker()),
+                cursor -> Flux.<RowsChunk>generate(sink -> {
+                    try {
+                        final RowsChunk chunk = cursor.nextChunk(chunkSize, decodersByTypeName);
+                        if (chunk == null) {
+                            sink.complete();
+                        } else {
+                            sink.next(chunk);
+                        }
+                    } catch (SQLException e) {
+                        sink.error(e);
+                    }
+                }),
+                Cursor::close
+        )
+                .onErrorMap(
+                        SQLException.class,
+                        error -> new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, error.getMessage())
+                );
+    }
+
+    private static class Cursor {
+        private Connection connection;
+        private Statement statement;
+        private ResultSet resultSet;
+        private JdbcRowMapper rowMapper;
+        private List<String> columnNames;
+        private int updateCount;
+        private boolean isExhausted = false;
+        private final ResultLimits.Tracker resultTracker;
+
+        Cursor(DataSource dataSource,
+               String query,
+               StatementCreator statementCreator,
+               ResultLimits.Tracker resultTracker) throws SQLException {
+            this.resultTracker = resultTracker;
+            try {
+                connection = dataSource.getConnection();
+                // Drivers like Postgres only honour the fetch size inside a transaction. The transaction is committed
+                // once the result is read fully, and rolled back if the stream is cancelled or fails.
+                connection.setAutoCommit(false);
+                statement = statementCreator.create(connection);
+                // Prepared statements come with the query already, and their parameters bound.
+                final boolean isResultSet = statement instanceof PreparedStatement
+                        ? ((PreparedStatement) statement).execute()
+                        : statement.execute(query);
+                if (isResultSet) {
+                    resultSet = statement.getResultSet();
+                } else {
+                    // Changes made by the statement are committed right away, whether or not the count is read.
+                    updateCount = statement.getUpdateCount();
+                    connection.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        RowsChunk nextChunk(int chunkSize, Map<String, ColumnDecoder> decodersByTypeName) throws SQLException {
+            if (isExhausted) {
+                return null;
+            }
+
+            if (resultSet == null) {
+                isExhausted = true;
+                final List<Object[]> rows = new ArrayList<>(1);
+                rows.add(new Object[]{Math.max(updateCount, 0)});
+                return new RowsChunk(List.of("affectedRows"), rows);
+            }
+
+            List<String> columns = null;
+            if (rowMapper == null) {
+                rowMapper = JdbcRowMapper.of(resultSet.getMetaData(), true, decodersByTypeName);
+                columnNames = rowMapper.getColumnNames();
+                columns = columnNames;
+            }
+
+            final List<Object[]> rows = new ArrayList<>(chunkSize);
+            boolean isTruncated = false;
+            while (rows.size() < chunkSize && resultSet.next()) {
+                final Object[] values = rowMapper.readValues(resultSet);
+                if (!resultTracker.add(columnNames, values)) {
+                    isTruncated = true;
+                    break;
+                }
+                rows.add(values);
+            }
+
+            if (isTruncated || rows.size() < chunkSize) {
+                isExhausted = true;
+            }
+
+            // The first chunk is always sent, even if it's empty, so that the consumer gets the column names. A
+            // truncated chunk is sent even if it's empty, so that the consumer knows the result was cut short.
+            if (rows.isEmpty() && columns == null && !isTruncated) {
+                return null;
+            }
+
+            final RowsChunk chunk = new RowsChunk(columns, rows);
+            chunk.setIsTruncated(isTruncated);
+            return chunk;
+        }
+
+        void close() {
+            if (resultSet != null) {
+                try {
+                    resultSet.close();
+                } catch (SQLException e) {
+                    log.warn("Error closing streamed ResultSet", e);
+                }
+            }
+
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    log.warn("Error closing streamed Statement", e);
+                }
+            }
+
+            if (connection != null) {
+                try {
+                    if (isExhausted) {
+                        connection.commit();
+                    } else {
+                        connection.rollback();
+                    }
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    log.warn("Error ending transaction of streamed query", e);
+                }
+
+                try {
+                    // Return the connection to the pool.
+                    connection.close();
+                } catch (SQLException e) {
+                    log.warn("Error returning streamed connection to pool", e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.appsmith.external.helpers;
+
+import com.appsmith.external.models.DatasourceConfiguration;
+import com.appsmith.external.models.Property;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings of the connection pool of a datasource. Each setting has a default, which a datasource can override with the
+ * property of the same key, e.g., `maxPoolSize`.
+ */
+@Slf4j
+@Getter
+public class PoolSettings {
+
+    public static final String MIN_POOL_SIZE_PROPERTY = "minPoolSize";
+
+    public static final String MAX_POOL_SIZE_PROPERTY = "maxPoolSize";
+
+    public static final String IDLE_TIMEOUT_PROPERTY = "idleTimeoutMs";
+
+    public static final String LEAK_DETECTION_THRESHOLD_PROPERTY = "leakDetectionThresholdMs";
+
+    public static final String STATEMENT_CACHE_SIZE_PROPERTY = "statementCacheSize";
+
+    public static final String BORROW_TIMEOUT_PROPERTY = "borrowTimeoutMs";
+
+    public static final int DEFAULT_MIN_POOL_SIZE = 1;
+
+    public static final int DEFAULT_MAX_POOL_SIZE = 5;
+
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 10 * 60 * 1000;
+
+    public static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MS = 60 * 1000;
+
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 250;
+
+    public static final long DEFAULT_BORROW_TIMEOUT_MS = 10 * 1000;
+
+    // Pools don't wait for less than this to borrow a connection.
+    private static final long MIN_BORROW_TIMEOUT_MS = 250;
+
+    private final int minPoolSize;
+
+    private final int maxPoolSize;
+
+    private final long idleTimeoutMs;
+
+    private final long leakDetectionThresholdMs;
+
+    private final int statementCacheSize;
+
+    private final long borrowTimeoutMs;
+
+    private PoolSettings(int minPoolSize, int maxPoolSize, long idleTimeoutMs, long leakDetectionThresholdMs,
+                         int statementCacheSize, long borrowTimeoutMs) {
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+
+    /**
+     * @return The settings of the pool of the datasource, which may not be valid.
+     * @see #validate()
+     */
+    public static PoolSettings forDatasource(DatasourceConfiguration datasourceConfiguration) {
+        final List<Property> properties = datasourceConfiguration == null ? null : datasourceConfiguration.getProperties();
+        return new PoolSettings(
+                (int) readSetting(properties, MIN_POOL_SIZE_PROPERTY, DEFAULT_MIN_POOL_SIZE),
+                (int) readSetting(properties, MAX_POOL_SIZE_PROPERTY, DEFAULT_MAX_POOL_SIZE),
+                readSetting(properties, IDLE_TIMEOUT_PROPERTY, DEFAULT_IDLE_TIMEOUT_MS),
+                readSetting(properties, LEAK_DETECTION_THRESHOLD_PROPERTY, DEFAULT_LEAK_DETECTION_THRESHOLD_MS),
+                (int) readSetting(properties, STATEMENT_CACHE_SIZE_PROPERTY, DEFAULT_STATEMENT_CACHE_SIZE),
+                readSetting(properties, BORROW_TIMEOUT_PROPERTY, DEFAULT_BORROW_TIMEOUT_MS)
+        );
+    }
+
+    /**
+     * Settings of a pool that's shared by all the datasources of a plugin, like the pool of HTTP connections of the
+     * REST API plugin. The maximum pool size, idle timeout and borrow timeout can be changed with environment
+     * variables, e.g., `APPSMITH_REST_API_MAX_POOL_SIZE`, `APPSMITH_REST_API_IDLE_TIMEOUT_MS` and
+     * `APPSMITH_REST_API_BORROW_TIMEOUT_MS`. If the resulting settings are not valid, the defaults are used instead.
+     *
+     * @param envPrefix Prefix of the environment variables that override the defaults, like `APPSMITH_REST_API`.
+     */
+    public static PoolSettings forPlugin(String envPrefix, int defaultMaxPoolSize, long defaultIdleTimeoutMs,
+                                         long defaultBorrowTimeoutMs) {
+        final PoolSettings defaults = new PoolSettings(DEFAULT_MIN_POOL_SIZE, defaultMaxPoolSize, defaultIdleTimeoutMs,
+                DEFAULT_LEAK_DETECTION_THRESHOLD_MS, DEFAULT_STATEMENT_CACHE_SIZE, defaultBorrowTimeoutMs);
+        final PoolSettings settings = new PoolSettings(
+                DEFAULT_MIN_POOL_SIZE,
+                (int) readEnvSetting(envPrefix + "_MAX_POOL_SIZE", defaultMaxPoolSize),
+                readEnvSetting(envPrefix + "_IDLE_TIMEOUT_MS", defaultIdleTimeoutMs),
+                DEFAULT_LEAK_DETECTION_THRESHOLD_MS,
+                DEFAULT_STATEMENT_CACHE_SIZE,
+                readEnvSetting(envPrefix + "_BORROW_TIMEOUT_MS", defaultBorrowTimeoutMs)
+        );
+
+        final Set<String> invalids = settings.validate();
+        if (!invalids.isEmpty()) {
+            log.warn("Ignoring invalid pool settings of {}: {}", envPrefix, String.join(" ", invalids));
+            return defaults;
+        }
+
+        return settings;
+    }
+
+    /**
+     * @return Messages describing the invalid settings. Empty if all the settings are valid.
+     */
+    public Set<String> validate() {
+        Set<String> invalids = new LinkedHashSet<>();
+
+        if (maxPoolSize < 1) {
+            invalids.add("Maximum pool size must be at least 1.");
+        }
+
+        if (minPoolSize < 0) {
+            invalids.add("Minimum pool size must not be negative.");
+        } else if (minPoolSize > maxPoolSize) {
+            invalids.add("Minimum pool size must not be more than the maximum pool size.");
+        }
+
+        if (idleTimeoutMs < 0 || leakDetectionThresholdMs < 0 || statementCacheSize < 0) {
+            invalids.add("Pool idle timeout, leak detection threshold and statement cache size must not be negative.");
+        }
+
+        if (borrowTimeoutMs < MIN_BORROW_TIMEOUT_MS) {
+            invalids.add("Pool borrow timeout must be at least " + MIN_BORROW_TIMEOUT_MS + " ms.");
+        }
+
+        return invalids;
+    }
+
+    private static long readSetting(List<Property> properties, String key, long defaultValue) {
+        if (properties != null) {
+            for (Property property : properties) {
+                if (key.equals(property.getKey())) {
+                    return readSetting(key, property.getValue(), defaultValue);
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    private static long readEnvSetting(String name, long defaultValue) {
+        return readSetting(name, System.getenv(name), defaultValue);
+    }
+
+    private static long readSetting(String name, String value, long defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid value `{}` for pool setting {}.", value, name);
+            return defaultValue;
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.appsmith.external.helpers;
+
+import com.appsmith.external.models.DatasourceConfiguration;
+import com.appsmith.external.models.Property;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limits on the number of rows, and the size in bytes, of the result of a query. Each plugin has default limits, which
+ * can be changed for all its datasources with environment variables, e.g., `APPSMITH_POSTGRES_MAX_ROWS` and
+ * `APPSMITH_POSTGRES_MAX_RESULT_BYTES`. A datasource can lower them further with the `maxRows` and `maxResultBytes`
+ * properties, but not raise them.
+ */
+@Slf4j
+@Getter
+public class ResultLimits {
+
+    public static final String MAX_ROWS_PROPERTY = "maxRows";
+
+    public static final String MAX_RESULT_BYTES_PROPERTY = "maxResultBytes";
+
+    public static final int DEFAULT_MAX_ROWS = 10000;
+
+    public static final long DEFAULT_MAX_RESULT_BYTES = 10L * 1024 * 1024;
+
+    private final int maxRows;
+
+    private final long maxBytes;
+
+    private ResultLimits(int maxRows, long maxBytes) {
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param envPrefix Prefix of the environment variables that override the defaults, like `APPSMITH_POSTGRES`.
+     * @return Limits for all the datasources of a plugin.
+     */
+    public static ResultLimits forPlugin(String envPrefix) {
+        return new ResultLimits(
+                (int) readLimit(System.getenv(envPrefix + "_MAX_ROWS"), DEFAULT_MAX_ROWS),
+                readLimit(System.getenv(envPrefix + "_MAX_RESULT_BYTES"), DEFAULT_MAX_RESULT_BYTES)
+        );
+    }
+
+    /**
+     * @return These limits, lowered by the limits set in the datasource's properties, if any.
+     */
+    public ResultLimits forDatasource(DatasourceConfiguration datasourceConfiguration) {
+        final List<Property> properties = datasourceConfiguration == null ? null : datasourceConfiguration.getProperties();
+        if (properties == null) {
+            return this;
+        }
+
+        int datasourceMaxRows = maxRows;
+        long datasourceMaxBytes = maxBytes;
+        for (Property property : properties) {
+            if (MAX_ROWS_PROPERTY.equals(property.getKey())) {
+                datasourceMaxRows = (int) Math.min(maxRows, readLimit(property.getValue(), maxRows));
+            } else if (MAX_RESULT_BYTES_PROPERTY.equals(property.getKey())) {
+                datasourceMaxBytes = Math.min(maxBytes, readLimit(property.getValue(), maxBytes));
+            }
+        }
+
+        return new ResultLimits(datasourceMaxRows, datasourceMaxBytes);
+    }
+
+    /**
+     * @return A new tracker of the rows of a single result, against these limits.
+     */
+    public Tracker newTracker() {
+        return new Tracker();
+    }
+
+    private static long readLimit(String value, long defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+
+        try {
+            final long limit = Long.parseLong(value.trim());
+            if (limit > 0) {
+                return Math.min(limit, Integer.MAX_VALUE - 1);
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the default below.
+        }
+
+        log.warn("Ignoring invalid result limit {}. Using {} instead.", value, defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Estimates the number of bytes the given value takes up when serialized to JSON. This doesn't have to be exact,
+     * just cheap, and close enough to keep results from growing beyond the limit by orders of magnitude.
+     */
+    public static long estimateSize(Object value) {
+        if (value == null) {
+            return 4;
+        } else if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() + 2;
+        } else if (value instanceof byte[]) {
+            // Base64 encoded, in quotes.
+            return (((byte[]) value).length + 2) / 3 * 4 + 2;
+        }
+        return String.valueOf(value).length();
+    }
+
+    /**
+     * Keeps count of the rows added to a result, and their estimated size, and tells when a row would take the result
+     * over either limit.
+     */
+    public class Tracker {
+
+        private int rowCount = 0;
+
+        private long byteCount = 2;
+
+        @Getter
+        private boolean truncated = false;
+
+        /**
+         * @return Whether the row fits in the result. Once a row doesn't fit, the result is marked truncated and no
+         * further rows are accepted.
+         */
+        public boolean add(Map<String, Object> row) {
+            long rowSize = 3;
+            for (Map.Entry<String, Object> entry : row.entrySet()) {
+                rowSize += estimateSize(entry.getKey()) + 2 + estimateSize(entry.getValue());
+            }
+            return addRowOfSize(rowSize);
+        }
+
+        /**
+         * Adds a row of values in the order of the given columns, measured like the same row as a map would be, so
+         * that streamed results are cut at the same row as whole ones.
+         */
+        public boolean add(List<String> columnNames, Object[] values) {
+            long rowSize = 3;
+            for (int i = 0; i < values.length; i++) {
+                rowSize += estimateSize(columnNames.get(i)) + 2 + estimateSize(values[i]);
+            }
+            return addRowOfSize(rowSize);
+        }
+
+        /**
+         * Adds a value, whose size has been measured already, like a serialized document.
+         */
+        public boolean add(long size) {
+            return addRowOfSize(size + 1);
+        }
+
+        private boolean addRowOfSize(long rowSize) {
+            if (truncated) {
+                return false;
+            }
+
+            if (rowCount >= maxRows || byteCount + rowSize > maxBytes) {
+                truncated = true;
+                return false;
+            }
+
+            rowCount++;
+            byteCount += rowSize;
+            return true;
+        }
+    }
+
+}
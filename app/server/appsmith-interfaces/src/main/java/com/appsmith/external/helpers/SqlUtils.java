@@ -0,0 +1,61 @@
+package com.appsmith.external.helpers;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Checks on SQL queries that are shared by the plugins of SQL databases.
+ */
+public class SqlUtils {
+
+    // `SELECT ... INTO` creates a table in Postgres and MSSQL, and `FOR UPDATE` and the like lock the rows they read.
+    private static final Pattern WRITING_SELECT_CLAUSE = Pattern.compile("\\binto\\b|\\bfor\\s+(no\\s+key\\s+)?(update|share|key\\s+share)\\b");
+
+    /**
+     * Tells whether the query is a single `SELECT` statement that doesn't write or lock anything. This errs on the side
+     * of `false`, e.g., for a statement that has `into` in a string literal, but functions called by the query are
+     * assumed not to write.
+     */
+    public static boolean isReadOnlyQuery(String query) {
+        if (query == null) {
+            return false;
+        }
+
+        String statement = stripLeadingComments(query);
+        final int end = statement.indexOf(';');
+        if (end >= 0) {
+            // Only comments may follow the semicolon, anything else may be another statement.
+            if (!stripLeadingComments(statement.substring(end + 1)).isEmpty()) {
+                return false;
+            }
+            statement = statement.substring(0, end);
+        }
+
+        final String lowerCaseStatement = statement.toLowerCase(Locale.ROOT);
+        if (!lowerCaseStatement.startsWith("select") || (lowerCaseStatement.length() > 6
+                && Character.isJavaIdentifierPart(lowerCaseStatement.charAt(6)))) {
+            return false;
+        }
+
+        return !WRITING_SELECT_CLAUSE.matcher(lowerCaseStatement).find();
+    }
+
+    private static String stripLeadingComments(String query) {
+        int i = 0;
+        while (i < query.length()) {
+            if (Character.isWhitespace(query.charAt(i))) {
+                i++;
+            } else if (query.startsWith("--", i)) {
+                final int end = query.indexOf('\n', i);
+                i = end < 0 ? query.length() : end + 1;
+            } else if (query.startsWith("/*", i)) {
+                final int end = query.indexOf("*/", i + 2);
+                i = end < 0 ? query.length() : end + 2;
+            } else {
+                break;
+            }
+        }
+        return query.substring(i);
+    }
+
+}
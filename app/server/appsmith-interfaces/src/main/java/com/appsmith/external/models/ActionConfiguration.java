@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.http.HttpMethod;
 
@@ -27,6 +28,12 @@ public class ActionConfiguration {
      */
 
     Integer timeoutInMillisecond;
+    // Results of successful executions are reused for this long, for executions with the same parameters. Caching is
+    // off when this isn't set. Only meant for actions that don't modify anything, like SELECT queries or GET APIs.
+    Integer cacheTtlInSeconds;
+    // Concurrent executions with identical configurations (after substituting params) share a single call to the
+    // plugin, instead of each making their own.
+    Boolean coalesceExecutions;
     PaginationType paginationType = PaginationType.NONE;
 
     // API fields
@@ -45,6 +52,14 @@ public class ActionConfiguration {
 
     // DB action fields
 
+    // Runs the query as a prepared statement, with the `{{ }}` bindings in the body sent as parameters, instead of being
+    // substituted into the query text. Only honoured by plugins that support prepared statements.
+    Boolean usePreparedStatement;
+    // Values of the parameters of a prepared statement, in order. Set on the rendered configuration handed to the
+    // plugin, in which case the body has `?` placeholders in place of the bindings. Never stored.
+    @Transient
+    List<String> bodyParameters;
+
     // JS action fields
 
     String jsFunction;
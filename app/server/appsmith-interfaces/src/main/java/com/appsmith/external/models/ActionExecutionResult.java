@@ -17,6 +17,9 @@ public class ActionExecutionResult {
     Object body;
     Boolean isExecutionSuccess = false;
 
+    // Set when the plugin stopped reading the result at the configured row or byte limit, so the body only has part of it.
+    Boolean isTruncated = false;
+
     ActionExecutionRequest request;
 
 }
@@ -0,0 +1,36 @@
+package com.appsmith.external.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * A chunk of rows from a result that is streamed, instead of being returned whole in an `ActionExecutionResult`. Rows
+ * are arrays of values in the order of the columns, instead of a map per row, so the column names aren't repeated in
+ * every row.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class RowsChunk {
+
+    // Names of the columns. Only set in the first chunk of a result.
+    List<String> columns;
+
+    List<Object[]> rows;
+
+    // Set on the last chunk of a result that the plugin stopped reading at the configured row or byte limit.
+    Boolean isTruncated = false;
+
+    public RowsChunk(List<String> columns, List<Object[]> rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+}
@@ -9,6 +9,7 @@ public enum AppsmithPluginError {
 
     PLUGIN_ERROR(500, 5000, "PluginExecution failed with error {0}"),
     PLUGIN_STRUCTURE_ERROR(500, 5001, "Plugin failed to get structure with error {0}"),
+    PLUGIN_EXECUTION_REJECTED(503, 5030, "Too many queries are running on {0} at the moment. Please try again in a while"),
     ;
 
     private final Integer httpErrorCode;
@@ -5,8 +5,12 @@ import com.appsmith.external.models.ActionExecutionResult;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.DatasourceStructure;
 import com.appsmith.external.models.DatasourceTestResult;
+import com.appsmith.external.models.RowsChunk;
+import com.appsmith.external.pluginExceptions.AppsmithPluginError;
+import com.appsmith.external.pluginExceptions.AppsmithPluginException;
 import org.pf4j.ExtensionPoint;
 import org.springframework.util.CollectionUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Set;
@@ -48,6 +52,63 @@ public interface PluginExecutor<C> extends ExtensionPoint {
 
     Mono<DatasourceTestResult> testDatasource(DatasourceConfiguration datasourceConfiguration);
 
+    /**
+     * Whether the `execute`, `datasourceCreate` and `getStructure` functions block the calling thread while doing I/O.
+     * The server runs blocking plugins on a bounded worker pool of their own, so they don't stall the event loop.
+     * Plugins that only use non-blocking clients should override this to return `false`, so that they are run on the
+     * calling thread instead.
+     *
+     * @return true, if this plugin does blocking I/O.
+     */
+    default boolean isBlocking() {
+        return true;
+    }
+
+    /**
+     * Whether this plugin can run queries as prepared statements. When it can, and the action has
+     * `usePreparedStatement` turned on, the body is handed to the plugin with `?` placeholders in place of the bindings,
+     * and the values of the bindings in `ActionConfiguration.bodyParameters`.
+     *
+     * @return true, if `execute` and `executeStreaming` handle `bodyParameters`.
+     */
+    default boolean isPreparedStatementSupported() {
+        return false;
+    }
+
+    /**
+     * Whether executing the action only reads data. The server caches the results of actions with `cacheTtlInSeconds`
+     * only if they are read-only, so that an action that writes is never skipped for a cached result.
+     *
+     * @return true, if executing the action doesn't change any data.
+     */
+    default boolean isReadOnly(ActionConfiguration actionConfiguration) {
+        return false;
+    }
+
+    /**
+     * Whether this plugin can stream the rows of a result with `executeStreaming`.
+     *
+     * @return true, if `executeStreaming` is implemented.
+     */
+    default boolean isStreamingSupported() {
+        return false;
+    }
+
+    /**
+     * Executes the action like `execute`, but emits the rows of the result in chunks, reading more rows from the
+     * datasource only as chunks are requested. Plugins implementing this should also override `isStreamingSupported`.
+     *
+     * @return Flux of chunks of rows. The first chunk carries the column names, and is emitted even if there are no rows.
+     */
+    default Flux<RowsChunk> executeStreaming(C connection,
+                                             DatasourceConfiguration datasourceConfiguration,
+                                             ActionConfiguration actionConfiguration) {
+        return Flux.error(new AppsmithPluginException(
+                AppsmithPluginError.PLUGIN_ERROR,
+                "Streaming results is not supported by this plugin."
+        ));
+    }
+
     default Mono<DatasourceStructure> getStructure(C connection, DatasourceConfiguration datasourceConfiguration) {
         return Mono.empty();
     }
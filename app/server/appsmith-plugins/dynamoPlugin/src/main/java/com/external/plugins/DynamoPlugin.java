@@ -10,6 +10,7 @@ import com.appsmith.external.pluginExceptions.AppsmithPluginError;
 import com.appsmith.external.pluginExceptions.AppsmithPluginException;
 import com.appsmith.external.plugins.BasePlugin;
 import com.appsmith.external.plugins.PluginExecutor;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.BooleanUtils;
@@ -29,9 +30,13 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbResponse;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -40,10 +45,15 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 public class DynamoPlugin extends BasePlugin {
 
+    private static final String MODEL_PACKAGE = "software.amazon.awssdk.services.dynamodb.model.";
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     public DynamoPlugin(PluginWrapper wrapper) {
         super(wrapper);
     }
@@ -90,10 +100,8 @@ public class DynamoPlugin extends BasePlugin {
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, message));
             }
 
-            final Class<?> requestClass;
-            try {
-                requestClass = Class.forName("software.amazon.awssdk.services.dynamodb.model." + action + "Request");
-            } catch (ClassNotFoundException e) {
+            final ActionHandle actionHandle = ActionHandle.forAction(action);
+            if (actionHandle == null) {
                 return Mono.error(new AppsmithPluginException(
                         AppsmithPluginError.PLUGIN_ERROR,
                         "Unknown action: `" + action + "`. Note that action names are case-sensitive."
@@ -101,15 +109,10 @@ public class DynamoPlugin extends BasePlugin {
             }
 
             try {
-                final Method actionExecuteMethod = DynamoDbClient.class.getMethod(
-                        // Convert `ListTables` to `listTables`, which is the name of the method to execute this action.
-                        toLowerCamelCase(action),
-                        requestClass
-                );
-                final DynamoDbResponse response = (DynamoDbResponse) actionExecuteMethod.invoke(ddb, plainToSdk(parameters, requestClass));
-                result.setBody(sdkToPlain(response));
-            } catch (AppsmithPluginException | InvocationTargetException | IllegalAccessException | NoSuchMethodException | ClassNotFoundException e) {
-                final String message = "Error executing the DynamoDB Action: " + (e.getCause() == null ? e : e.getCause()).getMessage();
+                result.setBody(sdkToPlain(actionHandle.execute(ddb, parameters)));
+            } catch (Exception e) {
+                final Throwable error = e instanceof InvocationTargetException && e.getCause() != null ? e.getCause() : e;
+                final String message = "Error executing the DynamoDB Action: " + error.getMessage();
                 log.warn(message, e);
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, message));
             }
@@ -197,7 +200,8 @@ public class DynamoPlugin extends BasePlugin {
 
     /**
      * Given a map that conforms to what a valid DynamoDB request should look like, this function will convert into
-     * a DynamoDBRequest object from AWS SDK. This is done using Java's reflection API.
+     * a DynamoDBRequest object from AWS SDK. This is done using Java's reflection API, with the methods of each builder
+     * looked up once, and cached as method handles.
      * @param mapping Mapping object representing the request details.
      * @param type Request type that should be created. Eg., ListTablesRequest.class, PutItemRequest.class etc.
      * @param <T> Type param of the request class.
@@ -211,9 +215,9 @@ public class DynamoPlugin extends BasePlugin {
             throws IllegalAccessException, InvocationTargetException, NoSuchMethodException,
             AppsmithPluginException, ClassNotFoundException {
 
-        final Class<?> builderType = Class.forName(type.getName() + "$Builder");
+        final SdkTypeHandles typeHandles = SdkTypeHandles.of(type);
 
-        final Object builder = type.getMethod("builder").invoke(null);
+        final Object builder = typeHandles.newBuilder();
 
         if (mapping != null) {
             for (final Map.Entry<String, Object> entry : mapping.entrySet()) {
@@ -224,34 +228,34 @@ public class DynamoPlugin extends BasePlugin {
                     // AWS SDK has two data types that are represented as Strings in JSON, namely strings and binary.
                     // We look at the parameter types for the setter method to decide which it should be, and then set
                     // convert the value if needed before calling the setter.
-                    final Method setterMethod = findMethod(builderType, method -> {
-                        final Class<?>[] parameterTypes = method.getParameterTypes();
-                        return method.getName().equals(setterName)
-                                && (SdkBytes.class.isAssignableFrom(parameterTypes[0]) || String.class.isAssignableFrom(parameterTypes[0]));
-                    });
-                    if (setterMethod == null) {
-                        throw new AppsmithPluginException(
-                                AppsmithPluginError.PLUGIN_ERROR,
-                                "Invalid attribute/value by name " + entry.getKey()
-                        );
+                    final Setter setter = typeHandles.findSetter(setterName, SetterKind.STRING, null);
+                    if (setter == null) {
+                        throw invalidAttribute(entry.getKey());
                     }
-                    if (SdkBytes.class.isAssignableFrom(setterMethod.getParameterTypes()[0])) {
+                    if (SdkBytes.class.isAssignableFrom(setter.parameterType)) {
                         value = SdkBytes.fromUtf8String((String) value);
                     }
-                    setterMethod.invoke(builder, value);
+                    setter.invoke(builder, value);
 
                 } else if (value instanceof Boolean
                         || value instanceof Integer
                         || value instanceof Float
                         || value instanceof Double) {
                     // These data types have a setter method that takes a the value as is. Nothing fancy here.
-                    builderType.getMethod(setterName, value.getClass()).invoke(builder, value);
+                    final Setter setter = typeHandles.findSetter(setterName, SetterKind.SCALAR, value.getClass());
+                    if (setter == null) {
+                        throw invalidAttribute(entry.getKey());
+                    }
+                    setter.invoke(builder, value);
 
                 } else if (value instanceof Map) {
                     // For maps, we go recursive, applying this transformation to each value, and replacing with the
                     // result in the map. Generic types in the setter method's signature are used to convert the values.
-                    final Method setterMethod = findMethod(builderType, m -> m.getName().equals(setterName));
-                    final ParameterizedType valueType = (ParameterizedType) setterMethod.getGenericParameterTypes()[0];
+                    final Setter setter = typeHandles.findSetter(setterName, SetterKind.MAP, null);
+                    if (setter == null) {
+                        throw invalidAttribute(entry.getKey());
+                    }
+                    final ParameterizedType valueType = (ParameterizedType) setter.genericParameterType;
                     final Map<String, Object> transformedMap = new HashMap<>();
                     for (final Map.Entry<String, Object> innerEntry : ((Map<String, Object>) value).entrySet()) {
                         Object innerValue = innerEntry.getValue();
@@ -266,14 +270,16 @@ public class DynamoPlugin extends BasePlugin {
                         // for objects that are just maps in JSON. So, we make that conversion here.
                         value = plainToSdk((Map) value, (Class<T>) valueType.getRawType());
                     }
-                    setterMethod.invoke(builder, value);
+                    setter.invoke(builder, value);
 
                 } else if (value instanceof Collection) {
                     // For linear collections, the process is similar to that of maps.
                     final Collection<Object> valueAsCollection = (Collection) value;
-                    // Find method by name and exclude the varargs version of the method.
-                    final Method setterMethod = findMethod(builderType, m -> m.getName().equals(setterName) && !m.getParameterTypes()[0].getName().startsWith("[L"));
-                    final ParameterizedType valueType = (ParameterizedType) setterMethod.getGenericParameterTypes()[0];
+                    final Setter setter = typeHandles.findSetter(setterName, SetterKind.COLLECTION, null);
+                    if (setter == null) {
+                        throw invalidAttribute(entry.getKey());
+                    }
+                    final ParameterizedType valueType = (ParameterizedType) setter.genericParameterType;
                     final Collection<Object> reTypedList = new ArrayList<>();
                     for (final Object innerValue : valueAsCollection) {
                         if (innerValue instanceof Map) {
@@ -284,7 +290,7 @@ public class DynamoPlugin extends BasePlugin {
                             reTypedList.add(innerValue);
                         }
                     }
-                    setterMethod.invoke(builder, reTypedList);
+                    setter.invoke(builder, reTypedList);
 
                 } else {
                     throw new AppsmithPluginException(
@@ -296,14 +302,201 @@ public class DynamoPlugin extends BasePlugin {
             }
         }
 
-        return (T) builderType.getMethod("build").invoke(builder);
+        return (T) typeHandles.build(builder);
+    }
+
+    private static AppsmithPluginException invalidAttribute(String key) {
+        return new AppsmithPluginException(
+                AppsmithPluginError.PLUGIN_ERROR,
+                "Invalid attribute/value by name " + key
+        );
+    }
+
+    /**
+     * The request class of an action, and a handle to the client method that executes it, resolved once per action.
+     */
+    @AllArgsConstructor
+    static class ActionHandle {
+        // Resolved actions, by name. Names that don't resolve to an action are not cached.
+        private static final Map<String, ActionHandle> CACHE = new ConcurrentHashMap<>();
+
+        private static final MethodType EXECUTE_TYPE =
+                MethodType.methodType(DynamoDbResponse.class, DynamoDbClient.class, Object.class);
+
+        private final Class<?> requestClass;
+
+        // Of type `(DynamoDbClient, Object) -> DynamoDbResponse`.
+        private final MethodHandle executeHandle;
+
+        /**
+         * @return The handle for the action by the given name, or null if there's no such action.
+         */
+        static ActionHandle forAction(String action) {
+            return CACHE.computeIfAbsent(action, ActionHandle::resolve);
+        }
+
+        private static ActionHandle resolve(String action) {
+            try {
+                final Class<?> requestClass = Class.forName(MODEL_PACKAGE + action + "Request");
+                final Method executeMethod = DynamoDbClient.class.getMethod(
+                        // Convert `ListTables` to `listTables`, which is the name of the method to execute this action.
+                        toLowerCamelCase(action),
+                        requestClass
+                );
+                return new ActionHandle(
+                        requestClass,
+                        MethodHandles.publicLookup().unreflect(executeMethod).asType(EXECUTE_TYPE)
+                );
+            } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Builds the request for this action from the given parameters, and executes it with the given client.
+         */
+        DynamoDbResponse execute(DynamoDbClient ddb, Map<String, Object> parameters) throws Exception {
+            final Object request = plainToSdk(parameters, requestClass);
+            try {
+                return (DynamoDbResponse) executeHandle.invokeExact(ddb, request);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+
+    private enum SetterKind {
+        STRING, SCALAR, MAP, COLLECTION
     }
 
-    private static Method findMethod(Class<?> builderType, Predicate<Method> predicate) {
-        return Arrays.stream(builderType.getMethods())
-                .filter(predicate)
-                .findFirst()
-                .orElse(null);
+    /**
+     * A setter method of a builder, along with its parameter's types, which decide how a value is converted before
+     * being set.
+     */
+    @AllArgsConstructor
+    private static class Setter {
+        // Of type `(Object, Object) -> void`, taking the builder and the value.
+        private final MethodHandle handle;
+        private final Class<?> parameterType;
+        private final Type genericParameterType;
+
+        private void invoke(Object builder, Object value) throws InvocationTargetException {
+            try {
+                handle.invokeExact(builder, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+
+    /**
+     * Handles to create, populate and build the builder of an SDK model class. The builder's methods are looked up
+     * once per class, and the setters once per name and kind of value, instead of on every conversion.
+     */
+    private static class SdkTypeHandles {
+        private static final Map<Class<?>, SdkTypeHandles> CACHE = new ConcurrentHashMap<>();
+
+        private final Class<?> builderType;
+
+        // Of type `() -> Object`.
+        private final MethodHandle builderHandle;
+
+        // Of type `(Object) -> Object`.
+        private final MethodHandle buildHandle;
+
+        private final Map<String, Setter> setters = new ConcurrentHashMap<>();
+
+        private SdkTypeHandles(Class<?> builderType, MethodHandle builderHandle, MethodHandle buildHandle) {
+            this.builderType = builderType;
+            this.builderHandle = builderHandle;
+            this.buildHandle = buildHandle;
+        }
+
+        private static SdkTypeHandles of(Class<?> type)
+                throws ClassNotFoundException, NoSuchMethodException, IllegalAccessException {
+            final SdkTypeHandles cached = CACHE.get(type);
+            if (cached != null) {
+                return cached;
+            }
+
+            final Class<?> builderType = Class.forName(type.getName() + "$Builder");
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final SdkTypeHandles handles = new SdkTypeHandles(
+                    builderType,
+                    lookup.unreflect(type.getMethod("builder")).asType(MethodType.methodType(Object.class)),
+                    lookup.unreflect(builderType.getMethod("build")).asType(MethodType.methodType(Object.class, Object.class))
+            );
+            final SdkTypeHandles existing = CACHE.putIfAbsent(type, handles);
+            return existing == null ? handles : existing;
+        }
+
+        private Object newBuilder() throws InvocationTargetException {
+            try {
+                return (Object) builderHandle.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        private Object build(Object builder) throws InvocationTargetException {
+            try {
+                return (Object) buildHandle.invokeExact(builder);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Finds the setter by the given name that suits the given kind of value, or null if there's no such setter.
+         *
+         * @param valueClass Class of the value, for scalar values, whose setters take the value as is.
+         */
+        private Setter findSetter(String setterName, SetterKind kind, Class<?> valueClass) throws IllegalAccessException {
+            final String key = kind == SetterKind.SCALAR
+                    ? setterName + ":" + valueClass.getName()
+                    : setterName + ":" + kind;
+            final Setter cached = setters.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            final Method method = findMethod(builderType, m -> {
+                if (!m.getName().equals(setterName) || m.getParameterCount() != 1) {
+                    return false;
+                }
+                final Class<?> parameterType = m.getParameterTypes()[0];
+                switch (kind) {
+                    case STRING:
+                        return SdkBytes.class.isAssignableFrom(parameterType) || String.class.isAssignableFrom(parameterType);
+                    case SCALAR:
+                        return parameterType.equals(valueClass);
+                    case COLLECTION:
+                        // Exclude the varargs version of the method.
+                        return !parameterType.isArray();
+                    default:
+                        return true;
+                }
+            });
+            if (method == null) {
+                return null;
+            }
+
+            final Setter setter = new Setter(
+                    MethodHandles.publicLookup().unreflect(method).asType(SETTER_TYPE),
+                    method.getParameterTypes()[0],
+                    method.getGenericParameterTypes()[0]
+            );
+            setters.put(key, setter);
+            return setter;
+        }
     }
 
     /**
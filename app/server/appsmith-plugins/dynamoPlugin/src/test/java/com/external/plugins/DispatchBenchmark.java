@@ -0,0 +1,188 @@
+package com.external.plugins;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures the throughput of building a DynamoDB request from the plain parameters of an action, and dispatching it to
+ * the client, against a client that answers without any I/O. `reflective` is the dispatch as it was done before the
+ * method handles were cached, for comparison.
+ * <p>
+ * Run with `mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.external.plugins.DispatchBenchmark`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"GetItem", "PutItem"})
+    public String action;
+
+    private DynamoDbClient client;
+
+    private Map<String, Object> parameters;
+
+    @Setup
+    public void setUp() {
+        client = fakeClient();
+
+        if ("GetItem".equals(action)) {
+            parameters = Map.of(
+                    "TableName", "cities",
+                    "ConsistentRead", true,
+                    "Key", Map.of("Id", Map.of("S", "1"))
+            );
+        } else {
+            parameters = Map.of(
+                    "TableName", "cities",
+                    "ConditionExpression", "attribute_not_exists(Id)",
+                    "Item", Map.of(
+                            "Id", Map.of("S", "1"),
+                            "Name", Map.of("S", "Bengaluru"),
+                            "Population", Map.of("N", "8443675"),
+                            "Tags", Map.of("SS", List.of("metro", "south")),
+                            "Photo", Map.of("B", "binary value")
+                    )
+            );
+        }
+    }
+
+    @Benchmark
+    public DynamoDbResponse methodHandles() throws Exception {
+        return DynamoPlugin.ActionHandle.forAction(action).execute(client, parameters);
+    }
+
+    @Benchmark
+    public DynamoDbResponse reflective() throws Exception {
+        final Class<?> requestClass = Class.forName("software.amazon.awssdk.services.dynamodb.model." + action + "Request");
+        final Method actionExecuteMethod = DynamoDbClient.class.getMethod(
+                action.substring(0, 1).toLowerCase() + action.substring(1),
+                requestClass
+        );
+        return (DynamoDbResponse) actionExecuteMethod.invoke(client, reflectivePlainToSdk(parameters, requestClass));
+    }
+
+    /**
+     * The conversion from plain parameters to an SDK request, looking up the builder's methods on every call.
+     */
+    private static <T> T reflectivePlainToSdk(Map<String, Object> mapping, Class<T> type) throws Exception {
+        final Class<?> builderType = Class.forName(type.getName() + "$Builder");
+        final Object builder = type.getMethod("builder").invoke(null);
+
+        for (final Map.Entry<String, Object> entry : mapping.entrySet()) {
+            final String key = entry.getKey();
+            final String setterName = key.equals(key.toUpperCase())
+                    ? key.toLowerCase()
+                    : key.substring(0, 1).toLowerCase() + key.substring(1);
+            Object value = entry.getValue();
+
+            if (value instanceof String) {
+                final Method setterMethod = findMethod(builderType, setterName, method -> {
+                    final Class<?> parameterType = method.getParameterTypes()[0];
+                    return SdkBytes.class.isAssignableFrom(parameterType) || String.class.isAssignableFrom(parameterType);
+                });
+                if (SdkBytes.class.isAssignableFrom(setterMethod.getParameterTypes()[0])) {
+                    value = SdkBytes.fromUtf8String((String) value);
+                }
+                setterMethod.invoke(builder, value);
+
+            } else if (value instanceof Boolean) {
+                builderType.getMethod(setterName, value.getClass()).invoke(builder, value);
+
+            } else if (value instanceof Map) {
+                final Method setterMethod = findMethod(builderType, setterName, method -> true);
+                final ParameterizedType valueType = (ParameterizedType) setterMethod.getGenericParameterTypes()[0];
+                final Map<String, Object> transformedMap = new HashMap<>();
+                for (final Map.Entry<String, Object> innerEntry : ((Map<String, Object>) value).entrySet()) {
+                    Object innerValue = innerEntry.getValue();
+                    if (innerValue instanceof Map) {
+                        innerValue = reflectivePlainToSdk((Map) innerValue, (Class<?>) valueType.getActualTypeArguments()[1]);
+                    }
+                    transformedMap.put(innerEntry.getKey(), innerValue);
+                }
+                value = transformedMap;
+                if (!Map.class.isAssignableFrom((Class<?>) valueType.getRawType())) {
+                    value = reflectivePlainToSdk((Map) value, (Class<?>) valueType.getRawType());
+                }
+                setterMethod.invoke(builder, value);
+
+            } else if (value instanceof Collection) {
+                final Method setterMethod = findMethod(builderType, setterName, method -> !method.getParameterTypes()[0].isArray());
+                setterMethod.invoke(builder, new ArrayList<>((Collection<?>) value));
+            }
+        }
+
+        return (T) builderType.getMethod("build").invoke(builder);
+    }
+
+    private static Method findMethod(Class<?> builderType, String name, Predicate<Method> predicate) {
+        return Arrays.stream(builderType.getMethods())
+                .filter(method -> method.getName().equals(name) && predicate.test(method))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * A client that answers `getItem` and `putItem` with fixed responses, so that the benchmark measures the dispatch
+     * rather than the network.
+     */
+    private static DynamoDbClient fakeClient() {
+        final GetItemResponse getItemResponse = GetItemResponse.builder()
+                .item(Map.of("Id", AttributeValue.builder().s("1").build()))
+                .build();
+        final PutItemResponse putItemResponse = PutItemResponse.builder().build();
+
+        return (DynamoDbClient) Proxy.newProxyInstance(
+                DynamoDbClient.class.getClassLoader(),
+                new Class[]{DynamoDbClient.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getItem":
+                            return getItemResponse;
+                        case "putItem":
+                            return putItemResponse;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+        );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DispatchBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
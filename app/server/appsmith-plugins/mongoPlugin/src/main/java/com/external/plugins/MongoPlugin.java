@@ -1,5 +1,6 @@
 package com.external.plugins;
 
+import com.appsmith.external.helpers.ResultLimits;
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionResult;
 import com.appsmith.external.models.AuthenticationDTO;
@@ -8,38 +9,53 @@ import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.DatasourceStructure;
 import com.appsmith.external.models.DatasourceTestResult;
 import com.appsmith.external.models.Endpoint;
+import com.appsmith.external.models.RowsChunk;
 import com.appsmith.external.models.SSLDetails;
 import com.appsmith.external.pluginExceptions.AppsmithPluginError;
 import com.appsmith.external.pluginExceptions.AppsmithPluginException;
 import com.appsmith.external.pluginExceptions.StaleConnectionException;
 import com.appsmith.external.plugins.BasePlugin;
 import com.appsmith.external.plugins.PluginExecutor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.mongodb.MongoClient;
+import com.mongodb.MongoClientException;
 import com.mongodb.MongoClientURI;
 import com.mongodb.MongoCommandException;
 import com.mongodb.MongoTimeoutException;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoDatabase;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDbPointer;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonReader;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonTimestamp;
+import org.bson.BsonType;
+import org.bson.BsonValue;
 import org.bson.Document;
-import org.bson.conversions.Bson;
+import org.bson.RawBsonDocument;
 import org.bson.types.Decimal128;
 import org.bson.types.ObjectId;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.pf4j.Extension;
 import org.pf4j.PluginWrapper;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
@@ -68,6 +84,14 @@ public class MongoPlugin extends BasePlugin {
 
     private static final String VALUE_STR = "value";
 
+    // Limits on the documents read into the result of a query. Can be changed with the `APPSMITH_MONGO_MAX_ROWS` and
+    // `APPSMITH_MONGO_MAX_RESULT_BYTES` environment variables, and lowered for each datasource with its properties.
+    private static final ResultLimits RESULT_LIMITS = ResultLimits.forPlugin("APPSMITH_MONGO");
+
+    // Number of documents in each chunk of a streamed result, which is also the batch size asked of the server with
+    // each `getMore`.
+    private static final int STREAMING_CHUNK_SIZE = 500;
+
     public MongoPlugin(PluginWrapper wrapper) {
         super(wrapper);
     }
@@ -100,62 +124,68 @@ public class MongoPlugin extends BasePlugin {
 
             MongoDatabase database = mongoClient.getDatabase(getDatabaseName(datasourceConfiguration));
 
-            Bson command = Document.parse(actionConfiguration.getBody());
+            Document command = Document.parse(actionConfiguration.getBody());
 
-            try {
-                Document mongoOutput = database.runCommand(command);
+            final ResultLimits resultLimits = RESULT_LIMITS.forDatasource(datasourceConfiguration);
+            final ResultLimits.Tracker resultTracker = resultLimits.newTracker();
+            // One more document than the limit is asked for, so that we can tell whether the result was cut short.
+            limitBatchSize(command, resultLimits.getMaxRows() + 1, resultLimits.getMaxRows() + 1);
 
-                JSONObject outputJson = new JSONObject(mongoOutput.toJson());
+            try {
+                // The output is kept in its raw BSON form, and only the parts we return are decoded, straight to JSON
+                // nodes.
+                RawBsonDocument mongoOutput = database.runCommand(command, RawBsonDocument.class);
 
-                //The output json contains the key "ok". This is the status of the command
-                BigInteger status = outputJson.getBigInteger("ok");
-                JSONArray headerArray = new JSONArray();
+                //The output contains the key "ok". This is the status of the command
+                long status = mongoOutput.getNumber("ok").longValue();
+                ArrayNode headerArray = objectMapper.createArrayNode();
 
-                if (BigInteger.ONE.equals(status)) {
+                if (status == 1) {
                     result.setIsExecutionSuccess(true);
 
                     // For the `findAndModify` command, we don't get the count of modifications made. Instead, we either
                     // get the modified new value or the pre-modified old value (depending on the `new` field in the
                     // command. Let's return that value to the user.
-                    if (outputJson.has(VALUE_STR)) {
-                        result.setBody(objectMapper.readTree(
-                                cleanUp(new JSONObject().put(VALUE_STR, outputJson.get(VALUE_STR))).toString()
-                        ));
+                    if (mongoOutput.containsKey(VALUE_STR)) {
+                        result.setBody(objectMapper.createObjectNode()
+                                .set(VALUE_STR, toJsonNode(mongoOutput.get(VALUE_STR))));
                     }
 
-                    //The json contains key "cursor" when find command was issued and there are 1 or more results. In case
-                    //there are no results for find, this key is not present in the result json.
-                    if (outputJson.has("cursor")) {
-                        JSONArray outputResult = (JSONArray) cleanUp(
-                                outputJson.getJSONObject("cursor").getJSONArray("firstBatch"));
-                        result.setBody(objectMapper.readTree(outputResult.toString()));
+                    //The output contains key "cursor" when find command was issued and there are 1 or more results. In
+                    //case there are no results for find, this key is not present in the output.
+                    if (mongoOutput.containsKey("cursor")) {
+                        final BsonDocument cursor = mongoOutput.getDocument("cursor");
+                        result.setBody(readDocuments(cursor.getArray("firstBatch"), resultTracker));
+                        result.setIsTruncated(resultTracker.isTruncated());
+                        killCursor(database, cursor);
                     }
 
-                    //The json contains key "n" when insert/update command is issued. "n" for update signifies the no of
-                    //documents selected for update. "n" in case of insert signifies the number of documents inserted.
-                    if (outputJson.has("n")) {
-                        JSONObject body = new JSONObject().put("n", outputJson.getBigInteger("n"));
+                    //The output contains key "n" when insert/update command is issued. "n" for update signifies the no
+                    //of documents selected for update. "n" in case of insert signifies the number of documents inserted.
+                    if (mongoOutput.containsKey("n")) {
+                        ObjectNode body = objectMapper.createObjectNode()
+                                .put("n", mongoOutput.getNumber("n").longValue());
                         result.setBody(body);
-                        headerArray.put(body);
+                        headerArray.add(body);
                     }
 
-                    //The json key contains key "nModified" in case of update command. This signifies the no of
+                    //The output contains key "nModified" in case of update command. This signifies the no of
                     //documents updated.
-                    if (outputJson.has(N_MODIFIED)) {
-                        JSONObject body = new JSONObject().put(N_MODIFIED, outputJson.getBigInteger(N_MODIFIED));
+                    if (mongoOutput.containsKey(N_MODIFIED)) {
+                        ObjectNode body = objectMapper.createObjectNode()
+                                .put(N_MODIFIED, mongoOutput.getNumber(N_MODIFIED).longValue());
                         result.setBody(body);
-                        headerArray.put(body);
+                        headerArray.add(body);
                     }
 
                     /** TODO
-                     * Go through all the possible fields that are returned in the output JSON and add all the fields
+                     * Go through all the possible fields that are returned in the output and add all the fields
                      * that are important to the headerArray.
                      */
                 }
 
-                JSONObject statusJson = new JSONObject().put("ok", status);
-                headerArray.put(statusJson);
-                result.setHeaders(objectMapper.readTree(headerArray.toString()));
+                headerArray.add(objectMapper.createObjectNode().put("ok", status));
+                result.setHeaders(headerArray);
             } catch (Exception e) {
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e));
             }
@@ -163,6 +193,252 @@ public class MongoPlugin extends BasePlugin {
             return Mono.just(result);
         }
 
+        /**
+         * Caps the number of documents returned by `find` commands, and in each batch of `find` and `aggregate`
+         * commands, so that the server doesn't send more documents than we would keep. A limit or batch size set in the
+         * command itself is kept if it's lower.
+         */
+        private static void limitBatchSize(Document command, int limit, int batchSize) {
+            if (command.containsKey("find")) {
+                final Object existingLimit = command.get("limit");
+                if (!(existingLimit instanceof Number) || ((Number) existingLimit).longValue() <= 0
+                        || ((Number) existingLimit).longValue() > limit) {
+                    command.put("limit", limit);
+                }
+                final Object existingBatchSize = command.get("batchSize");
+                if (!(existingBatchSize instanceof Number) || ((Number) existingBatchSize).longValue() > batchSize) {
+                    command.put("batchSize", batchSize);
+                }
+
+            } else if (command.containsKey("aggregate")) {
+                final Object cursor = command.get("cursor");
+                if (cursor instanceof Document) {
+                    final Object existingBatchSize = ((Document) cursor).get("batchSize");
+                    if (!(existingBatchSize instanceof Number) || ((Number) existingBatchSize).longValue() > batchSize) {
+                        ((Document) cursor).put("batchSize", batchSize);
+                    }
+                }
+
+            }
+        }
+
+        /**
+         * Decodes the documents of the batch that fit within the result limits. The size of a document is counted as its
+         * size in BSON.
+         */
+        private static ArrayNode readDocuments(BsonArray documents, ResultLimits.Tracker resultTracker) {
+            final ArrayNode limitedDocuments = objectMapper.createArrayNode();
+            for (BsonValue document : documents) {
+                final long size = document instanceof RawBsonDocument
+                        ? ((RawBsonDocument) document).getByteBuffer().remaining()
+                        : ResultLimits.estimateSize(document);
+                if (!resultTracker.add(size)) {
+                    break;
+                }
+                limitedDocuments.add(toJsonNode(document));
+            }
+            return limitedDocuments;
+        }
+
+        /**
+         * Only the first batch of documents is read, so a cursor left open on the server for the rest of them is killed,
+         * rather than waiting for it to time out.
+         */
+        private static void killCursor(MongoDatabase database, BsonDocument cursor) {
+            final BsonValue cursorId = cursor.get("id");
+            final BsonValue namespace = cursor.get("ns");
+            if (cursorId == null || !cursorId.isInt64() || cursorId.asInt64().longValue() == 0
+                    || namespace == null || !namespace.isString() || namespace.asString().getValue().indexOf('.') < 0) {
+                return;
+            }
+
+            final String ns = namespace.asString().getValue();
+            try {
+                database.runCommand(new Document("killCursors", ns.substring(ns.indexOf('.') + 1))
+                        .append("cursors", List.of(cursorId.asInt64().longValue())));
+            } catch (Exception e) {
+                log.warn("Error killing Mongo cursor {} on {}", cursorId, ns, e);
+            }
+        }
+
+        @Override
+        public boolean isStreamingSupported() {
+            return true;
+        }
+
+        /**
+         * Streams the documents of a `find` or `aggregate` command, one batch per chunk. Each row of a chunk holds a
+         * single document. Further batches are asked for with `getMore` only as chunks are requested downstream, and
+         * the cursor is killed on the server if the stream is cancelled, or stops at the result limits.
+         */
+        @Override
+        public Flux<RowsChunk> executeStreaming(MongoClient mongoClient,
+                                                DatasourceConfiguration datasourceConfiguration,
+                                                ActionConfiguration actionConfiguration) {
+
+            if (mongoClient == null) {
+                log.info("Encountered null connection in MongoDB plugin. Reporting back.");
+                throw new StaleConnectionException();
+            }
+
+            final MongoDatabase database = mongoClient.getDatabase(getDatabaseName(datasourceConfiguration));
+            final ResultLimits resultLimits = RESULT_LIMITS.forDatasource(datasourceConfiguration);
+            final int batchSize = Math.min(STREAMING_CHUNK_SIZE, resultLimits.getMaxRows() + 1);
+
+            return Flux.using(
+                    () -> {
+                        final Document command = Document.parse(actionConfiguration.getBody());
+                        limitBatchSize(command, resultLimits.getMaxRows() + 1, batchSize);
+                        return new CommandCursor(mongoClient, database, command, batchSize, resultLimits.newTracker());
+                    },
+                    cursor -> Flux.<RowsChunk>generate(sink -> {
+                        final RowsChunk chunk = cursor.nextChunk();
+                        if (chunk == null) {
+                            sink.complete();
+                        } else {
+                            sink.next(chunk);
+                        }
+                    }),
+                    CommandCursor::close
+            )
+                    .onErrorMap(
+                            error -> !(error instanceof AppsmithPluginException),
+                            error -> new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, error.getMessage())
+                    );
+        }
+
+        /**
+         * Reads the documents of a command's cursor one batch at a time. The first batch comes with the command's
+         * output, and each later one is fetched with a `getMore` when it's asked for. Commands that don't return a
+         * cursor give a single chunk with their whole output.
+         */
+        private static class CommandCursor {
+            private static final List<String> COLUMNS = List.of("document");
+
+            private final MongoDatabase database;
+
+            // Cursors belong to the session they're created in, so the `getMore` and `killCursors` commands are run in
+            // the same one. Null for servers that don't support sessions.
+            private final ClientSession session;
+
+            private final int batchSize;
+
+            private final ResultLimits.Tracker resultTracker;
+
+            private RawBsonDocument output;
+
+            private BsonArray batch;
+
+            private long cursorId = 0;
+
+            private String collectionName;
+
+            private boolean isFirstChunk = true;
+
+            private boolean isExhausted = false;
+
+            CommandCursor(MongoClient mongoClient,
+                          MongoDatabase database,
+                          Document command,
+                          int batchSize,
+                          ResultLimits.Tracker resultTracker) {
+                this.database = database;
+                this.batchSize = batchSize;
+                this.resultTracker = resultTracker;
+                session = startSession(mongoClient);
+
+                try {
+                    output = runCommand(command);
+                    if (output.containsKey("cursor")) {
+                        final BsonDocument cursor = output.getDocument("cursor");
+                        final String namespace = cursor.getString("ns").getValue();
+                        collectionName = namespace.substring(namespace.indexOf('.') + 1);
+                        cursorId = cursor.getInt64("id").longValue();
+                        batch = cursor.getArray("firstBatch");
+                    }
+                } catch (RuntimeException e) {
+                    close();
+                    throw e;
+                }
+            }
+
+            private static ClientSession startSession(MongoClient mongoClient) {
+                try {
+                    return mongoClient.startSession();
+                } catch (MongoClientException e) {
+                    // Servers that don't support sessions don't tie cursors to them either.
+                    return null;
+                }
+            }
+
+            private RawBsonDocument runCommand(Document command) {
+                return session == null
+                        ? database.runCommand(command, RawBsonDocument.class)
+                        : database.runCommand(session, command, RawBsonDocument.class);
+            }
+
+            RowsChunk nextChunk() {
+                if (isExhausted) {
+                    return null;
+                }
+
+                if (batch == null) {
+                    isExhausted = true;
+                    final List<Object[]> rows = new ArrayList<>(1);
+                    rows.add(new Object[]{toJsonNode(output)});
+                    return new RowsChunk(COLUMNS, rows);
+                }
+
+                List<String> columns = null;
+                if (isFirstChunk) {
+                    isFirstChunk = false;
+                    columns = COLUMNS;
+                } else {
+                    final BsonDocument cursor = runCommand(new Document("getMore", cursorId)
+                            .append("collection", collectionName)
+                            .append("batchSize", batchSize))
+                            .getDocument("cursor");
+                    cursorId = cursor.getInt64("id").longValue();
+                    batch = cursor.getArray("nextBatch");
+                }
+
+                final List<Object[]> rows = new ArrayList<>(batch.size());
+                for (BsonValue document : batch) {
+                    final long size = document instanceof RawBsonDocument
+                            ? ((RawBsonDocument) document).getByteBuffer().remaining()
+                            : ResultLimits.estimateSize(document);
+                    if (!resultTracker.add(size)) {
+                        isExhausted = true;
+                        final RowsChunk chunk = new RowsChunk(columns, rows);
+                        chunk.setIsTruncated(true);
+                        return chunk;
+                    }
+                    rows.add(new Object[]{toJsonNode(document)});
+                }
+
+                if (cursorId == 0) {
+                    isExhausted = true;
+                }
+
+                return new RowsChunk(columns, rows);
+            }
+
+            void close() {
+                if (cursorId != 0) {
+                    try {
+                        runCommand(new Document("killCursors", collectionName).append("cursors", List.of(cursorId)));
+                    } catch (Exception e) {
+                        log.warn("Error killing streamed Mongo cursor {} on {}", cursorId, collectionName, e);
+                    }
+                    cursorId = 0;
+                }
+
+                if (session != null) {
+                    session.close();
+                }
+            }
+        }
+
         private String getDatabaseName(DatasourceConfiguration datasourceConfiguration) {
             // Explicitly set default database.
             String databaseName = datasourceConfiguration.getConnection().getDefaultDatabaseName();
@@ -536,44 +812,118 @@ public class MongoPlugin extends BasePlugin {
         return URLEncoder.encode(text, StandardCharsets.UTF_8);
     }
 
-    private static Object cleanUp(Object object) {
-        if (object instanceof JSONObject) {
-            JSONObject jsonObject = (JSONObject) object;
-            final boolean isSingleKey = jsonObject.keySet().size() == 1;
-
-            if (isSingleKey && "$numberLong".equals(jsonObject.keys().next())) {
-                return jsonObject.getBigInteger("$numberLong");
-
-            } else if (isSingleKey && "$oid".equals(jsonObject.keys().next())) {
-                return jsonObject.getString("$oid");
-
-            } else if (isSingleKey && "$date".equals(jsonObject.keys().next())) {
-                return DateTimeFormatter.ISO_INSTANT.format(
-                        Instant.ofEpochMilli(jsonObject.getLong("$date"))
-                );
-
-            } else if (isSingleKey && "$numberDecimal".equals(jsonObject.keys().next())) {
-                return new BigDecimal(jsonObject.getString("$numberDecimal"));
-
-            } else {
-                for (String key : new HashSet<>(jsonObject.keySet())) {
-                    jsonObject.put(key, cleanUp(jsonObject.get(key)));
-                }
-
+    /**
+     * Decodes a BSON value to a JSON node. Values of types that have a natural JSON form are decoded to it. Object IDs
+     * are decoded to their hex string, dates to ISO formatted strings in UTC, and 64 bit and decimal numbers to plain
+     * numbers. Values of other types are decoded to their strict extended JSON form, like `{"$regex": ...}`.
+     */
+    static JsonNode toJsonNode(BsonValue value) {
+        if (value instanceof RawBsonDocument) {
+            // Raw documents are decoded straight from their bytes, without materializing the values in between.
+            try (BsonBinaryReader reader = new BsonBinaryReader(((RawBsonDocument) value).getByteBuffer().asNIO())) {
+                return readDocument(reader);
             }
+        }
 
-        } else if (object instanceof JSONArray) {
-            Collection<Object> cleaned = new ArrayList<>();
-
-            for (Object child : (JSONArray) object) {
-                cleaned.add(cleanUp(child));
-            }
+        try (BsonDocumentReader reader = new BsonDocumentReader(new BsonDocument(VALUE_STR, value))) {
+            return readDocument(reader).get(VALUE_STR);
+        }
+    }
 
-            return new JSONArray(cleaned);
+    private static ObjectNode readDocument(BsonReader reader) {
+        final ObjectNode node = JsonNodeFactory.instance.objectNode();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            final String name = reader.readName();
+            node.set(name, readValue(reader));
+        }
+        reader.readEndDocument();
+        return node;
+    }
 
+    private static ArrayNode readArray(BsonReader reader) {
+        final ArrayNode node = JsonNodeFactory.instance.arrayNode();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            node.add(readValue(reader));
         }
+        reader.readEndArray();
+        return node;
+    }
 
-        return object;
+    private static JsonNode readValue(BsonReader reader) {
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT:
+                return readDocument(reader);
+            case ARRAY:
+                return readArray(reader);
+            case DOUBLE:
+                return factory.numberNode(reader.readDouble());
+            case STRING:
+                return factory.textNode(reader.readString());
+            case INT32:
+                return factory.numberNode(reader.readInt32());
+            case INT64:
+                return factory.numberNode(reader.readInt64());
+            case DECIMAL128:
+                final Decimal128 decimal = reader.readDecimal128();
+                return decimal.isNaN() || decimal.isInfinite()
+                        ? factory.textNode(decimal.toString())
+                        : factory.numberNode(decimal.bigDecimalValue());
+            case BOOLEAN:
+                return factory.booleanNode(reader.readBoolean());
+            case NULL:
+                reader.readNull();
+                return factory.nullNode();
+            case OBJECT_ID:
+                return factory.textNode(reader.readObjectId().toHexString());
+            case DATE_TIME:
+                return factory.textNode(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(reader.readDateTime())));
+            case BINARY_DATA:
+                final BsonBinary binary = reader.readBinaryData();
+                return factory.objectNode()
+                        .put("$binary", Base64.getEncoder().encodeToString(binary.getData()))
+                        .put("$type", String.format("%02x", binary.getType()));
+            case REGULAR_EXPRESSION:
+                final BsonRegularExpression regex = reader.readRegularExpression();
+                return factory.objectNode()
+                        .put("$regex", regex.getPattern())
+                        .put("$options", regex.getOptions());
+            case TIMESTAMP:
+                final BsonTimestamp timestamp = reader.readTimestamp();
+                final ObjectNode timestampNode = factory.objectNode();
+                timestampNode.putObject("$timestamp")
+                        .put("t", timestamp.getTime())
+                        .put("i", timestamp.getInc());
+                return timestampNode;
+            case JAVASCRIPT:
+                return factory.objectNode().put("$code", reader.readJavaScript());
+            case JAVASCRIPT_WITH_SCOPE:
+                final ObjectNode codeNode = factory.objectNode().put("$code", reader.readJavaScriptWithScope());
+                codeNode.set("$scope", readDocument(reader));
+                return codeNode;
+            case SYMBOL:
+                return factory.objectNode().put("$symbol", reader.readSymbol());
+            case DB_POINTER:
+                final BsonDbPointer pointer = reader.readDBPointer();
+                return factory.objectNode()
+                        .put("$ref", pointer.getNamespace())
+                        .put("$id", pointer.getId().toHexString());
+            case UNDEFINED:
+                reader.readUndefined();
+                return factory.objectNode().put("$undefined", true);
+            case MIN_KEY:
+                reader.readMinKey();
+                return factory.objectNode().put("$minKey", 1);
+            case MAX_KEY:
+                reader.readMaxKey();
+                return factory.objectNode().put("$maxKey", 1);
+            default:
+                reader.skipValue();
+                return factory.nullNode();
+        }
     }
 
 }
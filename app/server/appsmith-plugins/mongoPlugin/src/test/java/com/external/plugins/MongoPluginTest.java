@@ -6,16 +6,20 @@ import com.appsmith.external.models.Connection;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.DatasourceStructure;
 import com.appsmith.external.models.Endpoint;
+import com.appsmith.external.models.Property;
+import com.appsmith.external.models.RowsChunk;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.mongodb.MongoClient;
 import com.mongodb.client.MongoCollection;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 import org.testcontainers.containers.GenericContainer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -27,7 +31,9 @@ import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -129,6 +135,43 @@ public class MongoPluginTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void testExecuteReadQueryWithRowLimit() {
+        DatasourceConfiguration dsConfig = createDatasourceConfiguration();
+        dsConfig.setProperties(List.of(new Property("maxRows", "2")));
+        Mono<MongoClient> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("{\n" +
+                "      find: \"users\",\n" +
+                "      sort: { age: 1 },\n" +
+                "    }");
+
+        Mono<ActionExecutionResult> executeMono = dsConnectionMono.flatMap(conn -> pluginExecutor.execute(conn, dsConfig, actionConfiguration));
+
+        StepVerifier.create(executeMono)
+                .assertNext(result -> {
+                    assertTrue(result.getIsExecutionSuccess());
+                    assertTrue(result.getIsTruncated());
+                    assertEquals(2, ((ArrayNode) result.getBody()).size());
+                })
+                .verifyComplete();
+
+        // A result that is exactly at the limit is not truncated.
+        actionConfiguration.setBody("{\n" +
+                "      find: \"users\",\n" +
+                "      filter: { age: { $gte: 30 } },\n" +
+                "    }");
+
+        StepVerifier.create(dsConnectionMono.flatMap(conn -> pluginExecutor.execute(conn, dsConfig, actionConfiguration)))
+                .assertNext(result -> {
+                    assertTrue(result.getIsExecutionSuccess());
+                    assertFalse(result.getIsTruncated());
+                    assertEquals(2, ((ArrayNode) result.getBody()).size());
+                })
+                .verifyComplete();
+    }
+
     @Test
     public void testExecuteWriteQuery() {
         DatasourceConfiguration dsConfig = createDatasourceConfiguration();
@@ -219,6 +262,74 @@ public class MongoPluginTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void testExecuteStreaming() {
+        DatasourceConfiguration dsConfig = createDatasourceConfiguration();
+        Mono<MongoClient> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+
+        // A batch size of one in the command makes the rest of the documents come with a `getMore`.
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("{\n" +
+                "      find: \"users\",\n" +
+                "      filter: { age: { $gte: 20 } },\n" +
+                "      sort: { age: 1 },\n" +
+                "      batchSize: 1,\n" +
+                "    }");
+
+        Flux<RowsChunk> chunksFlux = dsConnectionMono
+                .flatMapMany(conn -> pluginExecutor.executeStreaming(conn, dsConfig, actionConfiguration));
+
+        StepVerifier.create(chunksFlux)
+                .assertNext(chunk -> {
+                    assertEquals(List.of("document"), chunk.getColumns());
+                    assertEquals(1, chunk.getRows().size());
+                    assertEquals("Cierra Vega", ((JsonNode) chunk.getRows().get(0)[0]).get("name").asText());
+                })
+                .assertNext(chunk -> {
+                    assertNull(chunk.getColumns());
+                    assertEquals(2, chunk.getRows().size());
+                    assertEquals(30, ((JsonNode) chunk.getRows().get(0)[0]).get("age").asInt());
+                    assertEquals(40, ((JsonNode) chunk.getRows().get(1)[0]).get("age").asInt());
+                    assertFalse(chunk.getIsTruncated());
+                })
+                .verifyComplete();
+
+        // With a row limit, the stream stops at the limit, and the last chunk says so.
+        dsConfig.setProperties(List.of(new Property("maxRows", "2")));
+
+        StepVerifier.create(dsConnectionMono.flatMapMany(conn -> pluginExecutor.executeStreaming(conn, dsConfig, actionConfiguration)))
+                .assertNext(chunk -> assertEquals(1, chunk.getRows().size()))
+                .assertNext(chunk -> {
+                    assertEquals(1, chunk.getRows().size());
+                    assertTrue(chunk.getIsTruncated());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testToJsonNodeForExtendedTypes() {
+        final RawBsonDocument document = RawBsonDocument.parse("{" +
+                "\"_id\": {\"$oid\": \"5f7a3c1e9d3b2a1c4e8f0a12\"}, " +
+                "\"count\": {\"$numberLong\": \"9007199254740993\"}, " +
+                "\"tags\": [\"a\", {\"$date\": 1546214400000}], " +
+                "\"pattern\": {\"$regex\": \"^A\", \"$options\": \"i\"}, " +
+                "\"blob\": {\"$binary\": \"AQID\", \"$type\": \"00\"}, " +
+                "\"missing\": null" +
+                "}");
+
+        final JsonNode node = MongoPlugin.toJsonNode(document);
+
+        assertEquals("5f7a3c1e9d3b2a1c4e8f0a12", node.get("_id").asText());
+        assertEquals(9007199254740993L, node.get("count").asLong());
+        assertEquals("a", node.get("tags").get(0).asText());
+        assertEquals("2018-12-31T00:00:00Z", node.get("tags").get(1).asText());
+        assertEquals("^A", node.get("pattern").get("$regex").asText());
+        assertEquals("i", node.get("pattern").get("$options").asText());
+        assertEquals("AQID", node.get("blob").get("$binary").asText());
+        assertEquals("00", node.get("blob").get("$type").asText());
+        assertTrue(node.get("missing").isNull());
+    }
+
     @Test
     public void testStructure() {
         DatasourceConfiguration dsConfig = createDatasourceConfiguration();
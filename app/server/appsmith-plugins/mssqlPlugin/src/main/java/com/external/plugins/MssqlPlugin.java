@@ -1,17 +1,27 @@
 package com.external.plugins;
 
+import com.appsmith.external.helpers.ColumnDecoder;
+import com.appsmith.external.helpers.JdbcRowMapper;
+import com.appsmith.external.helpers.JdbcRowStreamer;
+import com.appsmith.external.helpers.PoolSettings;
+import com.appsmith.external.helpers.ResultLimits;
+import com.appsmith.external.helpers.SqlUtils;
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionResult;
 import com.appsmith.external.models.AuthenticationDTO;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.DatasourceTestResult;
 import com.appsmith.external.models.Endpoint;
+import com.appsmith.external.models.RowsChunk;
 import com.appsmith.external.models.SSLDetails;
 import com.appsmith.external.pluginExceptions.AppsmithPluginError;
 import com.appsmith.external.pluginExceptions.AppsmithPluginException;
 import com.appsmith.external.pluginExceptions.StaleConnectionException;
 import com.appsmith.external.plugins.BasePlugin;
 import com.appsmith.external.plugins.PluginExecutor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.ObjectUtils;
@@ -19,17 +29,14 @@ import org.pf4j.Extension;
 import org.pf4j.PluginWrapper;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -43,9 +50,24 @@ public class MssqlPlugin extends BasePlugin {
 
     private static final String JDBC_DRIVER = "com.microsoft.sqlserver.jdbc.SQLServerDriver";
 
-    private static final int VALIDITY_CHECK_TIMEOUT = 5;
-
-    private static final String DATE_COLUMN_TYPE_NAME = "date";
+    // Number of rows in each chunk of a streamed result, which is also the number of rows fetched from the database at a
+    // time.
+    private static final int STREAMING_CHUNK_SIZE = 500;
+
+    // Limits on the rows and bytes read into the result of a query. Can be changed with the `APPSMITH_MSSQL_MAX_ROWS` and
+    // `APPSMITH_MSSQL_MAX_RESULT_BYTES` environment variables, and lowered for each datasource with its properties.
+    private static final ResultLimits RESULT_LIMITS = ResultLimits.forPlugin("APPSMITH_MSSQL");
+
+    // Decoders for the columns of query results, keyed by the type names reported by the driver. Dates and times are
+    // converted to ISO formatted strings. Columns of other types are read as they are.
+    private static final Map<String, ColumnDecoder> COLUMN_DECODERS = Map.of(
+            "date", ColumnDecoder.ISO_DATE,
+            "timestamp", ColumnDecoder.ISO_TIMESTAMP,
+            "timestamptz", ColumnDecoder.ISO_OFFSET_TIMESTAMP,
+            "time", ColumnDecoder.STRING,
+            "timetz", ColumnDecoder.STRING,
+            "interval", ColumnDecoder.OBJECT_TO_STRING
+    );
 
     public MssqlPlugin(PluginWrapper wrapper) {
         super(wrapper);
@@ -57,22 +79,16 @@ public class MssqlPlugin extends BasePlugin {
 
     @Slf4j
     @Extension
-    public static class MssqlPluginExecutor implements PluginExecutor<Connection> {
+    public static class MssqlPluginExecutor implements PluginExecutor<HikariDataSource> {
 
         @Override
-        public Mono<ActionExecutionResult> execute(Connection connection,
+        public Mono<ActionExecutionResult> execute(HikariDataSource connectionPool,
                                                    DatasourceConfiguration datasourceConfiguration,
                                                    ActionConfiguration actionConfiguration) {
 
-            try {
-                if (connection == null || connection.isClosed() || !connection.isValid(VALIDITY_CHECK_TIMEOUT)) {
-                    log.info("Encountered stale connection in MsSQL plugin. Reporting back.");
-                    throw new StaleConnectionException();
-                }
-            } catch (SQLException error) {
-                // This exception is thrown only when the timeout to `isValid` is negative. Since, that's not the case,
-                // here, this should never happen.
-                log.error("Error checking validity of MsSQL connection.", error);
+            if (connectionPool == null || connectionPool.isClosed()) {
+                log.info("Encountered closed connection pool in MsSQL plugin. Reporting back.");
+                throw new StaleConnectionException();
             }
 
             String query = actionConfiguration.getBody();
@@ -82,57 +98,37 @@ public class MssqlPlugin extends BasePlugin {
             }
 
             List<Map<String, Object>> rowsList = new ArrayList<>(50);
+            final ResultLimits resultLimits = RESULT_LIMITS.forDatasource(datasourceConfiguration);
+            final ResultLimits.Tracker resultTracker = resultLimits.newTracker();
 
+            Connection connection = null;
             Statement statement = null;
             ResultSet resultSet = null;
             try {
-                statement = connection.createStatement();
-                boolean isResultSet = statement.execute(query);
+                // Connections are validated by the pool when they are borrowed, if they have been idle for a while.
+                connection = connectionPool.getConnection();
+                final List<String> bodyParameters = actionConfiguration.getBodyParameters();
+                statement = bodyParameters == null
+                        ? connection.createStatement()
+                        : bindParameters(connection.prepareStatement(query), bodyParameters);
+                // One row more than the limit is read, so that we can tell whether the result was cut short.
+                statement.setMaxRows(resultLimits.getMaxRows() + 1);
+                statement.setFetchSize(Math.min(resultLimits.getMaxRows() + 1, STREAMING_CHUNK_SIZE));
+                boolean isResultSet = bodyParameters == null
+                        ? statement.execute(query)
+                        : ((PreparedStatement) statement).execute();
 
                 if (isResultSet) {
                     resultSet = statement.getResultSet();
-                    ResultSetMetaData metaData = resultSet.getMetaData();
-                    int colCount = metaData.getColumnCount();
+                    // Column names and decoders are resolved once for the whole result, rather than for every cell.
+                    final JdbcRowMapper rowMapper = JdbcRowMapper.of(resultSet.getMetaData(), false, COLUMN_DECODERS);
 
                     while (resultSet.next()) {
-                        // Use `LinkedHashMap` here so that the column ordering is preserved in the response.
-                        Map<String, Object> row = new LinkedHashMap<>(colCount);
-
-                        for (int i = 1; i <= colCount; i++) {
-                            Object value;
-                            final String typeName = metaData.getColumnTypeName(i);
-
-                            if (resultSet.getObject(i) == null) {
-                                value = null;
-
-                            } else if (DATE_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-                                value = DateTimeFormatter.ISO_DATE.format(resultSet.getDate(i).toLocalDate());
-
-                            } else if ("timestamp".equalsIgnoreCase(typeName)) {
-                                value = DateTimeFormatter.ISO_DATE_TIME.format(
-                                        LocalDateTime.of(
-                                                resultSet.getDate(i).toLocalDate(),
-                                                resultSet.getTime(i).toLocalTime()
-                                        )
-                                ) + "Z";
-
-                            } else if ("timestamptz".equalsIgnoreCase(typeName)) {
-                                value = DateTimeFormatter.ISO_DATE_TIME.format(
-                                        resultSet.getObject(i, OffsetDateTime.class)
-                                );
-
-                            } else if ("time".equalsIgnoreCase(typeName) || "timetz".equalsIgnoreCase(typeName)) {
-                                value = resultSet.getString(i);
+                        // The row is a `LinkedHashMap`, so that the column ordering is preserved in the response.
+                        Map<String, Object> row = rowMapper.readRow(resultSet);
 
-                            } else if ("interval".equalsIgnoreCase(typeName)) {
-                                value = resultSet.getObject(i).toString();
-
-                            } else {
-                                value = resultSet.getObject(i);
-
-                            }
-
-                            row.put(metaData.getColumnName(i), value);
+                        if (!resultTracker.add(row)) {
+                            break;
                         }
 
                         rowsList.add(row);
@@ -166,17 +162,88 @@ public class MssqlPlugin extends BasePlugin {
                     }
                 }
 
+                if (connection != null) {
+                    try {
+                        // Return the connection to the pool.
+                        connection.close();
+                    } catch (SQLException e) {
+                        log.warn("Error returning MsSQL connection to pool", e);
+                    }
+                }
+
             }
 
             ActionExecutionResult result = new ActionExecutionResult();
             result.setBody(objectMapper.valueToTree(rowsList));
             result.setIsExecutionSuccess(true);
+            result.setIsTruncated(resultTracker.isTruncated());
             log.debug("In the MssqlPlugin, got action execution result: " + result.toString());
             return Mono.just(result);
         }
 
         @Override
-        public Mono<Connection> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
+        public boolean isPreparedStatementSupported() {
+            return true;
+        }
+
+        @Override
+        public boolean isReadOnly(ActionConfiguration actionConfiguration) {
+            return SqlUtils.isReadOnlyQuery(actionConfiguration.getBody());
+        }
+
+        /**
+         * Binds the values of the bindings in the body to the placeholders of the prepared statement. Values are sent as
+         * strings, which the database converts to the types they're compared with, like it would for string literals.
+         */
+        private static PreparedStatement bindParameters(PreparedStatement statement, List<String> values) throws SQLException {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setString(i + 1, values.get(i));
+            }
+            return statement;
+        }
+
+        @Override
+        public boolean isStreamingSupported() {
+            return true;
+        }
+
+        @Override
+        public Flux<RowsChunk> executeStreaming(HikariDataSource connectionPool,
+                                                DatasourceConfiguration datasourceConfiguration,
+                                                ActionConfiguration actionConfiguration) {
+
+            if (connectionPool == null || connectionPool.isClosed()) {
+                log.info("Encountered closed connection pool in MsSQL plugin. Reporting back.");
+                throw new StaleConnectionException();
+            }
+
+            String query = actionConfiguration.getBody();
+
+            if (query == null) {
+                return Flux.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "Missing required parameter: Query."));
+            }
+
+            return JdbcRowStreamer.stream(
+                    connectionPool,
+                    query,
+                    STREAMING_CHUNK_SIZE,
+                    connection -> {
+                        final Statement statement = actionConfiguration.getBodyParameters() == null
+                                ? connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)
+                                : bindParameters(
+                                        connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY),
+                                        actionConfiguration.getBodyParameters()
+                                );
+                        statement.setFetchSize(STREAMING_CHUNK_SIZE);
+                        return statement;
+                    },
+                    RESULT_LIMITS.forDatasource(datasourceConfiguration),
+                    COLUMN_DECODERS
+            );
+        }
+
+        @Override
+        public Mono<HikariDataSource> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
             try {
                 Class.forName(JDBC_DRIVER);
             } catch (ClassNotFoundException e) {
@@ -210,48 +277,64 @@ public class MssqlPlugin extends BasePlugin {
                         .append(";");
             }
 
-            if (!StringUtils.isEmpty(authentication.getUsername())) {
-                urlBuilder
-                        .append("user=")
-                        .append(authentication.getUsername())
-                        .append(";");
-            }
-
-            if (!StringUtils.isEmpty(authentication.getPassword())) {
-                urlBuilder
-                        .append("password=")
-                        .append(authentication.getPassword())
-                        .append(";");
-            }
-
             urlBuilder
                     .append("encrypt=")
                     .append(isSslEnabled)
                     .append(";");
 
+            final PoolSettings poolSettings = PoolSettings.forDatasource(datasourceConfiguration);
+            final Set<String> invalidPoolSettings = poolSettings.validate();
+            if (!invalidPoolSettings.isEmpty()) {
+                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, String.join(" ", invalidPoolSettings)));
+            }
+
+            HikariConfig config = new HikariConfig();
+            config.setDriverClassName(JDBC_DRIVER);
+            config.setJdbcUrl(urlBuilder.toString());
+            if (!StringUtils.isEmpty(authentication.getUsername())) {
+                config.setUsername(authentication.getUsername());
+            }
+            if (!StringUtils.isEmpty(authentication.getPassword())) {
+                config.setPassword(authentication.getPassword());
+            }
+            config.setReadOnly(configurationConnection != null && READ_ONLY.equals(configurationConnection.getMode()));
+            configurePool(config, poolSettings);
+
             try {
-                Connection connection = DriverManager.getConnection(urlBuilder.toString());
-                connection.setReadOnly(
-                        configurationConnection != null && READ_ONLY.equals(configurationConnection.getMode()));
-                return Mono.just(connection);
+                // Creating the pool opens the first connection, so invalid credentials or hosts fail right here.
+                return Mono.just(new HikariDataSource(config));
 
-            } catch (SQLException e) {
+            } catch (HikariPool.PoolInitializationException error) {
+                final Throwable cause = error.getCause() == null ? error : error.getCause();
                 return Mono.error(new AppsmithPluginException(
                         AppsmithPluginError.PLUGIN_ERROR,
-                        "Error connecting to MsSQL: " + e.getMessage()
+                        "Error connecting to MsSQL: " + cause.getMessage()
                 ));
 
             }
         }
 
+        /**
+         * Applies pool sizing, idle eviction and leak detection settings to the given pool configuration.
+         */
+        private static void configurePool(HikariConfig config, PoolSettings poolSettings) {
+            config.setPoolName("MssqlPool");
+            config.setMinimumIdle(poolSettings.getMinPoolSize());
+            config.setMaximumPoolSize(poolSettings.getMaxPoolSize());
+            config.setIdleTimeout(poolSettings.getIdleTimeoutMs());
+            config.setLeakDetectionThreshold(poolSettings.getLeakDetectionThresholdMs());
+            config.setConnectionTimeout(poolSettings.getBorrowTimeoutMs());
+
+            // Prepared statements are cached by the driver on each connection, so repeated executions of a query reuse
+            // the statement, and the plan the database made for it.
+            config.addDataSourceProperty("disableStatementPooling", false);
+            config.addDataSourceProperty("statementPoolingCacheSize", poolSettings.getStatementCacheSize());
+        }
+
         @Override
-        public void datasourceDestroy(Connection connection) {
-            try {
-                if (connection != null) {
-                    connection.close();
-                }
-            } catch (SQLException e) {
-                log.error("Error closing MsSQL Connection.", e);
+        public void datasourceDestroy(HikariDataSource connectionPool) {
+            if (connectionPool != null) {
+                connectionPool.close();
             }
         }
 
@@ -282,21 +365,16 @@ public class MssqlPlugin extends BasePlugin {
 
             }
 
+            invalids.addAll(PoolSettings.forDatasource(datasourceConfiguration).validate());
+
             return invalids;
         }
 
         @Override
         public Mono<DatasourceTestResult> testDatasource(DatasourceConfiguration datasourceConfiguration) {
             return datasourceCreate(datasourceConfiguration)
-                    .map(connection -> {
-                        try {
-                            if (connection != null) {
-                                connection.close();
-                            }
-                        } catch (SQLException e) {
-                            log.warn("Error closing MsSQL connection that was made for testing.", e);
-                        }
-
+                    .map(connectionPool -> {
+                        datasourceDestroy(connectionPool);
                         return new DatasourceTestResult();
                     })
                     .onErrorResume(error -> Mono.just(new DatasourceTestResult(error.getMessage())));
@@ -1,5 +1,11 @@
 package com.external.plugins;
 
+import com.appsmith.external.helpers.ColumnDecoder;
+import com.appsmith.external.helpers.JdbcRowMapper;
+import com.appsmith.external.helpers.JdbcRowStreamer;
+import com.appsmith.external.helpers.PoolSettings;
+import com.appsmith.external.helpers.ResultLimits;
+import com.appsmith.external.helpers.SqlUtils;
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionResult;
 import com.appsmith.external.models.AuthenticationDTO;
@@ -8,11 +14,15 @@ import com.appsmith.external.models.DatasourceStructure;
 import com.appsmith.external.models.DatasourceTestResult;
 import com.appsmith.external.models.Endpoint;
 import com.appsmith.external.models.Property;
+import com.appsmith.external.models.RowsChunk;
 import com.appsmith.external.pluginExceptions.AppsmithPluginError;
 import com.appsmith.external.pluginExceptions.AppsmithPluginException;
 import com.appsmith.external.pluginExceptions.StaleConnectionException;
 import com.appsmith.external.plugins.BasePlugin;
 import com.appsmith.external.plugins.PluginExecutor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.ObjectUtils;
 import org.pf4j.Extension;
@@ -20,16 +30,16 @@ import org.pf4j.PluginWrapper;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -37,8 +47,8 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.appsmith.external.models.Connection.Mode.READ_ONLY;
@@ -47,14 +57,35 @@ public class MySqlPlugin extends BasePlugin {
 
     static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
 
-    private static final String USER = "user";
-    private static final String PASSWORD = "password";
-    private static final int VALIDITY_CHECK_TIMEOUT = 5;
+    // Number of rows in each chunk of a streamed result, which is also the number of rows fetched from the database at a
+    // time.
+    private static final int STREAMING_CHUNK_SIZE = 500;
+
+    // Limits on the rows and bytes read into the result of a query. Can be changed with the `APPSMITH_MYSQL_MAX_ROWS` and
+    // `APPSMITH_MYSQL_MAX_RESULT_BYTES` environment variables, and lowered for each datasource with its properties.
+    private static final ResultLimits RESULT_LIMITS = ResultLimits.forPlugin("APPSMITH_MYSQL");
+
+    // Values of prepared statement parameters that are bound as numbers. Numbers with leading zeros, like zip codes, are
+    // bound as strings, so that they're not stripped of the zeros.
+    private static final Pattern INTEGER_PARAMETER_PATTERN = Pattern.compile("-?(0|[1-9][0-9]{0,17})");
+    private static final Pattern DECIMAL_PARAMETER_PATTERN = Pattern.compile("-?(0|[1-9][0-9]*)\\.[0-9]+");
 
     private static final String DATE_COLUMN_TYPE_NAME = "date";
     private static final String DATETIME_COLUMN_TYPE_NAME = "datetime";
     private static final String TIMESTAMP_COLUMN_TYPE_NAME = "timestamp";
 
+    // Decoders for the columns of query results, keyed by the type names reported by the driver. Dates and times are
+    // converted to ISO formatted strings. Columns of other types are read as they are.
+    private static final Map<String, ColumnDecoder> COLUMN_DECODERS = Map.of(
+            DATE_COLUMN_TYPE_NAME, ColumnDecoder.ISO_DATE,
+            DATETIME_COLUMN_TYPE_NAME, ColumnDecoder.ISO_TIMESTAMP,
+            TIMESTAMP_COLUMN_TYPE_NAME, ColumnDecoder.ISO_TIMESTAMP,
+            "year", (resultSet, column) -> {
+                final Date value = resultSet.getDate(column);
+                return value == null ? null : value.toLocalDate().getYear();
+            }
+    );
+
     private static final String COLUMNS_QUERY = "select tab.table_name as table_name,\n" +
             "       col.ordinal_position as column_id,\n" +
             "       col.column_name as column_name,\n" +
@@ -94,22 +125,16 @@ public class MySqlPlugin extends BasePlugin {
 
     @Slf4j
     @Extension
-    public static class MySqlPluginExecutor implements PluginExecutor<Connection> {
+    public static class MySqlPluginExecutor implements PluginExecutor<HikariDataSource> {
 
         @Override
-        public Mono<ActionExecutionResult> execute(Connection connection,
+        public Mono<ActionExecutionResult> execute(HikariDataSource connectionPool,
                                                    DatasourceConfiguration datasourceConfiguration,
                                                    ActionConfiguration actionConfiguration) {
 
-            try {
-                if (connection == null || connection.isClosed() || !connection.isValid(VALIDITY_CHECK_TIMEOUT)) {
-                    log.info("Encountered stale connection in MySQL plugin. Reporting back.");
-                    throw new StaleConnectionException();
-                }
-            } catch (SQLException error) {
-                // This exception is thrown only when the timeout to `isValid` is negative. Since, that's not the case,
-                // here, this should never happen.
-                log.error("Error checking validity of MySQL connection.", error);
+            if (connectionPool == null || connectionPool.isClosed()) {
+                log.info("Encountered closed connection pool in MySQL plugin. Reporting back.");
+                throw new StaleConnectionException();
             }
 
             String query = actionConfiguration.getBody();
@@ -119,51 +144,39 @@ public class MySqlPlugin extends BasePlugin {
             }
 
             List<Map<String, Object>> rowsList = new ArrayList<>(50);
+            final ResultLimits resultLimits = RESULT_LIMITS.forDatasource(datasourceConfiguration);
+            final ResultLimits.Tracker resultTracker = resultLimits.newTracker();
 
+            Connection connection = null;
             Statement statement = null;
             ResultSet resultSet = null;
             try {
-                statement = connection.createStatement();
-                boolean isResultSet = statement.execute(query);
+                // Connections are validated by the pool when they are borrowed, if they have been idle for a while.
+                connection = connectionPool.getConnection();
+                final List<String> bodyParameters = actionConfiguration.getBodyParameters();
+                statement = bodyParameters == null
+                        ? connection.createStatement()
+                        : bindParameters(connection.prepareStatement(query), bodyParameters);
+                // One row more than the limit is read, so that we can tell whether the result was cut short.
+                statement.setMaxRows(resultLimits.getMaxRows() + 1);
+                boolean isResultSet = bodyParameters == null
+                        ? statement.execute(query)
+                        : ((PreparedStatement) statement).execute();
 
                 if (isResultSet) {
                     resultSet = statement.getResultSet();
-                    ResultSetMetaData metaData = resultSet.getMetaData();
-                    int colCount = metaData.getColumnCount();
-                    while (resultSet.next()) {
-                        // Use `LinkedHashMap` here so that the column ordering is preserved in the response.
-                        Map<String, Object> row = new LinkedHashMap<>(colCount);
-                        rowsList.add(row);
-
-                        for (int i = 1; i <= colCount; i++) {
-                            Object value;
-                            final String typeName = metaData.getColumnTypeName(i);
+                    // Column names and decoders are resolved once for the whole result, rather than for every cell.
+                    final JdbcRowMapper rowMapper = JdbcRowMapper.of(resultSet.getMetaData(), true, COLUMN_DECODERS);
 
-                            if (resultSet.getObject(i) == null) {
-                                value = null;
-
-                            } else if (DATE_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-                                value = DateTimeFormatter.ISO_DATE.format(resultSet.getDate(i).toLocalDate());
-
-                            } else if (DATETIME_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)
-                                    || TIMESTAMP_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-                                value = DateTimeFormatter.ISO_DATE_TIME.format(
-                                        LocalDateTime.of(
-                                                resultSet.getDate(i).toLocalDate(),
-                                                resultSet.getTime(i).toLocalTime()
-                                        )
-                                ) + "Z";
-
-                            } else if ("year".equalsIgnoreCase(typeName)) {
-                                value = resultSet.getDate(i).toLocalDate().getYear();
-
-                            } else {
-                                value = resultSet.getObject(i);
-
-                            }
+                    while (resultSet.next()) {
+                        // The row is a `LinkedHashMap`, so that the column ordering is preserved in the response.
+                        Map<String, Object> row = rowMapper.readRow(resultSet);
 
-                            row.put(metaData.getColumnLabel(i), value);
+                        if (!resultTracker.add(row)) {
+                            break;
                         }
+
+                        rowsList.add(row);
                     }
 
                 } else {
@@ -194,17 +207,99 @@ public class MySqlPlugin extends BasePlugin {
                     }
                 }
 
+                if (connection != null) {
+                    try {
+                        // Return the connection to the pool.
+                        connection.close();
+                    } catch (SQLException e) {
+                        log.warn("Error returning MySQL connection to pool", e);
+                    }
+                }
+
             }
 
             ActionExecutionResult result = new ActionExecutionResult();
             result.setBody(objectMapper.valueToTree(rowsList));
             result.setIsExecutionSuccess(true);
+            result.setIsTruncated(resultTracker.isTruncated());
             log.debug("In the MySqlPlugin, got action execution result: " + result.toString());
             return Mono.just(result);
         }
 
         @Override
-        public Mono<Connection> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
+        public boolean isPreparedStatementSupported() {
+            return true;
+        }
+
+        @Override
+        public boolean isReadOnly(ActionConfiguration actionConfiguration) {
+            return SqlUtils.isReadOnlyQuery(actionConfiguration.getBody());
+        }
+
+        /**
+         * Binds the values of the bindings in the body to the placeholders of the prepared statement. Values that are
+         * numbers are bound as numbers, so that they can be used where MySQL takes only numbers, like in `LIMIT ?`.
+         * Others are sent as strings, which the database converts to the types they're compared with, like it would for
+         * string literals.
+         */
+        private static PreparedStatement bindParameters(PreparedStatement statement, List<String> values) throws SQLException {
+            for (int i = 0; i < values.size(); i++) {
+                final String value = values.get(i);
+                if (value != null && INTEGER_PARAMETER_PATTERN.matcher(value).matches()) {
+                    statement.setLong(i + 1, Long.parseLong(value));
+                } else if (value != null && DECIMAL_PARAMETER_PATTERN.matcher(value).matches()) {
+                    statement.setBigDecimal(i + 1, new BigDecimal(value));
+                } else {
+                    statement.setString(i + 1, value);
+                }
+            }
+            return statement;
+        }
+
+        @Override
+        public boolean isStreamingSupported() {
+            return true;
+        }
+
+        @Override
+        public Flux<RowsChunk> executeStreaming(HikariDataSource connectionPool,
+                                                DatasourceConfiguration datasourceConfiguration,
+                                                ActionConfiguration actionConfiguration) {
+
+            if (connectionPool == null || connectionPool.isClosed()) {
+                log.info("Encountered closed connection pool in MySQL plugin. Reporting back.");
+                throw new StaleConnectionException();
+            }
+
+            String query = actionConfiguration.getBody();
+
+            if (query == null) {
+                return Flux.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "Missing required parameter: Query."));
+            }
+
+            return JdbcRowStreamer.stream(
+                    connectionPool,
+                    query,
+                    STREAMING_CHUNK_SIZE,
+                    connection -> {
+                        final Statement statement = actionConfiguration.getBodyParameters() == null
+                                ? connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)
+                                : bindParameters(
+                                        connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY),
+                                        actionConfiguration.getBodyParameters()
+                                );
+                        // With any other fetch size, the MySQL driver reads the whole result into memory before
+                        // returning the first row. This one makes it stream the rows instead.
+                        statement.setFetchSize(Integer.MIN_VALUE);
+                        return statement;
+                    },
+                    RESULT_LIMITS.forDatasource(datasourceConfiguration),
+                    COLUMN_DECODERS
+            );
+        }
+
+        @Override
+        public Mono<HikariDataSource> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
             try {
                 Class.forName(JDBC_DRIVER);
             } catch (ClassNotFoundException e) {
@@ -215,14 +310,23 @@ public class MySqlPlugin extends BasePlugin {
 
             com.appsmith.external.models.Connection configurationConnection = datasourceConfiguration.getConnection();
 
-            Properties properties = new Properties();
+            final PoolSettings poolSettings = PoolSettings.forDatasource(datasourceConfiguration);
+            final Set<String> invalidPoolSettings = poolSettings.validate();
+            if (!invalidPoolSettings.isEmpty()) {
+                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, String.join(" ", invalidPoolSettings)));
+            }
+
+            HikariConfig config = new HikariConfig();
+            config.setDriverClassName(JDBC_DRIVER);
             // TODO: Set SSL connection parameters as well.
             if (authentication.getUsername() != null) {
-                properties.put(USER, authentication.getUsername());
+                config.setUsername(authentication.getUsername());
             }
             if (authentication.getPassword() != null) {
-                properties.put(PASSWORD, authentication.getPassword());
+                config.setPassword(authentication.getPassword());
             }
+            config.setReadOnly(configurationConnection != null && READ_ONLY.equals(configurationConnection.getMode()));
+            configurePool(config, poolSettings);
 
             StringBuilder urlBuilder = new StringBuilder();
             if (CollectionUtils.isEmpty(datasourceConfiguration.getEndpoints())) {
@@ -256,28 +360,44 @@ public class MySqlPlugin extends BasePlugin {
                 }
             }
 
+            config.setJdbcUrl(urlBuilder.toString());
+
             try {
-                Connection connection = DriverManager.getConnection(urlBuilder.toString(), properties);
-                connection.setReadOnly(
-                        configurationConnection != null && READ_ONLY.equals(configurationConnection.getMode()));
-                return Mono.just(connection);
-            } catch (SQLException error) {
+                // Creating the pool opens the first connection, so invalid credentials or hosts fail right here.
+                return Mono.just(new HikariDataSource(config));
+            } catch (HikariPool.PoolInitializationException error) {
+                final Throwable cause = error.getCause() == null ? error : error.getCause();
                 return Mono.error(new AppsmithPluginException(
                         AppsmithPluginError.PLUGIN_ERROR,
-                        "Error connecting to MySQL: " + error.getMessage(),
+                        "Error connecting to MySQL: " + cause.getMessage(),
                         error
                 ));
             }
         }
 
+        /**
+         * Applies pool sizing, idle eviction and leak detection settings to the given pool configuration.
+         */
+        private static void configurePool(HikariConfig config, PoolSettings poolSettings) {
+            config.setPoolName("MySqlPool");
+            config.setMinimumIdle(poolSettings.getMinPoolSize());
+            config.setMaximumPoolSize(poolSettings.getMaxPoolSize());
+            config.setIdleTimeout(poolSettings.getIdleTimeoutMs());
+            config.setLeakDetectionThreshold(poolSettings.getLeakDetectionThresholdMs());
+            config.setConnectionTimeout(poolSettings.getBorrowTimeoutMs());
+
+            // Prepared statements are prepared on the server, and cached by the driver on each connection, so repeated
+            // executions of a query reuse the statement, and the plan the database made for it.
+            config.addDataSourceProperty("useServerPrepStmts", true);
+            config.addDataSourceProperty("cachePrepStmts", true);
+            config.addDataSourceProperty("prepStmtCacheSize", poolSettings.getStatementCacheSize());
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", 2048);
+        }
+
         @Override
-        public void datasourceDestroy(Connection connection) {
-            try {
-                if (connection != null) {
-                    connection.close();
-                }
-            } catch (SQLException e) {
-                log.error("Error closing MySQL Connection.", e);
+        public void datasourceDestroy(HikariDataSource connectionPool) {
+            if (connectionPool != null) {
+                connectionPool.close();
             }
         }
 
@@ -312,37 +432,26 @@ public class MySqlPlugin extends BasePlugin {
                 }
             }
 
+            invalids.addAll(PoolSettings.forDatasource(datasourceConfiguration).validate());
+
             return invalids;
         }
 
         @Override
         public Mono<DatasourceTestResult> testDatasource(DatasourceConfiguration datasourceConfiguration) {
             return datasourceCreate(datasourceConfiguration)
-                    .map(connection -> {
-                        try {
-                            if (connection != null) {
-                                connection.close();
-                            }
-                        } catch (SQLException e) {
-                            log.warn("Error closing MySQL connection that was made for testing.", e);
-                        }
-
+                    .map(connectionPool -> {
+                        datasourceDestroy(connectionPool);
                         return new DatasourceTestResult();
                     })
                     .onErrorResume(error -> Mono.just(new DatasourceTestResult(error.getMessage())));
         }
 
         @Override
-        public Mono<DatasourceStructure> getStructure(Connection connection, DatasourceConfiguration datasourceConfiguration) {
-            try {
-                if (connection == null || connection.isClosed() || !connection.isValid(VALIDITY_CHECK_TIMEOUT)) {
-                    log.info("Encountered stale connection in Postgres plugin. Reporting back.");
-                    throw new StaleConnectionException();
-                }
-            } catch (SQLException error) {
-                // This exception is thrown only when the timeout to `isValid` is negative. Since, that's not the case,
-                // here, this should never happen.
-                log.error("Error checking validity of Postgres connection.", error);
+        public Mono<DatasourceStructure> getStructure(HikariDataSource connectionPool, DatasourceConfiguration datasourceConfiguration) {
+            if (connectionPool == null || connectionPool.isClosed()) {
+                log.info("Encountered closed connection pool in MySQL plugin. Reporting back.");
+                throw new StaleConnectionException();
             }
 
             final DatasourceStructure structure = new DatasourceStructure();
@@ -350,7 +459,8 @@ public class MySqlPlugin extends BasePlugin {
 
             // Ref: <https://docs.oracle.com/en/java/javase/11/docs/api/java.sql/java/sql/DatabaseMetaData.html>.
 
-            try (Statement statement = connection.createStatement()) {
+            try (Connection connection = connectionPool.getConnection();
+                 Statement statement = connection.createStatement()) {
 
                 // Get tables and fill up their columns.
                 try (ResultSet columnsResultSet = statement.executeQuery(COLUMNS_QUERY)) {
@@ -10,6 +10,7 @@ import com.appsmith.external.models.Property;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.log4j.Log4j;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -156,7 +157,7 @@ public class MySqlPluginTest {
     @Test
     public void testConnectMySQLContainer() {
 
-        Mono<Connection> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         StepVerifier.create(dsConnectionMono)
                 .assertNext(Assert::assertNotNull)
@@ -182,7 +183,7 @@ public class MySqlPluginTest {
                 new Property("serverTimezone", "UTC")
         ));
 
-        Mono<Connection> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         StepVerifier.create(dsConnectionMono)
                 .assertNext(Assert::assertNotNull)
@@ -191,7 +192,7 @@ public class MySqlPluginTest {
 
     @Test
     public void testExecute() {
-        Mono<Connection> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         ActionConfiguration actionConfiguration = new ActionConfiguration();
         actionConfiguration.setBody("show databases");
@@ -209,6 +210,28 @@ public class MySqlPluginTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void testExecuteWithPreparedStatementLimit() {
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+
+        // The body as it's handed to the plugin for `SELECT ... WHERE username = {{name}} LIMIT {{n}}`.
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("SELECT id FROM users WHERE username = ? ORDER BY id LIMIT ?");
+        actionConfiguration.setBodyParameters(List.of("Jill", "1"));
+
+        Mono<ActionExecutionResult> executeMono = dsConnectionMono
+                .flatMap(conn -> pluginExecutor.execute(conn, dsConfig, actionConfiguration));
+
+        StepVerifier.create(executeMono)
+                .assertNext(result -> {
+                    assertTrue(result.getIsExecutionSuccess());
+                    final ArrayNode rows = (ArrayNode) result.getBody();
+                    assertEquals(1, rows.size());
+                    assertEquals(2, rows.get(0).get("id").asInt());
+                })
+                .verifyComplete();
+    }
+
     @Test
     public void testValidateDatasourceNullCredentials() {
         dsConfig.setConnection(new com.appsmith.external.models.Connection());
@@ -242,16 +265,12 @@ public class MySqlPluginTest {
     @Test
     public void testDatasourceDestroy() {
 
-        Mono<Connection> connectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> connectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         StepVerifier.create(connectionMono)
-                .assertNext(connection -> {
-                    pluginExecutor.datasourceDestroy(connection);
-                    try {
-                        assertTrue(connection.isClosed());
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                    }
+                .assertNext(connectionPool -> {
+                    pluginExecutor.datasourceDestroy(connectionPool);
+                    assertTrue(connectionPool.isClosed());
                 })
                 .verifyComplete();
     }
@@ -259,7 +278,7 @@ public class MySqlPluginTest {
     @Test
     public void testAliasColumnNames() {
         DatasourceConfiguration dsConfig = createDatasourceConfiguration();
-        Mono<Connection> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         ActionConfiguration actionConfiguration = new ActionConfiguration();
         actionConfiguration.setBody("SELECT id as user_id FROM users WHERE id = 1");
@@ -286,7 +305,7 @@ public class MySqlPluginTest {
     @Test
     public void testExecuteDataTypes() {
         DatasourceConfiguration dsConfig = createDatasourceConfiguration();
-        Mono<Connection> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         ActionConfiguration actionConfiguration = new ActionConfiguration();
         actionConfiguration.setBody("SELECT * FROM users WHERE id = 1");
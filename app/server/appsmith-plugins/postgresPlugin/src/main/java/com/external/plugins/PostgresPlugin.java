@@ -1,5 +1,11 @@
 package com.external.plugins;
 
+import com.appsmith.external.helpers.ColumnDecoder;
+import com.appsmith.external.helpers.JdbcRowMapper;
+import com.appsmith.external.helpers.JdbcRowStreamer;
+import com.appsmith.external.helpers.PoolSettings;
+import com.appsmith.external.helpers.ResultLimits;
+import com.appsmith.external.helpers.SqlUtils;
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionResult;
 import com.appsmith.external.models.AuthenticationDTO;
@@ -7,12 +13,16 @@ import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.DatasourceStructure;
 import com.appsmith.external.models.DatasourceTestResult;
 import com.appsmith.external.models.Endpoint;
+import com.appsmith.external.models.RowsChunk;
 import com.appsmith.external.models.SSLDetails;
 import com.appsmith.external.pluginExceptions.AppsmithPluginError;
 import com.appsmith.external.pluginExceptions.AppsmithPluginException;
 import com.appsmith.external.pluginExceptions.StaleConnectionException;
 import com.appsmith.external.plugins.BasePlugin;
 import com.appsmith.external.plugins.PluginExecutor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.ObjectUtils;
@@ -21,24 +31,21 @@ import org.pf4j.PluginWrapper;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,12 +56,26 @@ public class PostgresPlugin extends BasePlugin {
 
     static final String JDBC_DRIVER = "org.postgresql.Driver";
 
-    private static final String USER = "user";
-    private static final String PASSWORD = "password";
     private static final String SSL = "ssl";
-    private static final int VALIDITY_CHECK_TIMEOUT = 5;
 
-    private static final String DATE_COLUMN_TYPE_NAME = "date";
+    // Number of rows in each chunk of a streamed result, which is also the number of rows fetched from the database at a
+    // time.
+    private static final int STREAMING_CHUNK_SIZE = 500;
+
+    // Limits on the rows and bytes read into the result of a query. Can be changed with the `APPSMITH_POSTGRES_MAX_ROWS` and
+    // `APPSMITH_POSTGRES_MAX_RESULT_BYTES` environment variables, and lowered for each datasource with its properties.
+    private static final ResultLimits RESULT_LIMITS = ResultLimits.forPlugin("APPSMITH_POSTGRES");
+
+    // Decoders for the columns of query results, keyed by the type names reported by the driver. Dates and times are
+    // converted to ISO formatted strings. Columns of other types are read as they are.
+    static final Map<String, ColumnDecoder> COLUMN_DECODERS = Map.of(
+            "date", ColumnDecoder.ISO_DATE,
+            "timestamp", ColumnDecoder.ISO_TIMESTAMP,
+            "timestamptz", ColumnDecoder.ISO_OFFSET_TIMESTAMP,
+            "time", ColumnDecoder.STRING,
+            "timetz", ColumnDecoder.STRING,
+            "interval", ColumnDecoder.OBJECT_TO_STRING
+    );
 
     public PostgresPlugin(PluginWrapper wrapper) {
         super(wrapper);
@@ -66,7 +87,7 @@ public class PostgresPlugin extends BasePlugin {
 
     @Slf4j
     @Extension
-    public static class PostgresPluginExecutor implements PluginExecutor<Connection> {
+    public static class PostgresPluginExecutor implements PluginExecutor<HikariDataSource> {
 
         private static final String TABLES_QUERY =
                 "select a.attname                                                      as name,\n" +
@@ -111,19 +132,13 @@ public class PostgresPlugin extends BasePlugin {
                 "order by self_schema, self_table;";
 
         @Override
-        public Mono<ActionExecutionResult> execute(Connection connection,
+        public Mono<ActionExecutionResult> execute(HikariDataSource connectionPool,
                                                    DatasourceConfiguration datasourceConfiguration,
                                                    ActionConfiguration actionConfiguration) {
 
-            try {
-                if (connection == null || connection.isClosed() || !connection.isValid(VALIDITY_CHECK_TIMEOUT)) {
-                    log.info("Encountered stale connection in Postgres plugin. Reporting back.");
-                    throw new StaleConnectionException();
-                }
-            } catch (SQLException error) {
-                // This exception is thrown only when the timeout to `isValid` is negative. Since, that's not the case,
-                // here, this should never happen.
-                log.error("Error checking validity of Postgres connection.", error);
+            if (connectionPool == null || connectionPool.isClosed()) {
+                log.info("Encountered closed connection pool in Postgres plugin. Reporting back.");
+                throw new StaleConnectionException();
             }
 
             String query = actionConfiguration.getBody();
@@ -133,57 +148,37 @@ public class PostgresPlugin extends BasePlugin {
             }
 
             List<Map<String, Object>> rowsList = new ArrayList<>(50);
+            final ResultLimits resultLimits = RESULT_LIMITS.forDatasource(datasourceConfiguration);
+            final ResultLimits.Tracker resultTracker = resultLimits.newTracker();
 
+            Connection connection = null;
             Statement statement = null;
             ResultSet resultSet = null;
             try {
-                statement = connection.createStatement();
-                boolean isResultSet = statement.execute(query);
+                // Connections are validated by the pool when they are borrowed, if they have been idle for a while.
+                connection = connectionPool.getConnection();
+                final List<String> bodyParameters = actionConfiguration.getBodyParameters();
+                statement = bodyParameters == null
+                        ? connection.createStatement()
+                        : bindParameters(connection.prepareStatement(query), bodyParameters);
+                // One row more than the limit is read, so that we can tell whether the result was cut short.
+                statement.setMaxRows(resultLimits.getMaxRows() + 1);
+                statement.setFetchSize(Math.min(resultLimits.getMaxRows() + 1, STREAMING_CHUNK_SIZE));
+                boolean isResultSet = bodyParameters == null
+                        ? statement.execute(query)
+                        : ((PreparedStatement) statement).execute();
 
                 if (isResultSet) {
                     resultSet = statement.getResultSet();
-                    ResultSetMetaData metaData = resultSet.getMetaData();
-                    int colCount = metaData.getColumnCount();
+                    // Column names and decoders are resolved once for the whole result, rather than for every cell.
+                    final JdbcRowMapper rowMapper = JdbcRowMapper.of(resultSet.getMetaData(), false, COLUMN_DECODERS);
 
                     while (resultSet.next()) {
-                        // Use `LinkedHashMap` here so that the column ordering is preserved in the response.
-                        Map<String, Object> row = new LinkedHashMap<>(colCount);
-
-                        for (int i = 1; i <= colCount; i++) {
-                            Object value;
-                            final String typeName = metaData.getColumnTypeName(i);
-
-                            if (resultSet.getObject(i) == null) {
-                                value = null;
-
-                            } else if (DATE_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-                                value = DateTimeFormatter.ISO_DATE.format(resultSet.getDate(i).toLocalDate());
-
-                            } else if ("timestamp".equalsIgnoreCase(typeName)) {
-                                value = DateTimeFormatter.ISO_DATE_TIME.format(
-                                        LocalDateTime.of(
-                                                resultSet.getDate(i).toLocalDate(),
-                                                resultSet.getTime(i).toLocalTime()
-                                        )
-                                ) + "Z";
-
-                            } else if ("timestamptz".equalsIgnoreCase(typeName)) {
-                                value = DateTimeFormatter.ISO_DATE_TIME.format(
-                                        resultSet.getObject(i, OffsetDateTime.class)
-                                );
+                        // The row is a `LinkedHashMap`, so that the column ordering is preserved in the response.
+                        Map<String, Object> row = rowMapper.readRow(resultSet);
 
-                            } else if ("time".equalsIgnoreCase(typeName) || "timetz".equalsIgnoreCase(typeName)) {
-                                value = resultSet.getString(i);
-
-                            } else if ("interval".equalsIgnoreCase(typeName)) {
-                                value = resultSet.getObject(i).toString();
-
-                            } else {
-                                value = resultSet.getObject(i);
-
-                            }
-
-                            row.put(metaData.getColumnName(i), value);
+                        if (!resultTracker.add(row)) {
+                            break;
                         }
 
                         rowsList.add(row);
@@ -217,17 +212,85 @@ public class PostgresPlugin extends BasePlugin {
                     }
                 }
 
+                if (connection != null) {
+                    try {
+                        // Return the connection to the pool.
+                        connection.close();
+                    } catch (SQLException e) {
+                        log.warn("Error returning Postgres connection to pool", e);
+                    }
+                }
+
             }
 
             ActionExecutionResult result = new ActionExecutionResult();
             result.setBody(objectMapper.valueToTree(rowsList));
             result.setIsExecutionSuccess(true);
+            result.setIsTruncated(resultTracker.isTruncated());
             log.debug("In the PostgresPlugin, got action execution result: " + result.toString());
             return Mono.just(result);
         }
 
         @Override
-        public Mono<Connection> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
+        public boolean isPreparedStatementSupported() {
+            return true;
+        }
+
+        @Override
+        public boolean isReadOnly(ActionConfiguration actionConfiguration) {
+            return SqlUtils.isReadOnlyQuery(actionConfiguration.getBody());
+        }
+
+        /**
+         * Binds the values of the bindings in the body to the placeholders of the prepared statement. Values are sent
+         * without a type, so that Postgres infers it from where they're used in the query, like it would for literals.
+         */
+        private static PreparedStatement bindParameters(PreparedStatement statement, List<String> values) throws SQLException {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i), Types.OTHER);
+            }
+            return statement;
+        }
+
+        @Override
+        public boolean isStreamingSupported() {
+            return true;
+        }
+
+        @Override
+        public Flux<RowsChunk> executeStreaming(HikariDataSource connectionPool,
+                                                DatasourceConfiguration datasourceConfiguration,
+                                                ActionConfiguration actionConfiguration) {
+
+            if (connectionPool == null || connectionPool.isClosed()) {
+                log.info("Encountered closed connection pool in Postgres plugin. Reporting back.");
+                throw new StaleConnectionException();
+            }
+
+            String query = actionConfiguration.getBody();
+
+            if (query == null) {
+                return Flux.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "Missing required parameter: Query."));
+            }
+
+            return JdbcRowStreamer.stream(
+                    connectionPool,
+                    query,
+                    STREAMING_CHUNK_SIZE,
+                    connection -> {
+                        final Statement statement = actionConfiguration.getBodyParameters() == null
+                                ? connection.createStatement()
+                                : bindParameters(connection.prepareStatement(query), actionConfiguration.getBodyParameters());
+                        statement.setFetchSize(STREAMING_CHUNK_SIZE);
+                        return statement;
+                    },
+                    RESULT_LIMITS.forDatasource(datasourceConfiguration),
+                    COLUMN_DECODERS
+            );
+        }
+
+        @Override
+        public Mono<HikariDataSource> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
             try {
                 Class.forName(JDBC_DRIVER);
             } catch (ClassNotFoundException e) {
@@ -243,14 +306,23 @@ public class PostgresPlugin extends BasePlugin {
                     && configurationConnection.getSsl() != null
                     && !SSLDetails.AuthType.NO_SSL.equals(configurationConnection.getSsl().getAuthType());
 
-            Properties properties = new Properties();
-            properties.put(SSL, isSslEnabled);
+            final PoolSettings poolSettings = PoolSettings.forDatasource(datasourceConfiguration);
+            final Set<String> invalidPoolSettings = poolSettings.validate();
+            if (!invalidPoolSettings.isEmpty()) {
+                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, String.join(" ", invalidPoolSettings)));
+            }
+
+            HikariConfig config = new HikariConfig();
+            config.setDriverClassName(JDBC_DRIVER);
+            config.addDataSourceProperty(SSL, isSslEnabled);
             if (authentication.getUsername() != null) {
-                properties.put(USER, authentication.getUsername());
+                config.setUsername(authentication.getUsername());
             }
             if (authentication.getPassword() != null) {
-                properties.put(PASSWORD, authentication.getPassword());
+                config.setPassword(authentication.getPassword());
             }
+            config.setReadOnly(configurationConnection != null && READ_ONLY.equals(configurationConnection.getMode()));
+            configurePool(config, poolSettings);
 
             if (CollectionUtils.isEmpty(datasourceConfiguration.getEndpoints())) {
                 url = datasourceConfiguration.getUrl();
@@ -272,26 +344,38 @@ public class PostgresPlugin extends BasePlugin {
 
             }
 
+            config.setJdbcUrl(url);
+
             try {
-                Connection connection = DriverManager.getConnection(url, properties);
-                connection.setReadOnly(
-                        configurationConnection != null && READ_ONLY.equals(configurationConnection.getMode()));
-                return Mono.just(connection);
+                // Creating the pool opens the first connection, so invalid credentials or hosts fail right here.
+                return Mono.just(new HikariDataSource(config));
 
-            } catch (SQLException e) {
+            } catch (HikariPool.PoolInitializationException e) {
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "Error connecting to Postgres.", e));
 
             }
         }
 
+        /**
+         * Applies pool sizing, idle eviction and leak detection settings to the given pool configuration.
+         */
+        private static void configurePool(HikariConfig config, PoolSettings poolSettings) {
+            config.setPoolName("PostgresPool");
+            config.setMinimumIdle(poolSettings.getMinPoolSize());
+            config.setMaximumPoolSize(poolSettings.getMaxPoolSize());
+            config.setIdleTimeout(poolSettings.getIdleTimeoutMs());
+            config.setLeakDetectionThreshold(poolSettings.getLeakDetectionThresholdMs());
+            config.setConnectionTimeout(poolSettings.getBorrowTimeoutMs());
+
+            // Prepared statements are cached by the driver on each connection, so repeated executions of a query reuse
+            // the statement, and the plan the database made for it.
+            config.addDataSourceProperty("preparedStatementCacheQueries", poolSettings.getStatementCacheSize());
+        }
+
         @Override
-        public void datasourceDestroy(Connection connection) {
-            try {
-                if (connection != null) {
-                    connection.close();
-                }
-            } catch (SQLException e) {
-                log.error("Error closing Postgres Connection.", e);
+        public void datasourceDestroy(HikariDataSource connectionPool) {
+            if (connectionPool != null) {
+                connectionPool.close();
             }
         }
 
@@ -326,37 +410,26 @@ public class PostgresPlugin extends BasePlugin {
 
             }
 
+            invalids.addAll(PoolSettings.forDatasource(datasourceConfiguration).validate());
+
             return invalids;
         }
 
         @Override
         public Mono<DatasourceTestResult> testDatasource(DatasourceConfiguration datasourceConfiguration) {
             return datasourceCreate(datasourceConfiguration)
-                    .map(connection -> {
-                        try {
-                            if (connection != null) {
-                                connection.close();
-                            }
-                        } catch (SQLException e) {
-                            log.warn("Error closing Postgres connection that was made for testing.", e);
-                        }
-
+                    .map(connectionPool -> {
+                        datasourceDestroy(connectionPool);
                         return new DatasourceTestResult();
                     })
                     .onErrorResume(error -> Mono.just(new DatasourceTestResult(error.getMessage())));
         }
 
         @Override
-        public Mono<DatasourceStructure> getStructure(Connection connection, DatasourceConfiguration datasourceConfiguration) {
-            try {
-                if (connection == null || connection.isClosed() || !connection.isValid(VALIDITY_CHECK_TIMEOUT)) {
-                    log.info("Encountered stale connection in Postgres plugin. Reporting back.");
-                    throw new StaleConnectionException();
-                }
-            } catch (SQLException error) {
-                // This exception is thrown only when the timeout to `isValid` is negative. Since, that's not the case,
-                // here, this should never happen.
-                log.error("Error checking validity of Postgres connection.", error);
+        public Mono<DatasourceStructure> getStructure(HikariDataSource connectionPool, DatasourceConfiguration datasourceConfiguration) {
+            if (connectionPool == null || connectionPool.isClosed()) {
+                log.info("Encountered closed connection pool in Postgres plugin. Reporting back.");
+                throw new StaleConnectionException();
             }
 
             final DatasourceStructure structure = new DatasourceStructure();
@@ -364,7 +437,8 @@ public class PostgresPlugin extends BasePlugin {
 
             // Ref: <https://docs.oracle.com/en/java/javase/11/docs/api/java.sql/java/sql/DatabaseMetaData.html>.
 
-            try (Statement statement = connection.createStatement()) {
+            try (Connection connection = connectionPool.getConnection();
+                 Statement statement = connection.createStatement()) {
 
                 // Get tables and fill up their columns.
                 try (ResultSet columnsResultSet = statement.executeQuery(TABLES_QUERY)) {
@@ -6,16 +6,22 @@ import com.appsmith.external.models.AuthenticationDTO;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.DatasourceStructure;
 import com.appsmith.external.models.Endpoint;
+import com.appsmith.external.models.Property;
+import com.appsmith.external.models.RowsChunk;
+import com.appsmith.external.pluginExceptions.AppsmithPluginException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.sql.Connection;
@@ -30,6 +36,7 @@ import java.util.Properties;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -152,17 +159,60 @@ public class PostgresPluginTest {
 
         DatasourceConfiguration dsConfig = createDatasourceConfiguration();
 
-        Mono<Connection> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         StepVerifier.create(dsConnectionMono)
                 .assertNext(Assert::assertNotNull)
                 .verifyComplete();
     }
 
+    @Test
+    public void testConcurrentExecutionsShareConnectionPool() {
+        DatasourceConfiguration dsConfig = createDatasourceConfiguration();
+        dsConfig.setProperties(List.of(new Property("maxPoolSize", "2")));
+
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("SELECT id FROM users WHERE id = 1");
+
+        // More executions than there are connections in the pool, so some of them have to wait for a connection.
+        Mono<List<ActionExecutionResult>> executeMono = pluginExecutor.datasourceCreate(dsConfig)
+                .flatMap(connectionPool -> Flux.range(0, 6)
+                        .parallel()
+                        .runOn(Schedulers.elastic())
+                        .flatMap(i -> pluginExecutor.execute(connectionPool, dsConfig, actionConfiguration))
+                        .sequential()
+                        .collectList()
+                        .doOnNext(results -> {
+                            assertEquals(2, connectionPool.getMaximumPoolSize());
+                            pluginExecutor.datasourceDestroy(connectionPool);
+                        })
+                );
+
+        StepVerifier.create(executeMono)
+                .assertNext(results -> {
+                    assertEquals(6, results.size());
+                    results.forEach(result -> assertTrue(result.getIsExecutionSuccess()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testInvalidPoolSizes() {
+        DatasourceConfiguration dsConfig = createDatasourceConfiguration();
+        dsConfig.setProperties(List.of(new Property("minPoolSize", "5"), new Property("maxPoolSize", "2")));
+
+        assertTrue(pluginExecutor.validateDatasource(dsConfig)
+                .contains("Minimum pool size must not be more than the maximum pool size."));
+
+        StepVerifier.create(pluginExecutor.datasourceCreate(dsConfig))
+                .expectError(AppsmithPluginException.class)
+                .verify();
+    }
+
     @Test
     public void testAliasColumnNames() {
         DatasourceConfiguration dsConfig = createDatasourceConfiguration();
-        Mono<Connection> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         ActionConfiguration actionConfiguration = new ActionConfiguration();
         actionConfiguration.setBody("SELECT id as user_id FROM users WHERE id = 1");
@@ -189,7 +239,7 @@ public class PostgresPluginTest {
     @Test
     public void testExecute() {
         DatasourceConfiguration dsConfig = createDatasourceConfiguration();
-        Mono<Connection> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
 
         ActionConfiguration actionConfiguration = new ActionConfiguration();
         actionConfiguration.setBody("SELECT * FROM users WHERE id = 1");
@@ -236,6 +286,124 @@ public class PostgresPluginTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void testExecuteWithRowLimit() {
+        DatasourceConfiguration dsConfig = createDatasourceConfiguration();
+        dsConfig.setProperties(List.of(new Property("maxRows", "1")));
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("SELECT id FROM users ORDER BY id");
+
+        StepVerifier.create(dsConnectionMono.flatMap(conn -> pluginExecutor.execute(conn, dsConfig, actionConfiguration)))
+                .assertNext(result -> {
+                    assertTrue(result.getIsExecutionSuccess());
+                    assertTrue(result.getIsTruncated());
+                    assertEquals(1, ((ArrayNode) result.getBody()).size());
+                    assertEquals(1, ((ArrayNode) result.getBody()).get(0).get("id").asInt());
+                })
+                .verifyComplete();
+
+        actionConfiguration.setBody("SELECT id FROM users WHERE id = 2");
+
+        StepVerifier.create(dsConnectionMono.flatMap(conn -> pluginExecutor.execute(conn, dsConfig, actionConfiguration)))
+                .assertNext(result -> {
+                    assertTrue(result.getIsExecutionSuccess());
+                    assertFalse(result.getIsTruncated());
+                    assertEquals(1, ((ArrayNode) result.getBody()).size());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExecutePreparedStatement() {
+        DatasourceConfiguration dsConfig = createDatasourceConfiguration();
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+
+        // The values are sent untyped, so they can be compared with columns of any type.
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("SELECT id, username FROM users WHERE id = ? AND username = ?");
+        actionConfiguration.setBodyParameters(List.of("2", "Jill"));
+
+        StepVerifier.create(dsConnectionMono.flatMap(conn -> pluginExecutor.execute(conn, dsConfig, actionConfiguration)))
+                .assertNext(result -> {
+                    assertTrue(result.getIsExecutionSuccess());
+                    final ArrayNode body = (ArrayNode) result.getBody();
+                    assertEquals(1, body.size());
+                    assertEquals("Jill", body.get(0).get("username").asText());
+                })
+                .verifyComplete();
+
+        // Quotes in the values can't break out of the query.
+        actionConfiguration.setBodyParameters(List.of("2", "Jill' OR '1' = '1"));
+
+        StepVerifier.create(dsConnectionMono.flatMap(conn -> pluginExecutor.execute(conn, dsConfig, actionConfiguration)))
+                .assertNext(result -> {
+                    assertTrue(result.getIsExecutionSuccess());
+                    assertEquals(0, ((ArrayNode) result.getBody()).size());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExecuteStreaming() {
+        DatasourceConfiguration dsConfig = createDatasourceConfiguration();
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("SELECT id, username FROM users ORDER BY id");
+
+        Flux<RowsChunk> chunksFlux = dsConnectionMono
+                .flatMapMany(conn -> pluginExecutor.executeStreaming(conn, dsConfig, actionConfiguration));
+
+        StepVerifier.create(chunksFlux)
+                .assertNext(chunk -> {
+                    assertEquals(List.of("id", "username"), chunk.getColumns());
+                    assertEquals(2, chunk.getRows().size());
+                    assertArrayEquals(new Object[]{1, "Jack"}, chunk.getRows().get(0));
+                    assertArrayEquals(new Object[]{2, "Jill"}, chunk.getRows().get(1));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExecuteStreamingWithRowLimit() {
+        DatasourceConfiguration dsConfig = createDatasourceConfiguration();
+        dsConfig.setProperties(List.of(new Property("maxRows", "1")));
+        Mono<HikariDataSource> dsConnectionMono = pluginExecutor.datasourceCreate(dsConfig);
+
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("SELECT id, username FROM users ORDER BY id");
+
+        Flux<RowsChunk> chunksFlux = dsConnectionMono
+                .flatMapMany(conn -> pluginExecutor.executeStreaming(conn, dsConfig, actionConfiguration));
+
+        StepVerifier.create(chunksFlux)
+                .assertNext(chunk -> {
+                    assertEquals(1, chunk.getRows().size());
+                    assertArrayEquals(new Object[]{1, "Jack"}, chunk.getRows().get(0));
+                    assertTrue(chunk.getIsTruncated());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testIsReadOnly() {
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+
+        actionConfiguration.setBody("-- Latest users\nSELECT * FROM users ORDER BY id DESC LIMIT 10;");
+        assertTrue(pluginExecutor.isReadOnly(actionConfiguration));
+
+        actionConfiguration.setBody("SELECT * FROM users; DELETE FROM users");
+        assertFalse(pluginExecutor.isReadOnly(actionConfiguration));
+
+        actionConfiguration.setBody("SELECT * INTO users_copy FROM users");
+        assertFalse(pluginExecutor.isReadOnly(actionConfiguration));
+
+        actionConfiguration.setBody("UPDATE users SET username = 'a' WHERE id = 1");
+        assertFalse(pluginExecutor.isReadOnly(actionConfiguration));
+    }
+
     @Test
     public void testStructure() {
         DatasourceConfiguration dsConfig = createDatasourceConfiguration();
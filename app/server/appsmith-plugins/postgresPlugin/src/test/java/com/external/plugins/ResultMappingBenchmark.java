@@ -0,0 +1,193 @@
+package com.external.plugins;
+
+import com.appsmith.external.helpers.JdbcRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of mapping query results to rows, over an in-memory result set, for a wide result (many
+ * columns, few rows) and a tall one (few columns, many rows). `perCellLookup` is the mapping as it was done before
+ * column decoders were resolved once per query, for comparison.
+ * <p>
+ * Run with `mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.external.plugins.ResultMappingBenchmark`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultMappingBenchmark {
+
+    // Column types cycled through across the columns of the result.
+    private static final String[] COLUMN_TYPES = {"int4", "text", "timestamp", "date", "timestamptz", "interval"};
+
+    @Param({"wide", "tall"})
+    public String shape;
+
+    private ResultSet resultSet;
+
+    private int[] position;
+
+    private int rowCount;
+
+    @Setup
+    public void setUp() {
+        final int columnCount = "wide".equals(shape) ? 100 : 6;
+        rowCount = "wide".equals(shape) ? 100 : 10000;
+        position = new int[]{0};
+        resultSet = fakeResultSet(columnCount, rowCount, position);
+    }
+
+    @Benchmark
+    public void precomputedDecoders(Blackhole blackhole) throws SQLException {
+        position[0] = 0;
+        final JdbcRowMapper rowMapper = JdbcRowMapper.of(resultSet.getMetaData(), false, PostgresPlugin.COLUMN_DECODERS);
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.readRow(resultSet));
+        }
+    }
+
+    @Benchmark
+    public void perCellLookup(Blackhole blackhole) throws SQLException {
+        position[0] = 0;
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final int colCount = metaData.getColumnCount();
+        while (resultSet.next()) {
+            Map<String, Object> row = new LinkedHashMap<>(colCount);
+            for (int i = 1; i <= colCount; i++) {
+                row.put(metaData.getColumnName(i), readColumnValue(resultSet, metaData, i));
+            }
+            blackhole.consume(row);
+        }
+    }
+
+    private static Object readColumnValue(ResultSet resultSet, ResultSetMetaData metaData, int i) throws SQLException {
+        final String typeName = metaData.getColumnTypeName(i);
+
+        if (resultSet.getObject(i) == null) {
+            return null;
+        } else if ("date".equalsIgnoreCase(typeName)) {
+            return DateTimeFormatter.ISO_DATE.format(resultSet.getDate(i).toLocalDate());
+        } else if ("timestamp".equalsIgnoreCase(typeName)) {
+            return DateTimeFormatter.ISO_DATE_TIME.format(
+                    LocalDateTime.of(resultSet.getDate(i).toLocalDate(), resultSet.getTime(i).toLocalTime())
+            ) + "Z";
+        } else if ("timestamptz".equalsIgnoreCase(typeName)) {
+            return DateTimeFormatter.ISO_DATE_TIME.format(resultSet.getObject(i, OffsetDateTime.class));
+        } else if ("time".equalsIgnoreCase(typeName) || "timetz".equalsIgnoreCase(typeName)) {
+            return resultSet.getString(i);
+        } else if ("interval".equalsIgnoreCase(typeName)) {
+            return resultSet.getObject(i).toString();
+        }
+        return resultSet.getObject(i);
+    }
+
+    /**
+     * A result set that serves the same values on every row, so that the benchmark measures the mapping rather than
+     * the driver. `position` holds the index of the current row, so that the benchmark can rewind it.
+     */
+    private static ResultSet fakeResultSet(int columnCount, int rowCount, int[] position) {
+        final LocalDateTime timestamp = LocalDateTime.of(2019, 7, 1, 10, 0, 0);
+        final Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            switch (COLUMN_TYPES[i % COLUMN_TYPES.length]) {
+                case "int4":
+                    values[i] = i;
+                    break;
+                case "text":
+                    values[i] = "value " + i;
+                    break;
+                case "timestamp":
+                    values[i] = Timestamp.valueOf(timestamp);
+                    break;
+                case "date":
+                    values[i] = Date.valueOf(timestamp.toLocalDate());
+                    break;
+                case "timestamptz":
+                    values[i] = OffsetDateTime.of(timestamp, ZoneOffset.ofHours(2));
+                    break;
+                default:
+                    values[i] = "1 years 0 mons 0 days 0 hours 0 mins 0.0 secs";
+            }
+        }
+
+        final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(),
+                new Class[]{ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return columnCount;
+                        case "getColumnName":
+                        case "getColumnLabel":
+                            return "column" + args[0];
+                        case "getColumnTypeName":
+                            return COLUMN_TYPES[((int) args[0] - 1) % COLUMN_TYPES.length];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+        );
+
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++position[0] <= rowCount;
+                        case "getMetaData":
+                            return metaData;
+                        case "getObject":
+                        case "getString":
+                            return values[(int) args[0] - 1];
+                        case "getDate":
+                            final Object value = values[(int) args[0] - 1];
+                            return value instanceof Timestamp
+                                    ? Date.valueOf(((Timestamp) value).toLocalDateTime().toLocalDate())
+                                    : value;
+                        case "getTime":
+                            return Time.valueOf(((Timestamp) values[(int) args[0] - 1]).toLocalDateTime().toLocalTime());
+                        case "getTimestamp":
+                            return values[(int) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+        );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResultMappingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
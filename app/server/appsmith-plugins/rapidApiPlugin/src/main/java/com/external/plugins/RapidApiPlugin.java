@@ -1,5 +1,6 @@
 package com.external.plugins;
 
+import com.appsmith.external.helpers.PoolSettings;
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionResult;
 import com.appsmith.external.models.DatasourceConfiguration;
@@ -19,6 +20,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
@@ -26,12 +28,15 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -45,10 +50,49 @@ public class RapidApiPlugin extends BasePlugin {
 
     private static final String JSON_TYPE = "apipayload";
 
+    // Connections are pooled per remote host, and shared across all RapidAPI actions, so that keep-alive connections
+    // and TLS sessions are reused for repeated calls to the same API.
+    // The limits can be changed with the `APPSMITH_RAPID_API_MAX_POOL_SIZE`, `APPSMITH_RAPID_API_BORROW_TIMEOUT_MS` and
+    // `APPSMITH_RAPID_API_IDLE_TIMEOUT_MS` environment variables.
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 50;
+    private static final long DEFAULT_PENDING_ACQUIRE_TIMEOUT_MS = 10 * 1000;
+    private static final long DEFAULT_MAX_IDLE_TIME_MS = 60 * 1000;
+
+    // The started plugin, whose client the executors send their requests with.
+    private static volatile RapidApiPlugin startedPlugin;
+
+    private ConnectionProvider connectionProvider;
+
+    // A single client for all requests. Headers are set on each request, instead of being baked into the client.
+    private WebClient webClient;
+
     public RapidApiPlugin(PluginWrapper wrapper) {
         super(wrapper);
     }
 
+    @Override
+    public void start() {
+        super.start();
+        final PoolSettings poolSettings = PoolSettings.forPlugin("APPSMITH_RAPID_API", DEFAULT_MAX_CONNECTIONS_PER_HOST,
+                DEFAULT_MAX_IDLE_TIME_MS, DEFAULT_PENDING_ACQUIRE_TIMEOUT_MS);
+        connectionProvider = ConnectionProvider.fixed("rapid-api-plugin", poolSettings.getMaxPoolSize(),
+                poolSettings.getBorrowTimeoutMs(), Duration.ofMillis(poolSettings.getIdleTimeoutMs()));
+        webClient = WebClient
+                .builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        startedPlugin = this;
+    }
+
+    @Override
+    public void stop() {
+        if (startedPlugin == this) {
+            startedPlugin = null;
+        }
+        connectionProvider.dispose();
+        super.stop();
+    }
+
     @Slf4j
     @Extension
     public static class RapidApiPluginExecutor implements PluginExecutor<Void> {
@@ -61,6 +105,11 @@ public class RapidApiPlugin extends BasePlugin {
                                                    DatasourceConfiguration datasourceConfiguration,
                                                    ActionConfiguration actionConfiguration) {
 
+            final RapidApiPlugin plugin = startedPlugin;
+            if (plugin == null) {
+                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "RapidAPI plugin is not started."));
+            }
+
             if (StringUtils.isEmpty(RAPID_API_KEY_VALUE)) {
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "RapidAPI Key value not set."));
             }
@@ -74,18 +123,18 @@ public class RapidApiPlugin extends BasePlugin {
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "HTTPMethod must be set."));
             }
 
-            WebClient.Builder webClientBuilder = WebClient.builder();
+            HttpHeaders requestHeaders = new HttpHeaders();
 
             if (datasourceConfiguration.getHeaders() != null) {
-                addHeadersToRequest(webClientBuilder, datasourceConfiguration.getHeaders());
+                addHeadersToRequest(requestHeaders, datasourceConfiguration.getHeaders());
             }
 
             if (actionConfiguration.getHeaders() != null) {
-                addHeadersToRequest(webClientBuilder, actionConfiguration.getHeaders());
+                addHeadersToRequest(requestHeaders, actionConfiguration.getHeaders());
             }
 
             // Add the rapid api headers
-            webClientBuilder.defaultHeader(RAPID_API_KEY_NAME, RAPID_API_KEY_VALUE);
+            requestHeaders.set(RAPID_API_KEY_NAME, RAPID_API_KEY_VALUE);
 
             //If route parameters exist, update the URL by replacing the key surrounded by '{' and '}'
             if (actionConfiguration.getRouteParameters() != null && !actionConfiguration.getRouteParameters().isEmpty()) {
@@ -114,7 +163,7 @@ public class RapidApiPlugin extends BasePlugin {
             // Build the body of the request in case of bodyFormData is not null
             if (actionConfiguration.getBodyFormData() != null) {
                 // First set the header to specify the content type
-                webClientBuilder.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON.toString());
+                requestHeaders.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON.toString());
 
                 Map<String, String> keyValueMap = new HashMap<>();
 
@@ -147,8 +196,7 @@ public class RapidApiPlugin extends BasePlugin {
 
             }
 
-            WebClient client = webClientBuilder.build();
-            return httpCall(client, httpMethod, uri, requestBody, 0)
+            return httpCall(plugin.webClient, httpMethod, uri, requestHeaders, requestBody, 0)
                     .flatMap(clientResponse -> clientResponse.toEntity(byte[].class))
                     .map(stringResponseEntity -> {
                         HttpHeaders headers = stringResponseEntity.getHeaders();
@@ -222,7 +270,8 @@ public class RapidApiPlugin extends BasePlugin {
                     });
         }
 
-        private Mono<ClientResponse> httpCall(WebClient webClient, HttpMethod httpMethod, URI uri, String requestBody, int iteration) {
+        private Mono<ClientResponse> httpCall(WebClient webClient, HttpMethod httpMethod, URI uri, HttpHeaders requestHeaders,
+                                              String requestBody, int iteration) {
             if (iteration == MAX_REDIRECTS) {
                 System.out.println("Exceeded the http redirect limits. Returning error");
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "Exceeded the HTTO redirect limits of " + MAX_REDIRECTS));
@@ -230,6 +279,7 @@ public class RapidApiPlugin extends BasePlugin {
             return webClient
                     .method(httpMethod)
                     .uri(uri)
+                    .headers(headers -> headers.addAll(requestHeaders))
                     .body(BodyInserters.fromObject(requestBody))
                     .exchange()
                     .doOnError(e -> Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e)))
@@ -250,7 +300,10 @@ public class RapidApiPlugin extends BasePlugin {
                             } catch (URISyntaxException e) {
                                 e.printStackTrace();
                             }
-                            return httpCall(webClient, httpMethod, redirectUri, requestBody, iteration + 1);
+                            // The body of the redirect is never read, so it's released to return the connection to the
+                            // pool before following the redirect.
+                            return response.releaseBody()
+                                    .then(httpCall(webClient, httpMethod, redirectUri, requestHeaders, requestBody, iteration + 1));
                         }
                         return Mono.just(response);
                     });
@@ -266,6 +319,17 @@ public class RapidApiPlugin extends BasePlugin {
 
         }
 
+        @Override
+        public boolean isBlocking() {
+            // All requests are made with the non-blocking `WebClient`.
+            return false;
+        }
+
+        @Override
+        public boolean isReadOnly(ActionConfiguration actionConfiguration) {
+            return HttpMethod.GET.equals(actionConfiguration.getHttpMethod());
+        }
+
         @Override
         public Set<String> validateDatasource(DatasourceConfiguration datasourceConfiguration) {
             // Since the datasource is created by rapid api & not by the user and it can't be edited.
@@ -280,10 +344,10 @@ public class RapidApiPlugin extends BasePlugin {
                     : Mono.just(new DatasourceTestResult());
         }
 
-        private void addHeadersToRequest(WebClient.Builder webClientBuilder, List<Property> headers) {
+        private void addHeadersToRequest(HttpHeaders requestHeaders, List<Property> headers) {
             for (Property header : headers) {
                 if (header.getKey() != null && !header.getKey().isEmpty()) {
-                    webClientBuilder.defaultHeader(header.getKey(), header.getValue());
+                    requestHeaders.set(header.getKey(), header.getValue());
                 }
             }
         }
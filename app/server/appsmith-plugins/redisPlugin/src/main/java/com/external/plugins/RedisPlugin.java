@@ -1,13 +1,16 @@
 package com.external.plugins;
 
+import com.appsmith.external.helpers.PoolSettings;
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionResult;
 import com.appsmith.external.models.AuthenticationDTO;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.DatasourceTestResult;
 import com.appsmith.external.models.Endpoint;
+import com.appsmith.external.models.Property;
 import com.appsmith.external.pluginExceptions.AppsmithPluginError;
 import com.appsmith.external.pluginExceptions.AppsmithPluginException;
+import com.appsmith.external.pluginExceptions.StaleConnectionException;
 import com.appsmith.external.plugins.BasePlugin;
 import com.appsmith.external.plugins.PluginExecutor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,10 +21,15 @@ import org.pf4j.util.StringUtils;
 import org.springframework.util.CollectionUtils;
 import reactor.core.publisher.Mono;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Protocol;
-import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.jedis.util.SafeEncoder;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -32,49 +40,106 @@ import java.util.stream.Collectors;
 public class RedisPlugin extends BasePlugin {
     private static final Integer DEFAULT_PORT = 6379;
 
+    // When this datasource property is `true`, each line of an action's body is a separate command, and the commands
+    // are sent in a single pipeline. Otherwise, the whole body is a single command, which may span several lines.
+    private static final String PIPELINE_COMMANDS_PROPERTY = "pipelineCommands";
+
     public RedisPlugin(PluginWrapper wrapper) {
         super(wrapper);
     }
 
     @Slf4j
     @Extension
-    public static class RedisPluginExecutor implements PluginExecutor<Jedis> {
+    public static class RedisPluginExecutor implements PluginExecutor<JedisPool> {
         @Override
-        public Mono<ActionExecutionResult> execute(Jedis jedis,
+        public Mono<ActionExecutionResult> execute(JedisPool jedisPool,
                                                    DatasourceConfiguration datasourceConfiguration,
                                                    ActionConfiguration actionConfiguration) {
+            if (jedisPool == null || jedisPool.isClosed()) {
+                log.info("Encountered closed connection pool in Redis plugin. Reporting back.");
+                throw new StaleConnectionException();
+            }
+
             String body = actionConfiguration.getBody();
             if (StringUtils.isNullOrEmpty(body)) {
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR,
                         String.format("Body is null or empty [%s]", body)));
             }
 
-            // First value will be the redis command and others are arguments for that command
-            String[] bodySplitted = body.trim().split("\\s+");
+            final boolean isPipelined = isPipelined(datasourceConfiguration.getProperties());
 
-            Protocol.Command command;
-            try {
-                // Commands are in upper case
-                command = Protocol.Command.valueOf(bodySplitted[0].toUpperCase());
-            } catch (IllegalArgumentException exc) {
-                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR,
-                        String.format("Not a valid Redis command:%s", bodySplitted[0])));
+            // The first value of a command is the redis command and others are arguments for that command.
+            List<String[]> commandLines;
+            if (isPipelined) {
+                // Each non-empty line of the body is a command.
+                commandLines = Arrays.stream(body.split("\\R"))
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty())
+                        .map(line -> line.split("\\s+"))
+                        .collect(Collectors.toList());
+            } else {
+                commandLines = List.<String[]>of(body.trim().split("\\s+"));
             }
 
-            Object commandOutput;
-            if (bodySplitted.length > 1) {
-                commandOutput = jedis.sendCommand(command, Arrays.copyOfRange(bodySplitted, 1, bodySplitted.length));
-            } else {
-                commandOutput = jedis.sendCommand(command);
+            List<Protocol.Command> commands = new ArrayList<>(commandLines.size());
+            for (String[] commandLine : commandLines) {
+                try {
+                    // Commands are in upper case
+                    commands.add(Protocol.Command.valueOf(commandLine[0].toUpperCase()));
+                } catch (IllegalArgumentException exc) {
+                    return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR,
+                            String.format("Not a valid Redis command:%s", commandLine[0])));
+                }
+            }
+
+            Object result;
+            // Connections borrowed from the pool are returned to it on close, or discarded if they broke while in use.
+            try (Jedis jedis = jedisPool.getResource()) {
+                if (isPipelined) {
+                    result = executePipelined(jedis, commands, commandLines);
+                } else {
+                    result = processCommandOutput(sendCommand(jedis, commands.get(0), commandLines.get(0)));
+                }
+            } catch (JedisException exc) {
+                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, exc.getMessage()));
             }
 
             ActionExecutionResult actionExecutionResult = new ActionExecutionResult();
-            actionExecutionResult.setBody(objectMapper.valueToTree(processCommandOutput(commandOutput)));
+            actionExecutionResult.setBody(objectMapper.valueToTree(result));
             actionExecutionResult.setIsExecutionSuccess(true);
 
             return Mono.just(actionExecutionResult);
         }
 
+        private static Object sendCommand(Jedis jedis, Protocol.Command command, String[] commandLine) {
+            if (commandLine.length > 1) {
+                return jedis.sendCommand(command, Arrays.copyOfRange(commandLine, 1, commandLine.length));
+            }
+            return jedis.sendCommand(command);
+        }
+
+        /**
+         * Sends all the commands to the server in one go, and then reads all their replies, instead of waiting for the
+         * reply to each command before sending the next one.
+         *
+         * @return The output of each command, in the order of the commands.
+         */
+        private List<List<Map<String, String>>> executePipelined(Jedis jedis,
+                                                                 List<Protocol.Command> commands,
+                                                                 List<String[]> commandLines) {
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<Object>> responses = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                String[] commandLine = commandLines.get(i);
+                responses.add(pipeline.sendCommand(commands.get(i), Arrays.copyOfRange(commandLine, 1, commandLine.length)));
+            }
+            pipeline.sync();
+
+            return responses.stream()
+                    .map(response -> processCommandOutput(response.get()))
+                    .collect(Collectors.toList());
+        }
+
         // This will be updated as we encounter different outputs.
         private List<Map<String, String>> processCommandOutput(Object commandOutput) {
             if (commandOutput == null) {
@@ -92,31 +157,68 @@ public class RedisPlugin extends BasePlugin {
         }
 
         @Override
-        public Mono<Jedis> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
+        public Mono<JedisPool> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
             if (datasourceConfiguration.getEndpoints().isEmpty()) {
                 return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "No endpoint(s) configured"));
             }
 
             Endpoint endpoint = datasourceConfiguration.getEndpoints().get(0);
             Integer port = (int) (long) ObjectUtils.defaultIfNull(endpoint.getPort(), DEFAULT_PORT);
-            Jedis jedis = new Jedis(endpoint.getHost(), port);
 
+            final PoolSettings poolSettings = PoolSettings.forDatasource(datasourceConfiguration);
+            final Set<String> invalidPoolSettings = poolSettings.validate();
+            if (!invalidPoolSettings.isEmpty()) {
+                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, String.join(" ", invalidPoolSettings)));
+            }
+            JedisPoolConfig poolConfig = buildPoolConfig(poolSettings);
+
+            JedisPool jedisPool;
             AuthenticationDTO auth = datasourceConfiguration.getAuthentication();
             if (auth != null && AuthenticationDTO.Type.USERNAME_PASSWORD.equals(auth.getAuthType())) {
-                jedis.auth(auth.getUsername(), auth.getPassword());
+                jedisPool = new JedisPool(poolConfig, endpoint.getHost(), port, Protocol.DEFAULT_TIMEOUT,
+                        auth.getUsername(), auth.getPassword());
+            } else {
+                jedisPool = new JedisPool(poolConfig, endpoint.getHost(), port, Protocol.DEFAULT_TIMEOUT);
             }
 
-            return Mono.just(jedis);
+            return Mono.just(jedisPool);
+        }
+
+        /**
+         * Builds the configuration of the connection pool from the datasource's pool settings.
+         */
+        private static JedisPoolConfig buildPoolConfig(PoolSettings poolSettings) {
+            JedisPoolConfig poolConfig = new JedisPoolConfig();
+            poolConfig.setMaxTotal(poolSettings.getMaxPoolSize());
+            poolConfig.setMaxIdle(poolSettings.getMaxPoolSize());
+            poolConfig.setMinIdle(poolSettings.getMinPoolSize());
+            poolConfig.setMaxWaitMillis(poolSettings.getBorrowTimeoutMs());
+            // Idle connections are checked and evicted in the background, so that a connection dropped by the server
+            // is not handed out to an action.
+            poolConfig.setTestWhileIdle(true);
+            poolConfig.setJmxEnabled(false);
+            return poolConfig;
+        }
+
+        private static boolean isPipelined(List<Property> properties) {
+            if (properties != null) {
+                for (Property property : properties) {
+                    if (PIPELINE_COMMANDS_PROPERTY.equals(property.getKey())) {
+                        return property.getValue() != null && Boolean.parseBoolean(property.getValue().trim());
+                    }
+                }
+            }
+            return false;
         }
 
         @Override
-        public void datasourceDestroy(Jedis jedis) {
+        public void datasourceDestroy(JedisPool jedisPool) {
             try {
-                if (jedis != null) {
-                    jedis.close();
+                if (jedisPool != null) {
+                    jedisPool.close();
                 }
-            } catch (JedisConnectionException exc) {
-                log.error("Error closing Redis connection");
+            } catch (JedisException exc) {
+                log.error("Error closing Redis connection pool");
             }
         }
 
@@ -144,6 +246,8 @@ public class RedisPlugin extends BasePlugin {
                 }
             }
 
+            invalids.addAll(PoolSettings.forDatasource(datasourceConfiguration).validate());
+
             return invalids;
         }
 
@@ -166,9 +270,12 @@ public class RedisPlugin extends BasePlugin {
         @Override
         public Mono<DatasourceTestResult> testDatasource(DatasourceConfiguration datasourceConfiguration) {
             return datasourceCreate(datasourceConfiguration)
-                    .map(jedis -> {
-                        verifyPing(jedis).block();
-                        datasourceDestroy(jedis);
+                    .map(jedisPool -> {
+                        try (Jedis jedis = jedisPool.getResource()) {
+                            verifyPing(jedis).block();
+                        } finally {
+                            datasourceDestroy(jedisPool);
+                        }
                         return new DatasourceTestResult();
                     })
                     .onErrorResume(error -> Mono.just(new DatasourceTestResult(error.getMessage())));
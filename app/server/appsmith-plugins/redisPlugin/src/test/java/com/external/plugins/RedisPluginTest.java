@@ -6,7 +6,9 @@ import com.appsmith.external.models.AuthenticationDTO;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.DatasourceTestResult;
 import com.appsmith.external.models.Endpoint;
+import com.appsmith.external.models.Property;
 import com.appsmith.external.pluginExceptions.AppsmithPluginException;
+import com.appsmith.external.pluginExceptions.StaleConnectionException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import lombok.extern.slf4j.Slf4j;
@@ -17,9 +19,10 @@ import org.junit.Test;
 import org.testcontainers.containers.GenericContainer;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 @Slf4j
@@ -52,13 +55,13 @@ public class RedisPluginTest {
     @Test
     public void itShouldCreateDatasource() {
         DatasourceConfiguration datasourceConfiguration = createDatasourceConfiguration();
-        Mono<Jedis> jedisMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
+        Mono<JedisPool> jedisPoolMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
 
-        StepVerifier.create(jedisMono)
+        StepVerifier.create(jedisPoolMono)
                 .assertNext(Assert::assertNotNull)
                 .verifyComplete();
 
-        pluginExecutor.datasourceDestroy(jedisMono.block());
+        pluginExecutor.datasourceDestroy(jedisPoolMono.block());
     }
 
     @Test
@@ -130,12 +133,12 @@ public class RedisPluginTest {
     @Test
     public void itShouldThrowErrorIfEmptyBody() {
         DatasourceConfiguration datasourceConfiguration = createDatasourceConfiguration();
-        Mono<Jedis> jedisMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
+        Mono<JedisPool> jedisPoolMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
 
         ActionConfiguration actionConfiguration = new ActionConfiguration();
 
-        Mono<ActionExecutionResult> actionExecutionResultMono = jedisMono
-                .flatMap(jedis -> pluginExecutor.execute(jedis, datasourceConfiguration, actionConfiguration));
+        Mono<ActionExecutionResult> actionExecutionResultMono = jedisPoolMono
+                .flatMap(jedisPool -> pluginExecutor.execute(jedisPool, datasourceConfiguration, actionConfiguration));
 
         StepVerifier.create(actionExecutionResultMono)
                 .expectError(AppsmithPluginException.class)
@@ -145,13 +148,13 @@ public class RedisPluginTest {
     @Test
     public void itShouldThrowErrorIfInvalidRedisCommand() {
         DatasourceConfiguration datasourceConfiguration = createDatasourceConfiguration();
-        Mono<Jedis> jedisMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
+        Mono<JedisPool> jedisPoolMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
 
         ActionConfiguration actionConfiguration = new ActionConfiguration();
         actionConfiguration.setBody("LOL");
 
-        Mono<ActionExecutionResult> actionExecutionResultMono = jedisMono
-                .flatMap(jedis -> pluginExecutor.execute(jedis, datasourceConfiguration, actionConfiguration));
+        Mono<ActionExecutionResult> actionExecutionResultMono = jedisPoolMono
+                .flatMap(jedisPool -> pluginExecutor.execute(jedisPool, datasourceConfiguration, actionConfiguration));
 
         StepVerifier.create(actionExecutionResultMono)
                 .expectError(AppsmithPluginException.class)
@@ -161,13 +164,13 @@ public class RedisPluginTest {
     @Test
     public void itShouldExecuteCommandWithoutArgs() {
         DatasourceConfiguration datasourceConfiguration = createDatasourceConfiguration();
-        Mono<Jedis> jedisMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
+        Mono<JedisPool> jedisPoolMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
 
         ActionConfiguration actionConfiguration = new ActionConfiguration();
         actionConfiguration.setBody("PING");
 
-        Mono<ActionExecutionResult> actionExecutionResultMono = jedisMono
-                .flatMap(jedis -> pluginExecutor.execute(jedis, datasourceConfiguration, actionConfiguration));
+        Mono<ActionExecutionResult> actionExecutionResultMono = jedisPoolMono
+                .flatMap(jedisPool -> pluginExecutor.execute(jedisPool, datasourceConfiguration, actionConfiguration));
 
         StepVerifier.create(actionExecutionResultMono)
                 .assertNext(actionExecutionResult -> {
@@ -181,13 +184,13 @@ public class RedisPluginTest {
     @Test
     public void itShouldExecuteCommandWithArgs() {
         DatasourceConfiguration datasourceConfiguration = createDatasourceConfiguration();
-        Mono<Jedis> jedisMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
+        Mono<JedisPool> jedisPoolMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
 
         // Getting a non-existent key
         ActionConfiguration getActionConfiguration = new ActionConfiguration();
         getActionConfiguration.setBody("GET key");
-        Mono<ActionExecutionResult> actionExecutionResultMono = jedisMono
-                .flatMap(jedis -> pluginExecutor.execute(jedis, datasourceConfiguration, getActionConfiguration));
+        Mono<ActionExecutionResult> actionExecutionResultMono = jedisPoolMono
+                .flatMap(jedisPool -> pluginExecutor.execute(jedisPool, datasourceConfiguration, getActionConfiguration));
         StepVerifier.create(actionExecutionResultMono)
                 .assertNext(actionExecutionResult -> {
                     Assert.assertNotNull(actionExecutionResult);
@@ -199,8 +202,8 @@ public class RedisPluginTest {
         // Setting a key
         ActionConfiguration setActionConfiguration = new ActionConfiguration();
         setActionConfiguration.setBody("SET key value");
-        actionExecutionResultMono = jedisMono
-                .flatMap(jedis -> pluginExecutor.execute(jedis, datasourceConfiguration, setActionConfiguration));
+        actionExecutionResultMono = jedisPoolMono
+                .flatMap(jedisPool -> pluginExecutor.execute(jedisPool, datasourceConfiguration, setActionConfiguration));
         StepVerifier.create(actionExecutionResultMono)
                 .assertNext(actionExecutionResult -> {
                     Assert.assertNotNull(actionExecutionResult);
@@ -210,8 +213,8 @@ public class RedisPluginTest {
                 }).verifyComplete();
 
         // Getting the key
-        actionExecutionResultMono = jedisMono
-                .flatMap(jedis -> pluginExecutor.execute(jedis, datasourceConfiguration, getActionConfiguration));
+        actionExecutionResultMono = jedisPoolMono
+                .flatMap(jedisPool -> pluginExecutor.execute(jedisPool, datasourceConfiguration, getActionConfiguration));
         StepVerifier.create(actionExecutionResultMono)
                 .assertNext(actionExecutionResult -> {
                     Assert.assertNotNull(actionExecutionResult);
@@ -220,4 +223,64 @@ public class RedisPluginTest {
                     Assert.assertEquals(node.get("result").asText(), "value");
                 }).verifyComplete();
     }
+
+    @Test
+    public void itShouldExecuteCommandSpanningLines() {
+        DatasourceConfiguration datasourceConfiguration = createDatasourceConfiguration();
+        Mono<JedisPool> jedisPoolMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
+
+        ActionConfiguration setActionConfiguration = new ActionConfiguration();
+        setActionConfiguration.setBody("SET multiLineKey\nmultiLineValue");
+
+        ActionConfiguration getActionConfiguration = new ActionConfiguration();
+        getActionConfiguration.setBody("GET multiLineKey");
+
+        Mono<ActionExecutionResult> actionExecutionResultMono = jedisPoolMono
+                .flatMap(jedisPool -> pluginExecutor.execute(jedisPool, datasourceConfiguration, setActionConfiguration)
+                        .then(pluginExecutor.execute(jedisPool, datasourceConfiguration, getActionConfiguration)));
+
+        StepVerifier.create(actionExecutionResultMono)
+                .assertNext(actionExecutionResult -> {
+                    Assert.assertNotNull(actionExecutionResult);
+                    final ArrayNode body = (ArrayNode) actionExecutionResult.getBody();
+                    Assert.assertEquals(1, body.size());
+                    Assert.assertEquals("multiLineValue", body.get(0).get("result").asText());
+                }).verifyComplete();
+    }
+
+    @Test
+    public void itShouldExecuteMultipleCommandsInPipeline() {
+        DatasourceConfiguration datasourceConfiguration = createDatasourceConfiguration();
+        datasourceConfiguration.setProperties(List.of(new Property("pipelineCommands", "true")));
+        Mono<JedisPool> jedisPoolMono = pluginExecutor.datasourceCreate(datasourceConfiguration);
+
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("SET pipelinedKey pipelinedValue\n\nGET pipelinedKey\nPING");
+
+        Mono<ActionExecutionResult> actionExecutionResultMono = jedisPoolMono
+                .flatMap(jedisPool -> pluginExecutor.execute(jedisPool, datasourceConfiguration, actionConfiguration));
+
+        StepVerifier.create(actionExecutionResultMono)
+                .assertNext(actionExecutionResult -> {
+                    Assert.assertNotNull(actionExecutionResult);
+                    final ArrayNode body = (ArrayNode) actionExecutionResult.getBody();
+                    Assert.assertEquals(3, body.size());
+                    Assert.assertEquals("OK", body.get(0).get(0).get("result").asText());
+                    Assert.assertEquals("pipelinedValue", body.get(1).get(0).get("result").asText());
+                    Assert.assertEquals("PONG", body.get(2).get(0).get("result").asText());
+                }).verifyComplete();
+    }
+
+    @Test
+    public void itShouldReportStaleConnectionForClosedPool() {
+        DatasourceConfiguration datasourceConfiguration = createDatasourceConfiguration();
+        JedisPool jedisPool = pluginExecutor.datasourceCreate(datasourceConfiguration).block();
+        pluginExecutor.datasourceDestroy(jedisPool);
+
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("PING");
+
+        Assert.assertThrows(StaleConnectionException.class,
+                () -> pluginExecutor.execute(jedisPool, datasourceConfiguration, actionConfiguration));
+    }
 }
@@ -1,5 +1,6 @@
 package com.external.plugins;
 
+import com.appsmith.external.helpers.PoolSettings;
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionRequest;
 import com.appsmith.external.models.ActionExecutionResult;
@@ -18,49 +19,121 @@ import org.apache.commons.lang.StringUtils;
 import org.bson.internal.Base64;
 import org.pf4j.Extension;
 import org.pf4j.PluginWrapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class RestApiPlugin extends BasePlugin {
     private static final int MAX_REDIRECTS = 5;
 
+    // Responses larger than this are rejected, instead of being read into memory. Defaults to 10MB, and can be
+    // changed with the `APPSMITH_REST_API_MAX_RESPONSE_SIZE_MB` environment variable.
+    private static final int DEFAULT_MAX_RESPONSE_SIZE_MB = 10;
+    private static final long MAX_RESPONSE_SIZE_BYTES = getMaxResponseSizeMb() * 1024L * 1024;
+
     // Setting max content length. This would've been coming from `spring.codec.max-in-memory-size` property if the
     // `WebClient` instance was loaded as an auto-wired bean.
     public static final ExchangeStrategies EXCHANGE_STRATEGIES = ExchangeStrategies
             .builder()
-            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(/* 10MB */ 10 * 1024 * 1024))
+            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize((int) Math.min(MAX_RESPONSE_SIZE_BYTES, Integer.MAX_VALUE)))
             .build();
 
+    // Connections are pooled per remote host, and shared across all REST API actions, so that keep-alive connections
+    // and TLS sessions are reused for repeated calls to the same API.
+    // The limits can be changed with the `APPSMITH_REST_API_MAX_POOL_SIZE`, `APPSMITH_REST_API_BORROW_TIMEOUT_MS` and
+    // `APPSMITH_REST_API_IDLE_TIMEOUT_MS` environment variables.
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 50;
+    private static final long DEFAULT_PENDING_ACQUIRE_TIMEOUT_MS = 10 * 1000;
+    private static final long DEFAULT_MAX_IDLE_TIME_MS = 60 * 1000;
+
+    // The started plugin, whose client the executors send their requests with.
+    private static volatile RestApiPlugin startedPlugin;
+
+    private ConnectionProvider connectionProvider;
+
+    // A single client for all requests. Headers are set on each request, instead of being baked into the client.
+    private WebClient webClient;
+
     public RestApiPlugin(PluginWrapper wrapper) {
         super(wrapper);
     }
 
+    @Override
+    public void start() {
+        super.start();
+        final PoolSettings poolSettings = PoolSettings.forPlugin("APPSMITH_REST_API", DEFAULT_MAX_CONNECTIONS_PER_HOST,
+                DEFAULT_MAX_IDLE_TIME_MS, DEFAULT_PENDING_ACQUIRE_TIMEOUT_MS);
+        connectionProvider = ConnectionProvider.fixed("rest-api-plugin", poolSettings.getMaxPoolSize(),
+                poolSettings.getBorrowTimeoutMs(), Duration.ofMillis(poolSettings.getIdleTimeoutMs()));
+        webClient = WebClient
+                .builder()
+                .exchangeStrategies(EXCHANGE_STRATEGIES)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        startedPlugin = this;
+    }
+
+    @Override
+    public void stop() {
+        if (startedPlugin == this) {
+            startedPlugin = null;
+        }
+        connectionProvider.dispose();
+        super.stop();
+    }
+
+    private static int getMaxResponseSizeMb() {
+        final String value = System.getenv("APPSMITH_REST_API_MAX_RESPONSE_SIZE_MB");
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                final int maxResponseSizeMb = Integer.parseInt(value.trim());
+                if (maxResponseSizeMb > 0) {
+                    return maxResponseSizeMb;
+                }
+            } catch (NumberFormatException ignored) {
+                // Fall back to the default below.
+            }
+        }
+        return DEFAULT_MAX_RESPONSE_SIZE_MB;
+    }
+
     @Slf4j
     @Extension
     public static class RestApiPluginExecutor implements PluginExecutor<Void> {
@@ -70,6 +143,11 @@ public class RestApiPlugin extends BasePlugin {
                                                    DatasourceConfiguration datasourceConfiguration,
                                                    ActionConfiguration actionConfiguration) {
 
+            final RestApiPlugin plugin = startedPlugin;
+            if (plugin == null) {
+                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "REST API plugin is not started."));
+            }
+
             ActionExecutionResult errorResult = new ActionExecutionResult();
             errorResult.setStatusCode(AppsmithPluginError.PLUGIN_ERROR.getAppErrorCode().toString());
             errorResult.setIsExecutionSuccess(false);
@@ -102,16 +180,16 @@ public class RestApiPlugin extends BasePlugin {
                 return Mono.just(errorResult);
             }
 
-            WebClient.Builder webClientBuilder = WebClient.builder();
+            HttpHeaders requestHeaders = new HttpHeaders();
 
             if (datasourceConfiguration.getHeaders() != null) {
                 reqContentType = addHeadersToRequestAndGetContentType(
-                        webClientBuilder, datasourceConfiguration.getHeaders());
+                        requestHeaders, datasourceConfiguration.getHeaders());
             }
 
             if (actionConfiguration.getHeaders() != null) {
                 reqContentType = addHeadersToRequestAndGetContentType(
-                        webClientBuilder, actionConfiguration.getHeaders());
+                        requestHeaders, actionConfiguration.getHeaders());
             }
 
             final String contentTypeError = verifyContentType(actionConfiguration.getHeaders());
@@ -128,17 +206,12 @@ public class RestApiPlugin extends BasePlugin {
                 requestBodyAsString = convertPropertyListToReqBody(actionConfiguration.getBodyFormData());
             }
 
-
-            WebClient client = webClientBuilder.exchangeStrategies(EXCHANGE_STRATEGIES).build();
-
-            return httpCall(client, httpMethod, uri, requestBodyAsString, 0, reqContentType)
-                    .flatMap(clientResponse -> clientResponse.toEntity(byte[].class))
-                    .map(stringResponseEntity -> {
-                        HttpHeaders headers = stringResponseEntity.getHeaders();
+            return httpCall(plugin.webClient, httpMethod, uri, requestHeaders, requestBodyAsString, 0, reqContentType)
+                    .flatMap(clientResponse -> {
+                        HttpHeaders headers = clientResponse.headers().asHttpHeaders();
                         // Find the media type of the response to parse the body as required.
                         MediaType contentType = headers.getContentType();
-                        byte[] body = stringResponseEntity.getBody();
-                        HttpStatus statusCode = stringResponseEntity.getStatusCode();
+                        HttpStatus statusCode = clientResponse.statusCode();
 
                         ActionExecutionResult result = new ActionExecutionResult();
 
@@ -153,42 +226,30 @@ public class RestApiPlugin extends BasePlugin {
                         try {
                             headerInJsonString = objectMapper.writeValueAsString(headers);
                         } catch (JsonProcessingException e) {
-                            throw Exceptions.propagate(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e));
+                            return clientResponse.bodyToMono(Void.class)
+                                    .then(Mono.<ActionExecutionResult>error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e)));
                         }
 
                         // Set headers in the result now
                         try {
                             result.setHeaders(objectMapper.readTree(headerInJsonString));
                         } catch (IOException e) {
-                            throw Exceptions.propagate(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e));
+                            return clientResponse.bodyToMono(Void.class)
+                                    .then(Mono.<ActionExecutionResult>error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e)));
                         }
 
-                        if (body != null) {
-                            /**TODO
-                             * Handle XML response. Currently we only handle JSON & Image responses. The other kind of responses
-                             * are kept as is and returned as a string.
-                             */
-                            if (MediaType.APPLICATION_JSON.equals(contentType) ||
-                                    MediaType.APPLICATION_JSON_UTF8.equals(contentType)) {
-                                try {
-                                    String jsonBody = new String(body);
-                                    result.setBody(objectMapper.readTree(jsonBody));
-                                } catch (IOException e) {
-                                    throw Exceptions.propagate(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e));
-                                }
-                            } else if (MediaType.IMAGE_GIF.equals(contentType) ||
-                                    MediaType.IMAGE_JPEG.equals(contentType) ||
-                                    MediaType.IMAGE_PNG.equals(contentType)) {
-                                String encode = Base64.encode(body);
-                                result.setBody(encode);
-                            } else {
-                                // If the body is not of JSON type, just set it as is.
-                                String bodyString = new String(body);
-                                result.setBody(bodyString.trim());
-                            }
+                        // Fail fast if the server tells us up front that the response is too large.
+                        if (headers.getContentLength() > MAX_RESPONSE_SIZE_BYTES) {
+                            return clientResponse.bodyToMono(Void.class)
+                                    .then(Mono.<ActionExecutionResult>error(responseTooLargeException()));
                         }
 
-                        return result;
+                        return readBody(clientResponse.body(BodyExtractors.toDataBuffers()))
+                                .map(body -> {
+                                    result.setBody(decodeBody(body, contentType));
+                                    return result;
+                                })
+                                .defaultIfEmpty(result);
                     })
                     .onErrorResume(e -> {
                         errorResult.setBody(Exceptions.unwrap(e).getMessage());
@@ -197,6 +258,73 @@ public class RestApiPlugin extends BasePlugin {
                     });
         }
 
+        /**
+         * Joins the response body into a single buffer, without copying the chunks received from the network. Errors
+         * out as soon as the body grows beyond the maximum response size, instead of holding all of it in memory.
+         *
+         * @param body Chunks of the response body.
+         * @return Mono of the whole body, or an empty Mono if there's no body. The caller must release the buffer.
+         */
+        private static Mono<DataBuffer> readBody(Flux<DataBuffer> body) {
+            final AtomicLong size = new AtomicLong();
+
+            return DataBufferUtils.join(body.<DataBuffer>handle((dataBuffer, sink) -> {
+                if (size.addAndGet(dataBuffer.readableByteCount()) > MAX_RESPONSE_SIZE_BYTES) {
+                    DataBufferUtils.release(dataBuffer);
+                    sink.error(responseTooLargeException());
+                } else {
+                    sink.next(dataBuffer);
+                }
+            }));
+        }
+
+        /**
+         * Decodes the response body as per its content type. JSON is parsed straight from the buffer, without making a
+         * `String` out of it first. The charset is taken from the content type, and defaults to UTF-8.
+         * TODO: Handle XML response. Currently we only handle JSON & Image responses. The other kind of responses are
+         * kept as is and returned as a string.
+         */
+        private static Object decodeBody(DataBuffer body, MediaType contentType) {
+            final Charset charset = contentType != null && contentType.getCharset() != null
+                    ? contentType.getCharset()
+                    : StandardCharsets.UTF_8;
+
+            try {
+                // Only `application/json`, with any parameters. Wildcards like `*/*` are not taken to be JSON.
+                if (contentType != null && MediaType.APPLICATION_JSON.includes(contentType)) {
+                    // Jackson reads UTF-8 bytes directly. Other charsets are decoded while reading.
+                    try (InputStream inputStream = body.asInputStream()) {
+                        return StandardCharsets.UTF_8.equals(charset)
+                                ? objectMapper.readTree(inputStream)
+                                : objectMapper.readTree(new InputStreamReader(inputStream, charset));
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e));
+                    }
+
+                } else if (MediaType.IMAGE_GIF.equals(contentType) ||
+                        MediaType.IMAGE_JPEG.equals(contentType) ||
+                        MediaType.IMAGE_PNG.equals(contentType)) {
+                    byte[] bytes = new byte[body.readableByteCount()];
+                    body.read(bytes);
+                    return Base64.encode(bytes);
+
+                }
+
+                // If the body is not of JSON type, just set it as is.
+                return charset.decode(body.asByteBuffer()).toString().trim();
+
+            } finally {
+                DataBufferUtils.release(body);
+            }
+        }
+
+        private static AppsmithPluginException responseTooLargeException() {
+            return new AppsmithPluginException(
+                    AppsmithPluginError.PLUGIN_ERROR,
+                    "Response is larger than the maximum allowed size of " + MAX_RESPONSE_SIZE_BYTES / (1024 * 1024) + "MB."
+            );
+        }
+
         private String convertPropertyListToReqBody(List<Property> bodyFormData) {
             if (bodyFormData == null || bodyFormData.isEmpty()) {
                 return "";
@@ -233,8 +361,8 @@ public class RestApiPlugin extends BasePlugin {
             return null;
         }
 
-        private Mono<ClientResponse> httpCall(WebClient webClient, HttpMethod httpMethod, URI uri, String requestBodyAsString,
-                                              int iteration, String contentType) {
+        private Mono<ClientResponse> httpCall(WebClient webClient, HttpMethod httpMethod, URI uri, HttpHeaders requestHeaders,
+                                              String requestBodyAsString, int iteration, String contentType) {
             if (iteration == MAX_REDIRECTS) {
                 return Mono.error(new AppsmithPluginException(
                         AppsmithPluginError.PLUGIN_ERROR,
@@ -256,6 +384,7 @@ public class RestApiPlugin extends BasePlugin {
             return webClient
                     .method(httpMethod)
                     .uri(uri)
+                    .headers(headers -> headers.addAll(requestHeaders))
                     .body(BodyInserters.fromObject(requestBodyAsString))
                     .exchange()
                     .doOnError(e -> Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e)))
@@ -273,10 +402,14 @@ public class RestApiPlugin extends BasePlugin {
                             try {
                                 redirectUri = new URI(redirectUrl);
                             } catch (URISyntaxException e) {
-                                return Mono.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e));
+                                return response.releaseBody()
+                                        .then(Mono.<ClientResponse>error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, e)));
                             }
-                            return httpCall(webClient, httpMethod, redirectUri, requestBodyAsString, iteration + 1,
-                                    contentType);
+                            // The body of the redirect is never read, so it's released to return the connection to the
+                            // pool before following the redirect.
+                            return response.releaseBody()
+                                    .then(httpCall(webClient, httpMethod, redirectUri, requestHeaders, requestBodyAsString,
+                                            iteration + 1, contentType));
                         }
                         return Mono.just(response);
                     });
@@ -317,6 +450,17 @@ public class RestApiPlugin extends BasePlugin {
             // REST API plugin doesn't have a datasource.
         }
 
+        @Override
+        public boolean isBlocking() {
+            // All requests are made with the non-blocking `WebClient`.
+            return false;
+        }
+
+        @Override
+        public boolean isReadOnly(ActionConfiguration actionConfiguration) {
+            return HttpMethod.GET.equals(actionConfiguration.getHttpMethod());
+        }
+
         @Override
         public Set<String> validateDatasource(DatasourceConfiguration datasourceConfiguration) {
             // We don't verify whether the URL is in valid format because it can contain mustache template keys, and so
@@ -345,7 +489,7 @@ public class RestApiPlugin extends BasePlugin {
             return Mono.just(new DatasourceTestResult());
         }
 
-        private String addHeadersToRequestAndGetContentType(WebClient.Builder webClientBuilder,
+        private String addHeadersToRequestAndGetContentType(HttpHeaders requestHeaders,
                                                             List<Property> headers) {
             String contentType = "";
 
@@ -353,7 +497,8 @@ public class RestApiPlugin extends BasePlugin {
                 String key = header.getKey();
                 if (StringUtils.isNotEmpty(key)) {
                     String value = header.getValue();
-                    webClientBuilder.defaultHeader(key, value);
+                    // Headers on the action replace the ones with the same name on the datasource.
+                    requestHeaders.set(key, value);
 
                     if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(key)) {
                         contentType = value;
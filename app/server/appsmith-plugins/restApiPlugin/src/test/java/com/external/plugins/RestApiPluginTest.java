@@ -6,8 +6,11 @@ import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.Property;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.pf4j.PluginWrapper;
 import org.springframework.http.HttpMethod;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -15,14 +18,23 @@ import reactor.test.StepVerifier;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 public class RestApiPluginTest {
+    RestApiPlugin plugin = new RestApiPlugin(Mockito.mock(PluginWrapper.class));
+
     RestApiPlugin.RestApiPluginExecutor pluginExecutor = new RestApiPlugin.RestApiPluginExecutor();
 
     @Before
     public void setUp() {
+        plugin.start();
+    }
+
+    @After
+    public void tearDown() {
+        plugin.stop();
     }
 
     @Test
@@ -69,4 +81,52 @@ public class RestApiPluginTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    public void testHeadersAreScopedToEachRequest() {
+        DatasourceConfiguration dsConfig = new DatasourceConfiguration();
+        dsConfig.setUrl("https://postman-echo.com/get");
+        dsConfig.setHeaders(List.of(new Property("x-source", "datasource")));
+
+        ActionConfiguration firstActionConfig = new ActionConfiguration();
+        firstActionConfig.setHttpMethod(HttpMethod.GET);
+        firstActionConfig.setHeaders(List.of(new Property("x-source", "action"), new Property("x-first", "yes")));
+
+        ActionConfiguration secondActionConfig = new ActionConfiguration();
+        secondActionConfig.setHttpMethod(HttpMethod.GET);
+
+        // Both requests go through the same shared client, so headers of one shouldn't show up in the other.
+        Mono<List<ActionExecutionResult>> resultsMono = pluginExecutor.execute(null, dsConfig, firstActionConfig)
+                .zipWith(pluginExecutor.execute(null, dsConfig, secondActionConfig), List::of);
+
+        StepVerifier.create(resultsMono)
+                .assertNext(results -> {
+                    JsonNode firstHeaders = ((ObjectNode) results.get(0).getBody()).get("headers");
+                    assertEquals("action", firstHeaders.get("x-source").asText());
+                    assertEquals("yes", firstHeaders.get("x-first").asText());
+
+                    JsonNode secondHeaders = ((ObjectNode) results.get(1).getBody()).get("headers");
+                    assertEquals("datasource", secondHeaders.get("x-source").asText());
+                    assertFalse(secondHeaders.has("x-first"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExecutionAfterRestart() {
+        plugin.stop();
+        plugin.start();
+
+        DatasourceConfiguration dsConfig = new DatasourceConfiguration();
+        dsConfig.setUrl("https://postman-echo.com/get");
+
+        ActionConfiguration actionConfig = new ActionConfiguration();
+        actionConfig.setHttpMethod(HttpMethod.GET);
+
+        Mono<ActionExecutionResult> resultMono = pluginExecutor.execute(null, dsConfig, actionConfig);
+
+        StepVerifier.create(resultMono)
+                .assertNext(result -> assertTrue(result.getIsExecutionSuccess()))
+                .verifyComplete();
+    }
 }
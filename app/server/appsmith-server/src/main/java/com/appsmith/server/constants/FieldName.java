@@ -18,6 +18,7 @@ public class FieldName {
     public static String DEFAULT_PAGE_NAME = "Page1";
     public static String TYPE = "type";
     public static String WIDGET_NAME = "widgetName";
+    public static String WIDGET_ID = "widgetId";
     public static String DYNAMIC_BINDINGS = "dynamicBindings";
     public static String CHILDREN = "children";
     public static String ORIGIN = "origin";
@@ -1,20 +1,28 @@
 package com.appsmith.server.controllers;
 
 import com.appsmith.external.models.ActionExecutionResult;
+import com.appsmith.external.models.RowsChunk;
+import com.appsmith.external.pluginExceptions.AppsmithPluginException;
 import com.appsmith.server.constants.Url;
 import com.appsmith.server.domains.Action;
 import com.appsmith.server.domains.Layout;
+import com.appsmith.server.dtos.ActionExecutionBatchResultDTO;
 import com.appsmith.server.dtos.ActionMoveDTO;
 import com.appsmith.server.dtos.ActionViewDTO;
+import com.appsmith.server.dtos.ExecuteActionBatchDTO;
 import com.appsmith.server.dtos.ExecuteActionDTO;
 import com.appsmith.server.dtos.RefactorNameDTO;
 import com.appsmith.server.dtos.ResponseDTO;
+import com.appsmith.server.exceptions.AppsmithError;
+import com.appsmith.server.exceptions.AppsmithException;
+import com.appsmith.server.exceptions.ErrorDTO;
 import com.appsmith.server.services.ActionCollectionService;
 import com.appsmith.server.services.ActionService;
 import com.appsmith.server.services.LayoutActionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -26,6 +34,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
@@ -71,6 +80,48 @@ public class ActionController extends BaseController<ActionService, Action, Stri
                 .map(updatedResource -> new ResponseDTO<>(HttpStatus.OK.value(), updatedResource, null));
     }
 
+    /**
+     * Executes a batch of actions, like the on-load actions of a page, in a single request. Results are streamed back as
+     * each action finishes, as a stream of JSON objects.
+     */
+    @PostMapping(value = "/execute/batch", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<ResponseDTO<ActionExecutionBatchResultDTO>> executeActions(@RequestBody @Valid ExecuteActionBatchDTO executeActionBatchDTO) {
+        return service.executeActions(executeActionBatchDTO)
+                .map(result -> new ResponseDTO<>(HttpStatus.OK.value(), result, null));
+    }
+
+    /**
+     * Executes an action and streams the rows of its result back as they're read from the database, as a stream of JSON
+     * objects, each with a chunk of rows. Only supported for plugins that can stream results. Since the response status
+     * is sent with the first chunk, an error is sent as the last object in the stream, with the error in its meta.
+     */
+    @PostMapping(value = "/execute/stream", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<ResponseDTO<RowsChunk>> executeActionStreaming(@RequestBody ExecuteActionDTO executeActionDTO) {
+        return service.executeActionStreaming(executeActionDTO)
+                .map(chunk -> new ResponseDTO<>(HttpStatus.OK.value(), chunk, null))
+                .onErrorResume(error -> {
+                    log.error("Error streaming the result of an action.", error);
+                    return Mono.just(streamingErrorResponse(error));
+                });
+    }
+
+    /**
+     * Formats the error the same way `GlobalExceptionHandler` does for other requests.
+     */
+    private static ResponseDTO<RowsChunk> streamingErrorResponse(Throwable error) {
+        if (error instanceof AppsmithException) {
+            final AppsmithException appsmithException = (AppsmithException) error;
+            return new ResponseDTO<>(appsmithException.getHttpStatus(),
+                    new ErrorDTO(appsmithException.getAppErrorCode(), appsmithException.getMessage()));
+        }
+
+        final AppsmithError appsmithError = AppsmithError.INTERNAL_SERVER_ERROR;
+        final String message = error instanceof AppsmithPluginException
+                ? error.getLocalizedMessage()
+                : appsmithError.getMessage();
+        return new ResponseDTO<>(appsmithError.getHttpErrorCode(), new ErrorDTO(appsmithError.getAppErrorCode(), message));
+    }
+
     @PutMapping("/move")
     public Mono<ResponseDTO<Action>> moveAction(@RequestBody @Valid ActionMoveDTO actionMoveDTO) {
         log.debug("Going to move action {} from page {} to page {}", actionMoveDTO.getAction().getName(), actionMoveDTO.getAction().getPageId(), actionMoveDTO.getDestinationPageId());
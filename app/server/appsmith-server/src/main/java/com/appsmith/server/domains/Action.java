@@ -56,6 +56,8 @@ public class Action extends BaseDomain {
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     Set<String> jsonPathKeys;
 
+    // Only set on actions created from a template, to the template's sample response. Responses of executions are not
+    // stored.
     @JsonIgnore
     String cacheResponse;
 
@@ -12,6 +12,8 @@ import java.time.Instant;
 public class DatasourceContext {
     Object connection;
 
+    String pluginId;
+
     Instant creationTime;
 
     public DatasourceContext() {
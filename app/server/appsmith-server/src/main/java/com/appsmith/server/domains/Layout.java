@@ -11,6 +11,7 @@ import net.minidev.json.JSONObject;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Getter
@@ -44,6 +45,11 @@ public class Layout extends BaseDomain {
     @JsonIgnore
     Set<String> widgetNames;
 
+    // Names used in the dynamic bindings of each widget in the DSL, by widget id. Lets an update of the layout skip
+    // extracting the bindings of the widgets that haven't changed since the last one.
+    @JsonIgnore
+    Map<String, Set<String>> widgetBindingNames;
+
     /**
      * If view mode, the dsl returned should be the publishedDSL, else if the edit mode is on (view mode = false)
      * the dsl returned should be JSONObject dsl
@@ -1,6 +1,7 @@
 package com.appsmith.server.domains;
 
 import com.appsmith.external.models.BaseDomain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -22,4 +23,9 @@ public class Page extends BaseDomain {
     String applicationId;
 
     List<Layout> layouts;
+
+    // Incremented by every partial update of the layouts, which only applies if the page is still at the version it
+    // was read at. Pages saved before this was added have no version.
+    @JsonIgnore
+    Long version;
 }
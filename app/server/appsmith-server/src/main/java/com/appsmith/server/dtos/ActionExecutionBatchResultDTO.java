@@ -0,0 +1,21 @@
+package com.appsmith.server.dtos;
+
+import com.appsmith.external.models.ActionExecutionResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActionExecutionBatchResultDTO {
+
+    String actionId;
+
+    // Index of the wave in the batch request that the action was part of.
+    int wave;
+
+    ActionExecutionResult result;
+}
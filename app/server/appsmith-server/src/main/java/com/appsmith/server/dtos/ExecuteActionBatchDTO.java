@@ -0,0 +1,17 @@
+package com.appsmith.server.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Getter
+@Setter
+public class ExecuteActionBatchDTO {
+
+    // Actions to execute, grouped into waves like the layout's on-load actions. Waves are executed one after the other,
+    // and the actions within a wave are executed in parallel.
+    @NotNull
+    List<List<ExecuteActionDTO>> waves;
+}
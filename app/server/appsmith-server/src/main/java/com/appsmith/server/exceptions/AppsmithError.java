@@ -56,6 +56,9 @@ public enum AppsmithError {
     INVALID_CURL_METHOD(400, 4032, "Invalid method in cURL command: {0}."),
     OAUTH_NOT_AVAILABLE(500, 5006, "Login with {0} is not supported."),
     MARKETPLACE_NOT_CONFIGURED(500, 5007, "Marketplace is not configured."),
+    CONCURRENT_PAGE_UPDATE(409, 4034, "Page {0} was changed by another update at the same time. Please try again."),
+    CYCLICAL_DEPENDENCY_IN_ON_LOAD_ACTIONS(400, 4033, "Actions run on page load cannot depend on each other in a cycle: {0}. Please remove one of these dependencies."),
+    QUOTED_BINDING_IN_PREPARED_STATEMENT(400, 4035, "The binding {0} is inside a quoted string, where it cannot be a parameter of a prepared statement. Move the whole string into the binding, or turn off prepared statements for this query."),
     ;
 
 
@@ -6,7 +6,12 @@ import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.PropertyAccessorFactory;
 
 import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public final class BeanCopyUtils {
@@ -84,6 +89,64 @@ public final class BeanCopyUtils {
         }
     }
 
+    /**
+     * Copies the given object, along with the Appsmith models, lists and maps in it, so that the copy can be modified
+     * without affecting the source. Other values, like Strings, are shared with the source.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T deepCopy(T source) {
+        if (source == null) {
+            return null;
+        }
+
+        if (source instanceof List) {
+            final Collection<Object> copy = newInstanceOrElse(source, new ArrayList<>());
+            for (Object item : (List<?>) source) {
+                copy.add(deepCopy(item));
+            }
+            return (T) copy;
+        }
+
+        if (source instanceof Map) {
+            final Map<Object, Object> copy = newInstanceOrElse(source, new LinkedHashMap<>());
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet()) {
+                copy.put(entry.getKey(), deepCopy(entry.getValue()));
+            }
+            return (T) copy;
+        }
+
+        if (!isDomainModel(source.getClass())) {
+            return source;
+        }
+
+        final T copy = (T) BeanUtils.instantiateClass(source.getClass());
+        final BeanWrapper sourceBeanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(source);
+        final BeanWrapper copyBeanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(copy);
+        for (PropertyDescriptor propertyDescriptor : sourceBeanWrapper.getPropertyDescriptors()) {
+            // For properties like `class` that don't have a set method, we can't copy so we just ignore them.
+            if (propertyDescriptor.getReadMethod() == null || propertyDescriptor.getWriteMethod() == null) {
+                continue;
+            }
+            final String name = propertyDescriptor.getName();
+            copyBeanWrapper.setPropertyValue(name, deepCopy(sourceBeanWrapper.getPropertyValue(name)));
+        }
+
+        return copy;
+    }
+
+    /**
+     * @return A new, empty instance of the source's class, so that a copy of a collection keeps its type (like
+     * `JSONObject`), or the fallback if the class can't be instantiated (like immutable collections).
+     */
+    @SuppressWarnings("unchecked")
+    private static <C> C newInstanceOrElse(Object source, C fallback) {
+        try {
+            return (C) source.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return fallback;
+        }
+    }
+
     public static boolean isDomainModel(Class<?> type) {
         return !type.isEnum() && type.getPackageName().startsWith("com.appsmith.");
     }
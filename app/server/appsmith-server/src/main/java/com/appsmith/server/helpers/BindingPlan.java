@@ -0,0 +1,355 @@
+package com.appsmith.server.helpers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import static com.appsmith.server.helpers.BeanCopyUtils.isDomainModel;
+
+/**
+ * A precomputed list of the String fields in a configuration object (like `ActionConfiguration` or
+ * `DatasourceConfiguration`) that contain Mustache templates, along with the accessors needed to reach them. Fields that
+ * contain HTML entities are recorded as well, since rendering unescapes them, like `MustacheHelper.renderFieldValues`
+ * does for every String field.
+ * <p>
+ * Computing a plan walks the object the same way `MustacheHelper.renderFieldValues` does, but it does so once. Applying
+ * the plan to another instance with the same shape (like a fresh copy of the same action loaded from the database)
+ * only touches the templated fields, instead of walking every property of every nested object with a `BeanWrapper`.
+ */
+@Slf4j
+public class BindingPlan {
+
+    public static final BindingPlan EMPTY = new BindingPlan(Collections.emptyList());
+
+    private final List<FieldBinding> bindings;
+
+    private BindingPlan(List<FieldBinding> bindings) {
+        this.bindings = bindings;
+    }
+
+    /**
+     * Walks the given configuration object and records the path to every String field that contains a Mustache
+     * template or an HTML entity.
+     *
+     * @param configuration Object to compute the plan for. Can be null, in which case an empty plan is returned.
+     * @return A plan that can be applied to any object with the same shape as the given object, or `null` if the
+     * object couldn't be walked.
+     */
+    public static BindingPlan of(Object configuration) {
+        if (configuration == null) {
+            return EMPTY;
+        }
+
+        final List<FieldBinding> bindings = new ArrayList<>();
+        try {
+            collectBindings(configuration, new ArrayList<>(), bindings);
+        } catch (ReflectiveOperationException e) {
+            log.error("Exception caught while computing binding plan for {}.", configuration.getClass(), e);
+            return null;
+        }
+
+        return bindings.isEmpty() ? EMPTY : new BindingPlan(bindings);
+    }
+
+    public boolean isEmpty() {
+        return bindings.isEmpty();
+    }
+
+    public int size() {
+        return bindings.size();
+    }
+
+    /**
+     * Renders the templated fields of the given object, as recorded in this plan, with values from the given context.
+     *
+     * @param configuration Object to render, with the same shape as the object this plan was computed from.
+     * @param context       Mustache keys mapped to their values.
+     * @return `false` if the object's shape doesn't match this plan, in which case the object is left as it was, and the
+     * caller should fall back to `MustacheHelper.renderFieldValues`.
+     */
+    public boolean render(Object configuration, Map<String, String> context) {
+        return apply(configuration, (name, value) -> MustacheHelper.render(value, name, context)) != null;
+    }
+
+    /**
+     * Sets each of the templated fields of the given object, as recorded in this plan, to the result of the function on
+     * its value.
+     *
+     * @param configuration Object to update, with the same shape as the object this plan was computed from.
+     * @param function      Function to apply to the value of each templated field.
+     * @return Whether any of the fields changed, or null if the object's shape doesn't match this plan, in which case
+     * the object is left as it was.
+     */
+    public Boolean update(Object configuration, UnaryOperator<String> function) {
+        return apply(configuration, (name, value) -> function.apply(value));
+    }
+
+    /**
+     * Sets each of the recorded fields to the result of the function on its name and value.
+     */
+    private Boolean apply(Object configuration, BinaryOperator<String> function) {
+        if (configuration == null) {
+            return bindings.isEmpty() ? false : null;
+        }
+
+        // Every field is read, and its new value computed, before any of them is set, so that a mismatch found halfway
+        // through doesn't leave the object partly updated.
+        final int size = bindings.size();
+        final Object[] parents = new Object[size];
+        final String[] values = new String[size];
+        final String[] newValues = new String[size];
+        for (int i = 0; i < size; ++i) {
+            final FieldBinding binding = bindings.get(i);
+            parents[i] = binding.findParent(configuration);
+            values[i] = parents[i] == null ? null : binding.get(parents[i]);
+            newValues[i] = values[i] == null ? null : binding.apply(values[i], function);
+            if (newValues[i] == null) {
+                return null;
+            }
+        }
+
+        boolean isChanged = false;
+        for (int i = 0; i < size; ++i) {
+            if (values[i].equals(newValues[i])) {
+                continue;
+            }
+            if (!bindings.get(i).set(parents[i], newValues[i])) {
+                // Put back the fields set so far. Setters of a matching object aren't expected to fail, though.
+                for (int j = 0; j < i; ++j) {
+                    bindings.get(j).set(parents[j], values[j]);
+                }
+                return null;
+            }
+            isChanged = true;
+        }
+
+        return isChanged;
+    }
+
+    private static void collectBindings(Object object, List<Step> path, List<FieldBinding> bindings)
+            throws ReflectiveOperationException {
+        final String className = object.getClass().getSimpleName();
+
+        for (PropertyDescriptor propertyDescriptor : BeanUtils.getPropertyDescriptors(object.getClass())) {
+            final Method readMethod = propertyDescriptor.getReadMethod();
+            final Method writeMethod = propertyDescriptor.getWriteMethod();
+
+            // For properties like `class` that don't have a set method, just ignore them.
+            if (readMethod == null || writeMethod == null) {
+                continue;
+            }
+
+            final PropertyStep propertyStep = PropertyStep.of(readMethod, writeMethod);
+            final Object value = propertyStep.get(object);
+            if (value == null) {
+                continue;
+            }
+
+            if (isDomainModel(propertyDescriptor.getPropertyType())) {
+                collectBindings(value, append(path, propertyStep), bindings);
+
+            } else if (value instanceof List) {
+                final List<?> list = (List<?>) value;
+                for (int i = 0; i < list.size(); ++i) {
+                    final Object childValue = list.get(i);
+                    if (childValue != null && isDomainModel(childValue.getClass())) {
+                        collectBindings(childValue, append(append(path, propertyStep), new IndexStep(i)), bindings);
+                    }
+                }
+
+            } else if (value instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    final Object childValue = entry.getValue();
+                    if (childValue != null && isDomainModel(childValue.getClass())) {
+                        collectBindings(childValue, append(append(path, propertyStep), new KeyStep(entry.getKey())), bindings);
+                    }
+                }
+
+            } else if (value instanceof String && (((String) value).contains("{{") || ((String) value).contains("&"))) {
+                bindings.add(new FieldBinding(
+                        path.toArray(new Step[0]),
+                        propertyStep,
+                        className + "." + propertyDescriptor.getName()
+                ));
+
+            }
+        }
+    }
+
+    private static List<Step> append(List<Step> path, Step step) {
+        final List<Step> newPath = new ArrayList<>(path.size() + 1);
+        newPath.addAll(path);
+        newPath.add(step);
+        return newPath;
+    }
+
+    private static class FieldBinding {
+        private final Step[] parentPath;
+        private final PropertyStep field;
+        private final String name;
+
+        FieldBinding(Step[] parentPath, PropertyStep field, String name) {
+            this.parentPath = parentPath;
+            this.field = field;
+            this.name = name;
+        }
+
+        /**
+         * @return The object that holds the field, or null if the plan doesn't match the object.
+         */
+        Object findParent(Object root) {
+            try {
+                Object parent = root;
+                for (Step step : parentPath) {
+                    parent = step.get(parent);
+                    if (parent == null) {
+                        return null;
+                    }
+                }
+                return parent;
+
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.debug("Binding plan doesn't match the object being updated at {}.", name, e);
+                return null;
+            }
+        }
+
+        /**
+         * @return The value of the field, or null if it isn't a String.
+         */
+        String get(Object parent) {
+            try {
+                final Object value = field.get(parent);
+                return value instanceof String ? (String) value : null;
+
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.debug("Binding plan doesn't match the object being updated at {}.", name, e);
+                return null;
+            }
+        }
+
+        /**
+         * @return The result of the function on the value, or null if the function failed.
+         */
+        String apply(String value, BinaryOperator<String> function) {
+            try {
+                return function.apply(name, value);
+
+            } catch (RuntimeException e) {
+                log.debug("Unable to update the value at {}.", name, e);
+                return null;
+            }
+        }
+
+        boolean set(Object parent, String value) {
+            try {
+                field.set(parent, value);
+                return true;
+
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.debug("Binding plan doesn't match the object being updated at {}.", name, e);
+                return false;
+            }
+        }
+    }
+
+    private interface Step {
+        Object get(Object parent) throws ReflectiveOperationException;
+    }
+
+    private static class PropertyStep implements Step {
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        // Steps of the properties of all the configuration classes walked so far, keyed by their get methods.
+        private static final Map<Method, PropertyStep> CACHE = new ConcurrentHashMap<>();
+
+        // Of type `(Object) -> Object`, taking the parent.
+        private final MethodHandle getter;
+
+        // Of type `(Object, Object) -> void`, taking the parent and the value.
+        private final MethodHandle setter;
+
+        private PropertyStep(MethodHandle getter, MethodHandle setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        static PropertyStep of(Method readMethod, Method writeMethod) throws IllegalAccessException {
+            final PropertyStep cached = CACHE.get(readMethod);
+            if (cached != null) {
+                return cached;
+            }
+
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final PropertyStep step = new PropertyStep(
+                    lookup.unreflect(readMethod).asType(GETTER_TYPE),
+                    lookup.unreflect(writeMethod).asType(SETTER_TYPE)
+            );
+            final PropertyStep existing = CACHE.putIfAbsent(readMethod, step);
+            return existing == null ? step : existing;
+        }
+
+        @Override
+        public Object get(Object parent) throws ReflectiveOperationException {
+            try {
+                return getter.invokeExact(parent);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        void set(Object parent, Object value) throws ReflectiveOperationException {
+            try {
+                setter.invokeExact(parent, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+
+    private static class IndexStep implements Step {
+        private final int index;
+
+        IndexStep(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Object get(Object parent) {
+            final List<?> list = (List<?>) parent;
+            return index < list.size() ? list.get(index) : null;
+        }
+    }
+
+    private static class KeyStep implements Step {
+        private final Object key;
+
+        KeyStep(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public Object get(Object parent) {
+            return ((Map<?, ?>) parent).get(key);
+        }
+    }
+
+}
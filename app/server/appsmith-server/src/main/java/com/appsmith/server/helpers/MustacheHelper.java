@@ -1,8 +1,14 @@
 package com.appsmith.server.helpers;
 
+import com.appsmith.server.exceptions.AppsmithError;
+import com.appsmith.server.exceptions.AppsmithException;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.StringEscapeUtils;
 import org.springframework.beans.BeanWrapper;
@@ -21,12 +27,28 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import static com.appsmith.server.helpers.BeanCopyUtils.isDomainModel;
 
 @Slf4j
 public class MustacheHelper {
 
+    // Upper bound on the total length (in characters) of all template strings held in the compiled template cache. A
+    // compiled `Mustache` object is roughly proportional in size to its source template, so weighing entries by the
+    // template length keeps the memory held by this cache bounded, irrespective of how large individual templates are.
+    private static final long MAX_CACHED_TEMPLATE_CHARS = 8 * 1024 * 1024;
+
+    private static final MustacheFactory mustacheFactory = new DefaultMustacheFactory();
+
+    // Compiled templates, keyed by the template text. Compiled `Mustache` objects are immutable and safe to execute
+    // concurrently, so the same instance is shared by all executions of actions having identical template strings.
+    private static final Cache<String, Mustache> compiledTemplateCache = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_TEMPLATE_CHARS)
+            .weigher((String template, Mustache mustache) -> template.length())
+            .recordStats()
+            .build();
+
     /**
      * Tokenize a Mustache template string into a list of plain text and Mustache interpolations.
      *
@@ -156,6 +178,107 @@ public class MustacheHelper {
         return keys;
     }
 
+    /**
+     * Replaces each Mustache interpolation in the given SQL template with a `?` placeholder, like in the query of a JDBC
+     * prepared statement. An interpolation that makes up a whole single quoted string literal, like `'{{Input1.text}}'`,
+     * replaces the literal, quotes included, since a placeholder inside a literal isn't a parameter. Interpolations in
+     * comments are dropped.
+     *
+     * @param template The Mustache input template string.
+     * @param keys     List to add the replacement key of each interpolation to, in the order of the placeholders. Keys
+     *                 are stripped of the double braces and trimmed, like in `extractMustacheKeys`.
+     * @return The template with placeholders in place of the interpolations.
+     * @throws AppsmithException If an interpolation is only a part of a quoted string or identifier, like in
+     *                           `LIKE '%{{Input1.text}}%'`, since it can't be replaced with a placeholder.
+     */
+    public static String replaceMustacheWithPlaceholders(String template, List<String> keys) throws AppsmithException {
+        final List<String> tokens = tokenize(template);
+        final StringBuilder result = new StringBuilder();
+
+        // The quote of the string or identifier, or the start of the comment, that the text so far ends inside of.
+        String enclosure = null;
+        boolean isSkippingQuote = false;
+
+        for (int i = 0; i < tokens.size(); i++) {
+            final String token = tokens.get(i);
+            if (!token.startsWith("{{") || !token.endsWith("}}")) {
+                final String text = isSkippingQuote ? token.substring(1) : token;
+                enclosure = findSqlEnclosure(text, enclosure);
+                result.append(text);
+                isSkippingQuote = false;
+
+            } else if (enclosure == null) {
+                keys.add(token.substring(2, token.length() - 2).trim());
+                result.append('?');
+
+            } else if ("--".equals(enclosure) || "/*".equals(enclosure)) {
+                // Left out, since the value could end the comment, e.g., with a new line.
+
+            } else if ("'".equals(enclosure)
+                    && result.charAt(result.length() - 1) == '\''
+                    && i + 1 < tokens.size() && tokens.get(i + 1).startsWith("'")) {
+                // The quote right before this interpolation must have opened the string, and the next one closes it.
+                keys.add(token.substring(2, token.length() - 2).trim());
+                result.setLength(result.length() - 1);
+                result.append('?');
+                enclosure = null;
+                isSkippingQuote = true;
+
+            } else {
+                throw new AppsmithException(AppsmithError.QUOTED_BINDING_IN_PREPARED_STATEMENT, token);
+
+            }
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * @return The quote, or the start of the comment, that the given SQL text ends inside of, if it starts inside of
+     * the given one. `null` if the text doesn't end inside a string, identifier or comment.
+     */
+    private static String findSqlEnclosure(String text, String enclosure) {
+        int i = 0;
+        while (i < text.length()) {
+            if (enclosure == null) {
+                if (text.startsWith("--", i) || text.startsWith("/*", i)) {
+                    enclosure = text.substring(i, i + 2);
+                    i += 2;
+                    continue;
+                }
+                final char currentChar = text.charAt(i);
+                if (currentChar == '\'' || currentChar == '"') {
+                    enclosure = String.valueOf(currentChar);
+                }
+                ++i;
+
+            } else if ("--".equals(enclosure)) {
+                if (text.charAt(i) == '\n') {
+                    enclosure = null;
+                }
+                ++i;
+
+            } else if ("/*".equals(enclosure)) {
+                if (text.startsWith("*/", i)) {
+                    enclosure = null;
+                    i += 2;
+                } else {
+                    ++i;
+                }
+
+            } else {
+                // An escaped quote, like `''`, closes and reopens the string, which comes to the same thing.
+                if (text.startsWith(enclosure, i)) {
+                    enclosure = null;
+                }
+                ++i;
+
+            }
+        }
+
+        return enclosure;
+    }
+
     public static Set<String> extractMustacheKeysFromFields(Object object) {
         final Set<String> keys = new HashSet<>();
 
@@ -281,12 +404,45 @@ public class MustacheHelper {
      * @param keyValueMap : This is the map of keys with values.
      * @return It finally returns the string in which all the keys in template have been replaced with values.
      */
-    private static String render(String template, String name, Map<String, String> keyValueMap) {
-        MustacheFactory mf = new DefaultMustacheFactory();
-        Mustache mustache = mf.compile(new StringReader(template), name);
+    static String render(String template, String name, Map<String, String> keyValueMap) {
+        Mustache mustache = getCompiledTemplate(template, name);
         Writer writer = new StringWriter();
         mustache.execute(writer, keyValueMap);
         return StringEscapeUtils.unescapeHtml4(writer.toString());
     }
 
+    /**
+     * Returns the compiled form of the given template, compiling it only if it isn't already present in the compiled
+     * template cache.
+     *
+     * @param template The Mustache template string to compile.
+     * @param name     Name used to identify the template in compilation errors. Not part of the cache key.
+     * @return Compiled `Mustache` object, which may be shared with other callers rendering the same template string.
+     */
+    private static Mustache getCompiledTemplate(String template, String name) {
+        try {
+            return compiledTemplateCache.get(template, () -> mustacheFactory.compile(new StringReader(template), name));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // Surface the compilation error as is, so that callers see the same exception as without the cache.
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Hit, miss and eviction statistics of the compiled template cache, since server start.
+     */
+    public static CacheStats getTemplateCacheStats() {
+        return compiledTemplateCache.stats();
+    }
+
+    /**
+     * Number of compiled templates currently held in the cache.
+     */
+    public static long getTemplateCacheSize() {
+        return compiledTemplateCache.size();
+    }
+
 }
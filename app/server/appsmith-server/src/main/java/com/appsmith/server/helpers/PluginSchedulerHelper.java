@@ -0,0 +1,182 @@
+package com.appsmith.server.helpers;
+
+import com.appsmith.external.pluginExceptions.AppsmithPluginError;
+import com.appsmith.external.pluginExceptions.AppsmithPluginException;
+import com.appsmith.external.plugins.PluginExecutor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs calls into plugins that do blocking I/O (like JDBC, or the Mongo and Redis drivers) on a bounded worker pool
+ * of their own, one per plugin, so that a slow query doesn't stall the event loop, or other plugins. Plugins whose
+ * executors report themselves as non-blocking are run on the calling thread, as before.
+ */
+@Slf4j
+@Component
+public class PluginSchedulerHelper {
+
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final int maxThreads;
+    private final int queueCapacity;
+
+    // Plugin executor class name mapped to the worker pool for that plugin.
+    private final Map<String, WorkerPool> workerPools = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PluginSchedulerHelper(@Value("${plugin.executor.max-threads:10}") int maxThreads,
+                                 @Value("${plugin.executor.queue-capacity:100}") int queueCapacity) {
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Subscribes to the Mono given by `task` on the worker pool of the given plugin, if the plugin is blocking.
+     * The supplier itself is also invoked on the worker pool, since plugins usually do their blocking work before
+     * returning a `Mono.just` of the result.
+     *
+     * @param pluginExecutor Plugin that the task calls into.
+     * @param task           Supplier of the Mono that calls into the plugin.
+     * @return Mono that emits the result of the task. Errors with an `AppsmithPluginException` if the plugin's worker
+     * pool and its queue are full.
+     */
+    public <T> Mono<T> runOnPluginScheduler(PluginExecutor<?> pluginExecutor, Supplier<Mono<T>> task) {
+        if (!pluginExecutor.isBlocking()) {
+            return Mono.defer(task);
+        }
+
+        final WorkerPool workerPool = getWorkerPool(pluginExecutor);
+        return Mono.defer(task)
+                .subscribeOn(workerPool.scheduler)
+                .onErrorMap(RejectedExecutionException.class, error -> new AppsmithPluginException(
+                        AppsmithPluginError.PLUGIN_EXECUTION_REJECTED,
+                        workerPool.name
+                ));
+    }
+
+    /**
+     * Like `runOnPluginScheduler`, but for plugin calls that stream their results. Every request for more elements is
+     * made on the plugin's worker pool, as is the cancellation, since both may have to do blocking I/O, like reading
+     * more rows from a cursor, or closing it. Worker threads are not held in between requests.
+     *
+     * @param pluginExecutor Plugin that the task calls into.
+     * @param task           Supplier of the Flux that calls into the plugin.
+     * @return Flux that emits the elements of the task's Flux.
+     */
+    public <T> Flux<T> streamOnPluginScheduler(PluginExecutor<?> pluginExecutor, Supplier<Flux<T>> task) {
+        if (!pluginExecutor.isBlocking()) {
+            return Flux.defer(task);
+        }
+
+        final WorkerPool workerPool = getWorkerPool(pluginExecutor);
+        return Flux.defer(task)
+                .subscribeOn(workerPool.scheduler)
+                .cancelOn(workerPool.scheduler)
+                .onErrorMap(RejectedExecutionException.class, error -> new AppsmithPluginException(
+                        AppsmithPluginError.PLUGIN_EXECUTION_REJECTED,
+                        workerPool.name
+                ));
+    }
+
+    /**
+     * @return Usage statistics of the worker pool of every blocking plugin that has been run so far, keyed by the
+     * plugin executor's name.
+     */
+    public Map<String, WorkerPoolStats> getWorkerPoolStats() {
+        return workerPools.values()
+                .stream()
+                .collect(Collectors.toMap(workerPool -> workerPool.name, WorkerPool::getStats));
+    }
+
+    private WorkerPool getWorkerPool(PluginExecutor<?> pluginExecutor) {
+        return workerPools.computeIfAbsent(
+                pluginExecutor.getClass().getName(),
+                key -> new WorkerPool(pluginExecutor.getClass().getSimpleName(), maxThreads, queueCapacity)
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPools.values().forEach(workerPool -> workerPool.scheduler.dispose());
+        workerPools.clear();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class WorkerPoolStats {
+        private final int activeThreads;
+        private final int poolSize;
+        private final int queuedTasks;
+        private final long completedTasks;
+        private final long rejectedTasks;
+    }
+
+    private static class WorkerPool {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final Scheduler scheduler;
+        private final AtomicLong rejectedTasks = new AtomicLong();
+
+        WorkerPool(String name, int maxThreads, int queueCapacity) {
+            this.name = name;
+
+            final AtomicInteger threadCounter = new AtomicInteger();
+            final ThreadFactory threadFactory = runnable -> {
+                final Thread thread = new Thread(runnable, "plugin-" + name + "-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+
+            executor = new ThreadPoolExecutor(
+                    maxThreads,
+                    maxThreads,
+                    IDLE_THREAD_KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    threadFactory,
+                    (runnable, threadPoolExecutor) -> {
+                        rejectedTasks.incrementAndGet();
+                        log.warn("Rejecting execution on plugin {}, since all {} workers are busy and {} tasks are queued.",
+                                name, threadPoolExecutor.getActiveCount(), threadPoolExecutor.getQueue().size());
+                        throw new RejectedExecutionException("Worker pool of plugin " + name + " is full.");
+                    }
+            );
+            // Let the threads of plugins that are rarely used go away when idle.
+            executor.allowCoreThreadTimeOut(true);
+
+            scheduler = Schedulers.fromExecutorService(executor);
+        }
+
+        WorkerPoolStats getStats() {
+            return new WorkerPoolStats(
+                    executor.getActiveCount(),
+                    executor.getPoolSize(),
+                    executor.getQueue().size(),
+                    executor.getCompletedTaskCount(),
+                    rejectedTasks.get()
+            );
+        }
+    }
+
+}
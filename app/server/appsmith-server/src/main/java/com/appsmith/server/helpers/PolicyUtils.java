@@ -186,8 +186,8 @@ public class PolicyUtils {
                         return removePoliciesFromExistingObject(newPagePoliciesMap, page);
                     }
                 })
-                .collectList()
-                .flatMapMany(updatedPages -> pageRepository.saveAll(updatedPages));
+                // Only the policies are written, so that changes made to the layouts since they were read are kept.
+                .flatMap(pageRepository::updatePolicies);
     }
 
     public Flux<Action> updateWithPagePermissionsToAllItsActions(String pageId, Map<String, Policy> newActionPoliciesMap, boolean addPolicyToObject) {
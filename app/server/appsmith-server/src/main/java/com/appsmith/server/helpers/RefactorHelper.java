@@ -0,0 +1,248 @@
+package com.appsmith.server.helpers;
+
+import net.minidev.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renames references to a widget or an action in the Mustache templates of a DSL or an action configuration. The JS
+ * inside each interpolation is tokenized, so only identifiers that refer to the old name are renamed. Properties
+ * accessed on other objects, object keys, string literals and comments are left as they are, and so is the text
+ * outside the interpolations.
+ */
+public class RefactorHelper {
+
+    /**
+     * @return The template with the references to the old name renamed, or the same String instance if it has none.
+     */
+    public static String renameReferences(String template, String oldName, String newName) {
+        if (template == null || !template.contains("{{") || !template.contains(oldName)) {
+            return template;
+        }
+
+        final StringBuilder result = new StringBuilder(template.length());
+        boolean isChanged = false;
+
+        for (String token : MustacheHelper.tokenize(template)) {
+            if (token.startsWith("{{") && token.endsWith("}}")) {
+                final String js = token.substring(2, token.length() - 2);
+                final String renamedJs = renameReferencesInJs(js, oldName, newName);
+                if (renamedJs != js) {
+                    isChanged = true;
+                    result.append("{{").append(renamedJs).append("}}");
+                    continue;
+                }
+            }
+            result.append(token);
+        }
+
+        return isChanged ? result.toString() : template;
+    }
+
+    /**
+     * Renames references in the Strings found in the given JSON value, like a property of a widget. Maps and lists
+     * that have changes are copied, so the given value is never modified.
+     *
+     * @return The value with the references renamed, or the same instance if it has none.
+     */
+    public static Object renameReferencesInValue(Object value, String oldName, String newName) {
+        if (value instanceof String) {
+            return renameReferences((String) value, oldName, newName);
+
+        } else if (value instanceof Map) {
+            JSONObject renamedMap = null;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                final Object renamedValue = renameReferencesInValue(entry.getValue(), oldName, newName);
+                if (renamedValue != entry.getValue()) {
+                    if (renamedMap == null) {
+                        renamedMap = copyOf((Map<?, ?>) value);
+                    }
+                    renamedMap.put(String.valueOf(entry.getKey()), renamedValue);
+                }
+            }
+            return renamedMap == null ? value : renamedMap;
+
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            List<Object> renamedList = null;
+            for (int i = 0; i < list.size(); i++) {
+                final Object renamedValue = renameReferencesInValue(list.get(i), oldName, newName);
+                if (renamedValue != list.get(i)) {
+                    if (renamedList == null) {
+                        renamedList = new ArrayList<>(list);
+                    }
+                    renamedList.set(i, renamedValue);
+                }
+            }
+            return renamedList == null ? value : renamedList;
+
+        }
+
+        return value;
+    }
+
+    /**
+     * @return A copy of the map as a JSON object, which is what DSLs are made of.
+     */
+    public static JSONObject copyOf(Map<?, ?> map) {
+        final JSONObject copy = new JSONObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            copy.put(String.valueOf(entry.getKey()), entry.getValue());
+        }
+        return copy;
+    }
+
+    /**
+     * @return The JS with the references to the old name renamed, or the same String instance if it has none.
+     */
+    static String renameReferencesInJs(String js, String oldName, String newName) {
+        final List<Integer> positions = new ArrayList<>();
+        scanCode(js, 0, false, oldName, positions);
+        if (positions.isEmpty()) {
+            return js;
+        }
+
+        final StringBuilder result = new StringBuilder(js.length() + positions.size() * (newName.length() - oldName.length()));
+        int copiedUpTo = 0;
+        for (int position : positions) {
+            result.append(js, copiedUpTo, position).append(newName);
+            copiedUpTo = position + oldName.length();
+        }
+        result.append(js, copiedUpTo, js.length());
+
+        return result.toString();
+    }
+
+    /**
+     * Scans JS code, adding the positions of the references to the name to the list.
+     *
+     * @param isTemplateExpression Whether the code is an expression in a template literal, which ends at the first
+     *                             unmatched closing brace.
+     * @return Position after the end of the scanned code.
+     */
+    private static int scanCode(String js, int start, boolean isTemplateExpression, String name, List<Integer> positions) {
+        int braceDepth = 0;
+        int i = start;
+
+        while (i < js.length()) {
+            final char c = js.charAt(i);
+            final char next = i + 1 < js.length() ? js.charAt(i + 1) : 0;
+
+            if (c == '\'' || c == '"') {
+                i = skipString(js, i + 1, c);
+
+            } else if (c == '`') {
+                i = scanTemplateLiteral(js, i + 1, name, positions);
+
+            } else if (c == '/' && next == '/') {
+                final int end = js.indexOf('\n', i);
+                i = end < 0 ? js.length() : end + 1;
+
+            } else if (c == '/' && next == '*') {
+                final int end = js.indexOf("*/", i + 2);
+                i = end < 0 ? js.length() : end + 2;
+
+            } else if (c == '{') {
+                braceDepth++;
+                i++;
+
+            } else if (c == '}') {
+                if (isTemplateExpression && braceDepth == 0) {
+                    return i + 1;
+                }
+                braceDepth--;
+                i++;
+
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < js.length() && Character.isJavaIdentifierPart(js.charAt(end))) {
+                    end++;
+                }
+                if (end - i == name.length() && js.startsWith(name, i) && isReference(js, i, end)) {
+                    positions.add(i);
+                }
+                i = end;
+
+            } else if (Character.isDigit(c)) {
+                // Skip numbers whole, so that suffixes like the `e5` in `1e5` aren't taken for identifiers.
+                while (i < js.length() && (Character.isLetterOrDigit(js.charAt(i)) || js.charAt(i) == '.')) {
+                    i++;
+                }
+
+            } else {
+                i++;
+            }
+        }
+
+        return i;
+    }
+
+    /**
+     * @return Position after the quote that closes the string.
+     */
+    private static int skipString(String js, int start, char quote) {
+        int i = start;
+        while (i < js.length()) {
+            final char c = js.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Skips the text of a template literal, scanning the expressions in it as code.
+     *
+     * @return Position after the backtick that closes the template literal.
+     */
+    private static int scanTemplateLiteral(String js, int start, String name, List<Integer> positions) {
+        int i = start;
+        while (i < js.length()) {
+            final char c = js.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '`') {
+                return i + 1;
+            } else if (c == '$' && i + 1 < js.length() && js.charAt(i + 1) == '{') {
+                i = scanCode(js, i + 2, true, name, positions);
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * @return Whether the identifier between the given positions refers to a variable, rather than being a property
+     * accessed on some other object, like in `Input1.oldName`, or a key in an object literal, like in
+     * `{ oldName: 1 }`.
+     */
+    private static boolean isReference(String js, int start, int end) {
+        int before = start - 1;
+        while (before >= 0 && Character.isWhitespace(js.charAt(before))) {
+            before--;
+        }
+        int after = end;
+        while (after < js.length() && Character.isWhitespace(js.charAt(after))) {
+            after++;
+        }
+
+        final char previous = before >= 0 ? js.charAt(before) : 0;
+        final char following = after < js.length() ? js.charAt(after) : 0;
+
+        if (previous == '.') {
+            // A spread, like in `[...oldName]`, is still a reference.
+            return before >= 2 && js.charAt(before - 1) == '.' && js.charAt(before - 2) == '.';
+        }
+
+        return !(following == ':' && (previous == '{' || previous == ','));
+    }
+
+}
@@ -5,17 +5,9 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Set;
-
 @Repository
 public interface ActionRepository extends BaseRepository<Action, String>, CustomActionRepository {
 
-    Flux<Action> findDistinctActionsByNameInAndPageIdAndActionConfiguration_HttpMethodAndUserSetOnLoad(
-            Set<String> names, String pageId, String httpMethod, Boolean userSetOnLoad);
-
-    Flux<Action> findDistinctActionsByNameInAndPageIdAndExecuteOnLoadTrue(
-            Set<String> names, String pageId);
-
     Mono<Long> countByDatasourceId(String datasourceId);
 
     Flux<Action> findByPageId(String pageId);
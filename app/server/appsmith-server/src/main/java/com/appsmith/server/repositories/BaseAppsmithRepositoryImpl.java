@@ -18,6 +18,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Field;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
@@ -28,6 +29,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 
@@ -139,6 +141,14 @@ public abstract class BaseAppsmithRepositoryImpl<T extends BaseDomain> {
     }
 
     protected Mono<T> queryOne(List<Criteria> criterias, AclPermission aclPermission) {
+        return queryOne(criterias, null, aclPermission);
+    }
+
+    /**
+     * @param projection Selects the fields of the document to load, or null to load all of them. Fields that aren't
+     *                   loaded are left at their defaults in the returned object.
+     */
+    protected Mono<T> queryOne(List<Criteria> criterias, Consumer<Field> projection, AclPermission aclPermission) {
         return ReactiveSecurityContextHolder.getContext()
                 .map(ctx -> ctx.getAuthentication())
                 .flatMap(auth -> {
@@ -146,6 +156,9 @@ public abstract class BaseAppsmithRepositoryImpl<T extends BaseDomain> {
                     Query query = new Query();
                     criterias.stream()
                             .forEach(criteria -> query.addCriteria(criteria));
+                    if (projection != null) {
+                        projection.accept(query.fields());
+                    }
                     if (aclPermission == null) {
                         query.addCriteria(new Criteria().andOperator(notDeleted()));
                     } else {
@@ -164,6 +177,14 @@ public abstract class BaseAppsmithRepositoryImpl<T extends BaseDomain> {
     }
 
     public Flux<T> queryAll(List<Criteria> criterias, AclPermission aclPermission, Sort sort) {
+        return queryAll(criterias, null, aclPermission, sort);
+    }
+
+    /**
+     * @param projection Selects the fields of the documents to load, or null to load all of them. Fields that aren't
+     *                   loaded are left at their defaults in the returned objects.
+     */
+    public Flux<T> queryAll(List<Criteria> criterias, Consumer<Field> projection, AclPermission aclPermission, Sort sort) {
         return ReactiveSecurityContextHolder.getContext()
                 .map(ctx -> ctx.getAuthentication())
                 .flatMapMany(auth -> {
@@ -171,6 +192,9 @@ public abstract class BaseAppsmithRepositoryImpl<T extends BaseDomain> {
                     Query query = new Query();
                     criterias.stream()
                             .forEach(criteria -> query.addCriteria(criteria));
+                    if (projection != null) {
+                        projection.accept(query.fields());
+                    }
                     if (aclPermission == null) {
                         query.addCriteria(new Criteria().andOperator(notDeleted()));
                     } else {
@@ -21,4 +21,10 @@ public interface CustomActionRepository extends AppsmithRepository<Action> {
                                                                                AclPermission aclPermission);
 
     Flux<Action> findAllActionsByNameAndPageIds(String name, List<String> pageIds, AclPermission aclPermission, Sort sort);
+
+    Flux<Action> findAllByIds(Set<String> ids, AclPermission aclPermission);
+
+    Mono<Long> setExecuteOnLoadByIds(Set<String> ids);
+
+    Mono<Void> updateConfigurations(List<Action> actions);
 }
@@ -1,13 +1,23 @@
 package com.appsmith.server.repositories;
 
 import com.appsmith.external.models.QActionConfiguration;
+import com.appsmith.external.models.QBaseDomain;
 import com.appsmith.server.acl.AclPermission;
 import com.appsmith.server.domains.Action;
 import com.appsmith.server.domains.QAction;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -76,4 +86,57 @@ public class CustomActionRepositoryImpl extends BaseAppsmithRepositoryImpl<Actio
 
         return queryAll(criteriaList, aclPermission, sort);
     }
+
+    @Override
+    public Flux<Action> findAllByIds(Set<String> ids, AclPermission aclPermission) {
+        Criteria idsCriteria = where(fieldName(QAction.action.id)).in(ids);
+        return queryAll(List.of(idsCriteria), aclPermission);
+    }
+
+    /**
+     * Sets `executeOnLoad` to true on all the given actions, with a single update.
+     *
+     * @return Number of actions that were modified.
+     */
+    @Override
+    public Mono<Long> setExecuteOnLoadByIds(Set<String> ids) {
+        Query query = new Query(where(fieldName(QAction.action.id)).in(ids));
+        // `updatedAt` is left as it is, since it keys the cached binding plans and results of the actions, which this
+        // doesn't change.
+        Update update = new Update().set(fieldName(QAction.action.executeOnLoad), true);
+
+        return mongoOperations.updateMulti(query, update, Action.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    /**
+     * Writes the action configurations and json path keys of all the given actions, with a single bulk write.
+     */
+    @Override
+    public Mono<Void> updateConfigurations(List<Action> actions) {
+        if (actions.isEmpty()) {
+            return Mono.empty();
+        }
+
+        List<String> fields = List.of(
+                fieldName(QAction.action.actionConfiguration),
+                fieldName(QAction.action.jsonPathKeys),
+                fieldName(QBaseDomain.baseDomain.updatedAt)
+        );
+
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        for (Action action : actions) {
+            // Convert the action the way saving it would, to set the fields to the same values.
+            Document actionDocument = new Document();
+            mongoConverter.write(action, actionDocument);
+
+            List<Bson> sets = new ArrayList<>();
+            for (String field : fields) {
+                sets.add(Updates.set(field, actionDocument.get(field)));
+            }
+            updates.add(new UpdateOneModel<>(Filters.eq("_id", actionDocument.get("_id")), Updates.combine(sets)));
+        }
+
+        return mongoOperations.execute(Action.class, collection -> collection.bulkWrite(updates)).then();
+    }
 }
@@ -1,10 +1,14 @@
 package com.appsmith.server.repositories;
 
 import com.appsmith.server.acl.AclPermission;
+import com.appsmith.server.domains.Layout;
 import com.appsmith.server.domains.Page;
+import com.querydsl.core.types.Path;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface CustomPageRepository extends AppsmithRepository<Page> {
     Mono<Page> findByIdAndLayoutsId(String id, String layoutId, AclPermission aclPermission);
 
@@ -13,4 +17,18 @@ public interface CustomPageRepository extends AppsmithRepository<Page> {
     Flux<Page> findByApplicationId(String applicationId, AclPermission aclPermission);
 
     Mono<Page> findByNameAndApplicationId(String name, String applicationId, AclPermission aclPermission);
+
+    Mono<Page> findById(String id, AclPermission aclPermission, boolean viewMode);
+
+    Mono<Page> findByIdAndLayoutsId(String id, String layoutId, AclPermission aclPermission, boolean viewMode);
+
+    Mono<Page> findByNameAndApplicationId(String name, String applicationId, AclPermission aclPermission, boolean viewMode);
+
+    Flux<Page> findNamesByApplicationId(String applicationId, AclPermission aclPermission);
+
+    Mono<Page> updateLayoutFields(Page page, List<Layout> layouts, Path<?>... layoutFields);
+
+    Mono<Page> addLayout(Page page, Layout layout);
+
+    Mono<Page> updatePolicies(Page page);
 }
@@ -1,22 +1,49 @@
 package com.appsmith.server.repositories;
 
+import com.appsmith.external.models.QBaseDomain;
 import com.appsmith.server.acl.AclPermission;
+import com.appsmith.server.constants.FieldName;
+import com.appsmith.server.domains.Layout;
 import com.appsmith.server.domains.Page;
 import com.appsmith.server.domains.QLayout;
 import com.appsmith.server.domains.QPage;
+import com.appsmith.server.exceptions.AppsmithError;
+import com.appsmith.server.exceptions.AppsmithException;
+import com.mongodb.DBObject;
+import com.querydsl.core.types.Path;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 
 public class CustomPageRepositoryImpl extends BaseAppsmithRepositoryImpl<Page>
         implements CustomPageRepository {
 
+    // Fields of a layout that are only used when editing the page.
+    private static final List<Path<?>> EDIT_MODE_LAYOUT_FIELDS = List.of(
+            QLayout.layout.dsl,
+            QLayout.layout.layoutActions,
+            QLayout.layout.layoutOnLoadActions,
+            QLayout.layout.widgetNames,
+            QLayout.layout.widgetBindingNames
+    );
+
+    // Fields of a layout that are only used when viewing the published page.
+    private static final List<Path<?>> VIEW_MODE_LAYOUT_FIELDS = List.of(
+            QLayout.layout.publishedDsl,
+            QLayout.layout.publishedLayoutActions,
+            QLayout.layout.publishedLayoutOnLoadActions
+    );
+
     public CustomPageRepositoryImpl(ReactiveMongoOperations mongoOperations, MongoConverter mongoConverter) {
         super(mongoOperations, mongoConverter);
     }
@@ -33,6 +60,16 @@ public class CustomPageRepositoryImpl extends BaseAppsmithRepositoryImpl<Page>
         return queryOne(criterias, aclPermission);
     }
 
+    @Override
+    public Mono<Page> findByIdAndLayoutsId(String id, String layoutId, AclPermission aclPermission, boolean viewMode) {
+        Criteria idCriteria = getIdCriteria(id);
+        String layoutsIdKey = fieldName(QPage.page.layouts) + "." + fieldName(QLayout.layout.id);
+        Criteria layoutCriteria = where(layoutsIdKey).is(layoutId);
+
+        List<Criteria> criterias = List.of(idCriteria, layoutCriteria);
+        return queryOne(criterias, excludeLayoutFieldsNotUsedIn(viewMode), aclPermission);
+    }
+
     @Override
     public Mono<Page> findByName(String name, AclPermission aclPermission) {
         Criteria nameCriteria = where(fieldName(QPage.page.name)).is(name);
@@ -51,4 +88,128 @@ public class CustomPageRepositoryImpl extends BaseAppsmithRepositoryImpl<Page>
         Criteria applicationIdCriteria = where(fieldName(QPage.page.applicationId)).is(applicationId);
         return queryOne(List.of(nameCriteria, applicationIdCriteria), aclPermission);
     }
+
+    /**
+     * Finds a page to be returned to the client in edit or view mode. Its layouts only have the fields used in that
+     * mode, so that viewing a page doesn't load the DSL being edited, and the other way round.
+     */
+    @Override
+    public Mono<Page> findById(String id, AclPermission aclPermission, boolean viewMode) {
+        return queryOne(List.of(getIdCriteria(id)), excludeLayoutFieldsNotUsedIn(viewMode), aclPermission);
+    }
+
+    @Override
+    public Mono<Page> findByNameAndApplicationId(String name, String applicationId, AclPermission aclPermission, boolean viewMode) {
+        Criteria nameCriteria = where(fieldName(QPage.page.name)).is(name);
+        Criteria applicationIdCriteria = where(fieldName(QPage.page.applicationId)).is(applicationId);
+        return queryOne(List.of(nameCriteria, applicationIdCriteria), excludeLayoutFieldsNotUsedIn(viewMode), aclPermission);
+    }
+
+    /**
+     * @return Pages of the application with only their ids and names.
+     */
+    @Override
+    public Flux<Page> findNamesByApplicationId(String applicationId, AclPermission aclPermission) {
+        Criteria applicationIdCriteria = where(fieldName(QPage.page.applicationId)).is(applicationId);
+        return queryAll(List.of(applicationIdCriteria), fields -> fields.include(fieldName(QPage.page.name)), aclPermission, null);
+    }
+
+    private static Consumer<Field> excludeLayoutFieldsNotUsedIn(boolean viewMode) {
+        String layoutsKey = fieldName(QPage.page.layouts);
+        List<Path<?>> excludedFields = viewMode ? EDIT_MODE_LAYOUT_FIELDS : VIEW_MODE_LAYOUT_FIELDS;
+        return fields -> {
+            for (Path<?> field : excludedFields) {
+                fields.exclude(layoutsKey + "." + fieldName(field));
+            }
+        };
+    }
+
+    /**
+     * Sets the given fields of some of the layouts of a page, to their values in those layouts, without writing the
+     * rest of the page. The update only applies if the page is still at the version it was read at, and increments
+     * that version, so that concurrent updates of the page don't overwrite each other's changes. The layouts are
+     * addressed by their position in the page, which the version check guarantees hasn't changed.
+     *
+     * @param page         Page as it was read, with the layouts changed.
+     * @param layouts      Layouts of the page whose fields to set.
+     * @param layoutFields Fields of the layouts to set.
+     * @return The page, with its version incremented. Errors with `CONCURRENT_PAGE_UPDATE` if the page has been
+     * updated since it was read.
+     */
+    @Override
+    public Mono<Page> updateLayoutFields(Page page, List<Layout> layouts, Path<?>... layoutFields) {
+        String layoutsKey = fieldName(QPage.page.layouts);
+        String versionKey = fieldName(QPage.page.version);
+        List<Layout> pageLayouts = page.getLayouts();
+
+        Update update = new Update().inc(versionKey, 1);
+        for (Layout layout : layouts) {
+            int index = -1;
+            for (int i = 0; i < pageLayouts.size(); i++) {
+                if (pageLayouts.get(i).getId().equals(layout.getId())) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, FieldName.LAYOUT_ID, layout.getId()));
+            }
+
+            // Convert the layout the way saving the page would, to set the fields to the same values.
+            DBObject layoutObject = getDbObject(layout);
+            for (Path<?> field : layoutFields) {
+                String name = fieldName(field);
+                update.set(layoutsKey + "." + index + "." + name, layoutObject.get(name));
+            }
+        }
+
+        // Pages saved before versions were added match a null version.
+        Query query = new Query(getIdCriteria(page.getId()));
+        query.addCriteria(where(versionKey).is(page.getVersion()));
+
+        return mongoOperations.updateFirst(query, update, Page.class)
+                .flatMap(result -> {
+                    if (result.getMatchedCount() == 0) {
+                        return Mono.error(new AppsmithException(AppsmithError.CONCURRENT_PAGE_UPDATE, page.getId()));
+                    }
+                    page.setVersion(page.getVersion() == null ? 1 : page.getVersion() + 1);
+                    return Mono.just(page);
+                });
+    }
+
+    /**
+     * Appends the layout to the layouts of the page, without writing the rest of the page, and increments the page's
+     * version. The layouts already in the page stay where they are, so this doesn't need to be checked against the
+     * version the page was read at.
+     *
+     * @return The page, as it was given.
+     */
+    @Override
+    public Mono<Page> addLayout(Page page, Layout layout) {
+        Update update = new Update()
+                .push(fieldName(QPage.page.layouts), getDbObject(layout))
+                .inc(fieldName(QPage.page.version), 1);
+
+        return mongoOperations.updateFirst(new Query(getIdCriteria(page.getId())), update, Page.class)
+                .flatMap(result -> {
+                    if (result.getMatchedCount() == 0) {
+                        return Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, FieldName.PAGE_ID, page.getId()));
+                    }
+                    return Mono.just(page);
+                });
+    }
+
+    /**
+     * Sets the policies of the page to the ones it has, without writing the rest of the page.
+     *
+     * @return The page, as it was given.
+     */
+    @Override
+    public Mono<Page> updatePolicies(Page page) {
+        Update update = new Update()
+                .set(fieldName(QBaseDomain.baseDomain.policies), mongoConverter.convertToMongoType(page.getPolicies()));
+
+        return mongoOperations.updateFirst(new Query(getIdCriteria(page.getId())), update, Page.class)
+                .thenReturn(page);
+    }
 }
@@ -0,0 +1,40 @@
+package com.appsmith.server.services;
+
+import com.appsmith.external.models.ActionExecutionResult;
+import com.appsmith.external.models.PaginationField;
+import com.appsmith.external.models.Param;
+import com.appsmith.server.domains.Action;
+import com.appsmith.server.domains.Datasource;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface ActionExecutionCacheService {
+
+    /**
+     * Computes the key under which the result of executing the given action with the given parameters is cached. The
+     * key includes the `updatedAt` times of the action and the datasource, so that changing either of them makes
+     * results cached before the change unreachable, on all servers.
+     */
+    String getCacheKey(Action action, Datasource datasource, List<Param> params, PaginationField paginationField);
+
+    /**
+     * @return The cached result for the given key, or an empty Mono if there isn't one, or if it has expired.
+     */
+    Mono<ActionExecutionResult> get(String key);
+
+    /**
+     * Caches the given result, unless it's larger than the maximum entry size.
+     *
+     * @param key    Key computed with `getCacheKey`.
+     * @param action Action that was executed.
+     * @param result Result of the execution, which should be a successful one.
+     * @param ttl    Duration for which the result can be reused. Capped to the configured maximum.
+     */
+    Mono<Void> put(String key, Action action, ActionExecutionResult result, Duration ttl);
+
+    Mono<Void> invalidateAction(String actionId);
+
+    Mono<Void> invalidateDatasource(String datasourceId);
+}
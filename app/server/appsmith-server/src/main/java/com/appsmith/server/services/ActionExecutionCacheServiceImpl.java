@@ -0,0 +1,247 @@
+package com.appsmith.server.services;
+
+import com.appsmith.external.models.ActionExecutionResult;
+import com.appsmith.external.models.PaginationField;
+import com.appsmith.external.models.Param;
+import com.appsmith.server.domains.Action;
+import com.appsmith.server.domains.Datasource;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the results of successful action executions, for actions that have caching turned on. Results are shared
+ * across servers through Redis, and the most recently used ones are also held in memory, up to a total size in bytes,
+ * so that repeated executions on the same server don't even need a round trip to Redis.
+ */
+@Slf4j
+@Service
+public class ActionExecutionCacheServiceImpl implements ActionExecutionCacheService {
+
+    private static final String KEY_PREFIX = "action:result:";
+
+    // Sets of the keys of results cached for an action, or a datasource, so that they can be deleted explicitly.
+    private static final String ACTION_INDEX_PREFIX = "action:resultIndex:action:";
+    private static final String DATASOURCE_INDEX_PREFIX = "action:resultIndex:datasource:";
+
+    // Separates the expiry time from the serialized result in values stored in Redis.
+    private static final char EXPIRY_SEPARATOR = '\n';
+
+    private final ReactiveRedisOperations<String, String> reactiveRedisOperations;
+    private final ObjectMapper objectMapper;
+    private final long maxEntryBytes;
+    private final Duration maxTtl;
+
+    private final Cache<String, CachedResult> localResults;
+
+    @Autowired
+    public ActionExecutionCacheServiceImpl(ReactiveRedisOperations<String, String> reactiveRedisOperations,
+                                           ObjectMapper objectMapper,
+                                           @Value("${action.result-cache.max-bytes:67108864}") long maxBytes,
+                                           @Value("${action.result-cache.max-entry-bytes:1048576}") long maxEntryBytes,
+                                           @Value("${action.result-cache.max-ttl-seconds:3600}") long maxTtlSeconds) {
+        this.reactiveRedisOperations = reactiveRedisOperations;
+        this.objectMapper = objectMapper;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+
+        localResults = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResult value) -> value.json.length)
+                // Entries also carry their own expiry time, which is checked on every read. This just makes sure
+                // memory is reclaimed for entries that aren't read again.
+                .expireAfterWrite(maxTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public String getCacheKey(Action action, Datasource datasource, List<Param> params, PaginationField paginationField) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+
+        if (params != null) {
+            // Params are sorted so that the order in which the client sends them doesn't matter.
+            final List<Param> sortedParams = params.stream()
+                    .filter(param -> param.getKey() != null)
+                    .sorted(Comparator.comparing(Param::getKey))
+                    .collect(Collectors.toList());
+            for (Param param : sortedParams) {
+                hasher.putString(param.getKey().trim(), StandardCharsets.UTF_8).putChar('\0');
+                hasher.putString(String.valueOf(param.getValue()), StandardCharsets.UTF_8).putChar('\0');
+            }
+        }
+
+        if (paginationField != null) {
+            hasher.putString(paginationField.name(), StandardCharsets.UTF_8);
+        }
+
+        return KEY_PREFIX + action.getId()
+                + ":" + toEpochMilli(action.getUpdatedAt())
+                + ":" + toEpochMilli(datasource.getUpdatedAt())
+                + ":" + hasher.hash().toString();
+    }
+
+    @Override
+    public Mono<ActionExecutionResult> get(String key) {
+        final CachedResult localResult = localResults.getIfPresent(key);
+        if (localResult != null) {
+            if (localResult.isExpired()) {
+                localResults.invalidate(key);
+            } else {
+                return deserialize(localResult.json);
+            }
+        }
+
+        return reactiveRedisOperations.opsForValue()
+                .get(key)
+                .flatMap(value -> {
+                    final int separatorIndex = value.indexOf(EXPIRY_SEPARATOR);
+                    if (separatorIndex < 0) {
+                        return Mono.empty();
+                    }
+
+                    final long expiresAt = Long.parseLong(value.substring(0, separatorIndex));
+                    final byte[] json = value.substring(separatorIndex + 1).getBytes(StandardCharsets.UTF_8);
+                    final CachedResult cachedResult = new CachedResult(null, json, expiresAt);
+                    if (cachedResult.isExpired()) {
+                        return Mono.empty();
+                    }
+
+                    localResults.put(key, cachedResult);
+                    return deserialize(json);
+                })
+                .onErrorResume(error -> {
+                    log.warn("Error reading cached action result for key {}.", key, error);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Void> put(String key, Action action, ActionExecutionResult result, Duration ttl) {
+        final byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to serialize result of action {} for caching.", action.getId(), e);
+            return Mono.empty();
+        }
+
+        if (json.length > maxEntryBytes) {
+            log.debug("Not caching result of action {}, since it's {} bytes long.", action.getId(), json.length);
+            return Mono.empty();
+        }
+
+        if (ttl.compareTo(maxTtl) > 0) {
+            ttl = maxTtl;
+        }
+
+        final String datasourceId = action.getDatasource() == null ? null : action.getDatasource().getId();
+        final long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        localResults.put(key, new CachedResult(datasourceId, json, expiresAt));
+
+        final String value = expiresAt + String.valueOf(EXPIRY_SEPARATOR) + new String(json, StandardCharsets.UTF_8);
+        final Duration finalTtl = ttl;
+
+        Mono<Void> indexMono = addToIndex(ACTION_INDEX_PREFIX + action.getId(), key, finalTtl);
+        if (datasourceId != null) {
+            indexMono = indexMono.then(addToIndex(DATASOURCE_INDEX_PREFIX + datasourceId, key, finalTtl));
+        }
+
+        return reactiveRedisOperations.opsForValue()
+                .set(key, value, finalTtl)
+                .then(indexMono)
+                .onErrorResume(error -> {
+                    log.warn("Error caching result of action {}.", action.getId(), error);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Void> invalidateAction(String actionId) {
+        final String keyPrefix = KEY_PREFIX + actionId + ":";
+        return invalidate(ACTION_INDEX_PREFIX + actionId, (key, cachedResult) -> key.startsWith(keyPrefix));
+    }
+
+    @Override
+    public Mono<Void> invalidateDatasource(String datasourceId) {
+        return invalidate(
+                DATASOURCE_INDEX_PREFIX + datasourceId,
+                (key, cachedResult) -> datasourceId.equals(cachedResult.datasourceId)
+        );
+    }
+
+    private Mono<Void> invalidate(String indexKey, BiPredicate<String, CachedResult> isAffected) {
+        localResults.asMap().entrySet().removeIf(entry -> isAffected.test(entry.getKey(), entry.getValue()));
+
+        // Results held in memory on other servers (or loaded from Redis, which don't know their datasource) are
+        // unreachable after an update anyway, since the key includes the `updatedAt` times of the action and the
+        // datasource. Deleting them from Redis frees up the space right away.
+        return reactiveRedisOperations.opsForSet()
+                .members(indexKey)
+                .collectList()
+                .flatMap(keys -> {
+                    keys.add(indexKey);
+                    return reactiveRedisOperations.delete(keys.toArray(new String[0]));
+                })
+                .onErrorResume(error -> {
+                    log.warn("Error invalidating cached action results in {}.", indexKey, error);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Void> addToIndex(String indexKey, String key, Duration ttl) {
+        return reactiveRedisOperations.opsForSet()
+                .add(indexKey, key)
+                .then(reactiveRedisOperations.expire(indexKey, ttl))
+                .then();
+    }
+
+    private Mono<ActionExecutionResult> deserialize(byte[] json) {
+        try {
+            return Mono.just(objectMapper.readValue(json, ActionExecutionResult.class));
+        } catch (IOException e) {
+            log.warn("Unable to read cached action result.", e);
+            return Mono.empty();
+        }
+    }
+
+    private static long toEpochMilli(Instant instant) {
+        return instant == null ? 0 : instant.toEpochMilli();
+    }
+
+    private static class CachedResult {
+        private final String datasourceId;
+        private final byte[] json;
+        private final long expiresAt;
+
+        CachedResult(String datasourceId, byte[] json, long expiresAt) {
+            this.datasourceId = datasourceId;
+            this.json = json;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+}
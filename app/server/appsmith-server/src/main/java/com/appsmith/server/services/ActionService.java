@@ -1,13 +1,17 @@
 package com.appsmith.server.services;
 
 import com.appsmith.external.models.ActionExecutionResult;
+import com.appsmith.external.models.RowsChunk;
 import com.appsmith.server.acl.AclPermission;
 import com.appsmith.server.domains.Action;
+import com.appsmith.server.dtos.ActionExecutionBatchResultDTO;
 import com.appsmith.server.dtos.ActionViewDTO;
+import com.appsmith.server.dtos.ExecuteActionBatchDTO;
 import com.appsmith.server.dtos.ExecuteActionDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -15,11 +19,23 @@ public interface ActionService extends CrudService<Action, String> {
 
     Mono<ActionExecutionResult> executeAction(ExecuteActionDTO executeActionDTO);
 
+    Flux<ActionExecutionBatchResultDTO> executeActions(ExecuteActionBatchDTO executeActionBatchDTO);
+
+    Flux<RowsChunk> executeActionStreaming(ExecuteActionDTO executeActionDTO);
+
     Mono<Action> save(Action action);
 
     Mono<Action> findByNameAndPageId(String name, String pageId, AclPermission permission);
 
-    Flux<Action> findOnLoadActionsInPage(Set<String> names, String pageId);
+    /**
+     * Sets `executeOnLoad` to true on all the given actions at once.
+     */
+    Mono<Void> markExecuteOnLoad(Set<String> actionIds);
+
+    /**
+     * Saves the action configurations and json path keys of all the given actions at once.
+     */
+    Mono<Void> updateConfigurations(List<Action> actions);
 
     Mono<Action> validateAndSaveActionToRepository(Action action);
 
@@ -34,4 +50,15 @@ public interface ActionService extends CrudService<Action, String> {
     Flux<ActionViewDTO> getActionsForViewMode(String applicationId);
 
     Mono<Action> findById(String id, AclPermission aclPermission);
+
+    /**
+     * @return Number of executions that were served by an identical execution that was already in flight, instead of
+     * calling the plugin themselves.
+     */
+    long getCoalescedExecutionCount();
+
+    /**
+     * @return Number of executions whose result was truncated by the plugin, for hitting the row or byte limit.
+     */
+    long getTruncatedExecutionCount();
 }
@@ -2,12 +2,14 @@ package com.appsmith.server.services;
 
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionResult;
+import com.appsmith.external.models.BaseDomain;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.PaginationField;
 import com.appsmith.external.models.PaginationType;
 import com.appsmith.external.models.Param;
 import com.appsmith.external.models.Policy;
 import com.appsmith.external.models.Property;
+import com.appsmith.external.models.RowsChunk;
 import com.appsmith.external.models.Provider;
 import com.appsmith.external.pluginExceptions.AppsmithPluginError;
 import com.appsmith.external.pluginExceptions.AppsmithPluginException;
@@ -23,17 +25,27 @@ import com.appsmith.server.domains.Page;
 import com.appsmith.server.domains.Plugin;
 import com.appsmith.server.domains.PluginType;
 import com.appsmith.server.domains.User;
+import com.appsmith.server.dtos.ActionExecutionBatchResultDTO;
 import com.appsmith.server.dtos.ActionViewDTO;
+import com.appsmith.server.dtos.ExecuteActionBatchDTO;
 import com.appsmith.server.dtos.ExecuteActionDTO;
 import com.appsmith.server.exceptions.AppsmithError;
 import com.appsmith.server.exceptions.AppsmithException;
+import com.appsmith.server.helpers.BeanCopyUtils;
+import com.appsmith.server.helpers.BindingPlan;
 import com.appsmith.server.helpers.MustacheHelper;
 import com.appsmith.server.helpers.PluginExecutorHelper;
+import com.appsmith.server.helpers.PluginSchedulerHelper;
 import com.appsmith.server.repositories.ActionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.ArrayUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
@@ -41,9 +53,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuple3;
+import reactor.util.function.Tuples;
 
 import javax.lang.model.SourceVersion;
 import javax.validation.Validator;
@@ -51,11 +67,16 @@ import javax.validation.constraints.NotNull;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static com.appsmith.server.acl.AclPermission.EXECUTE_ACTIONS;
@@ -76,10 +97,39 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
     private final ObjectMapper objectMapper;
     private final DatasourceContextService datasourceContextService;
     private final PluginExecutorHelper pluginExecutorHelper;
+    private final PluginSchedulerHelper pluginSchedulerHelper;
+    private final ActionExecutionCacheService actionExecutionCacheService;
     private final SessionUserService sessionUserService;
     private final MarketplaceService marketplaceService;
     private final PolicyGenerator policyGenerator;
 
+    // Maximum number of actions (and separately, datasources) for which binding plans are held in memory.
+    private static final long MAX_CACHED_BINDING_PLANS = 10000;
+
+    /*
+     * Binding plans for the configurations of actions and datasources, keyed by their ids. Each plan is stored along
+     * with the `updatedAt` time (in epoch millis) of the document it was computed from, so that a plan is recomputed
+     * when the document changes, including when the change was made on another server instance.
+     */
+    private final Cache<String, Tuple2<Long, BindingPlan>> actionBindingPlans = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_BINDING_PLANS)
+            .build();
+    private final Cache<String, Tuple2<Long, BindingPlan>> datasourceBindingPlans = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_BINDING_PLANS)
+            .build();
+
+    // Executions currently in flight for actions that have coalescing turned on, keyed by the action and datasource
+    // ids, along with a hash of the rendered configurations. Identical executions that come in meanwhile wait on these.
+    private final Map<String, Mono<ActionExecutionResult>> inFlightExecutions = new ConcurrentHashMap<>();
+
+    private final AtomicLong coalescedExecutionCount = new AtomicLong();
+
+    // Executions whose result was cut short by the plugin, at its row or byte limit.
+    private final AtomicLong truncatedExecutionCount = new AtomicLong();
+
+    // Maximum number of actions of a batch that are executed at the same time.
+    private final int maxBatchConcurrency;
+
     @Autowired
     public ActionServiceImpl(Scheduler scheduler,
                              Validator validator,
@@ -93,9 +143,12 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
                              ObjectMapper objectMapper,
                              DatasourceContextService datasourceContextService,
                              PluginExecutorHelper pluginExecutorHelper,
+                             PluginSchedulerHelper pluginSchedulerHelper,
+                             ActionExecutionCacheService actionExecutionCacheService,
                              SessionUserService sessionUserService,
                              MarketplaceService marketplaceService,
-                             PolicyGenerator policyGenerator) {
+                             PolicyGenerator policyGenerator,
+                             @Value("${action.batch.max-concurrency:8}") int maxBatchConcurrency) {
         super(scheduler, validator, mongoConverter, reactiveMongoTemplate, repository, analyticsService);
         this.repository = repository;
         this.datasourceService = datasourceService;
@@ -104,9 +157,12 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
         this.objectMapper = objectMapper;
         this.datasourceContextService = datasourceContextService;
         this.pluginExecutorHelper = pluginExecutorHelper;
+        this.pluginSchedulerHelper = pluginSchedulerHelper;
+        this.actionExecutionCacheService = actionExecutionCacheService;
         this.sessionUserService = sessionUserService;
         this.marketplaceService = marketplaceService;
         this.policyGenerator = policyGenerator;
+        this.maxBatchConcurrency = maxBatchConcurrency;
     }
 
     private Boolean validateActionName(String name) {
@@ -236,6 +292,7 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
                 }).map(act -> extractAndSetJsonPathKeys(act))
                 .flatMap(super::create)
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.REPOSITORY_SAVE_FAILED)))
+                .doOnNext(savedAction -> computeBindingPlan(actionBindingPlans, savedAction, savedAction.getActionConfiguration()))
                 .flatMap(this::setTransientFieldsInAction);
     }
 
@@ -274,6 +331,168 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
 
     @Override
     public Mono<ActionExecutionResult> executeAction(ExecuteActionDTO executeActionDTO) {
+        return executeAction(executeActionDTO, new ExecutionLookups(null));
+    }
+
+    /**
+     * Executes the actions of the given batch, one wave after the other, and the actions within a wave in parallel, up
+     * to a bounded number at a time. The actions are fetched with a single query, and datasources and plugins are
+     * fetched once for the whole batch. Results are emitted as soon as each action finishes, so a slow action doesn't
+     * hold up the results of the others in its wave.
+     */
+    @Override
+    public Flux<ActionExecutionBatchResultDTO> executeActions(ExecuteActionBatchDTO executeActionBatchDTO) {
+        final List<List<ExecuteActionDTO>> waves = executeActionBatchDTO.getWaves();
+        if (waves == null) {
+            return Flux.error(new AppsmithException(AppsmithError.INVALID_PARAMETER, "waves"));
+        }
+
+        final Set<String> actionIds = new HashSet<>();
+        for (List<ExecuteActionDTO> wave : waves) {
+            if (wave == null) {
+                return Flux.error(new AppsmithException(AppsmithError.INVALID_PARAMETER, "waves"));
+            }
+            for (ExecuteActionDTO executeActionDTO : wave) {
+                if (executeActionDTO == null || executeActionDTO.getAction() == null) {
+                    return Flux.error(new AppsmithException(AppsmithError.INVALID_PARAMETER, FieldName.ACTION));
+                }
+                if (executeActionDTO.getAction().getId() != null) {
+                    actionIds.add(executeActionDTO.getAction().getId());
+                }
+            }
+        }
+
+        final ExecutionLookups lookups = new ExecutionLookups(
+                repository.findAllByIds(actionIds, EXECUTE_ACTIONS).collectMap(Action::getId).cache()
+        );
+
+        return Flux.range(0, waves.size())
+                .concatMap(waveIndex -> Flux.fromIterable(waves.get(waveIndex))
+                        .flatMap(
+                                executeActionDTO -> executeAction(executeActionDTO, lookups)
+                                        .onErrorResume(error -> {
+                                            log.debug("Error executing action {} in batch.",
+                                                    executeActionDTO.getAction().getId(), error);
+                                            ActionExecutionResult result = new ActionExecutionResult();
+                                            result.setIsExecutionSuccess(false);
+                                            result.setStatusCode(AppsmithError.INTERNAL_SERVER_ERROR.getAppErrorCode().toString());
+                                            result.setBody(error.getMessage());
+                                            return Mono.just(result);
+                                        })
+                                        .map(result -> new ActionExecutionBatchResultDTO(
+                                                executeActionDTO.getAction().getId(), waveIndex, result)),
+                                maxBatchConcurrency
+                        )
+                );
+    }
+
+    /**
+     * Executes the action like `executeAction`, but streams the rows of the result in chunks, as the plugin reads them.
+     * Only plugins that support streaming (like the SQL database plugins) can be executed this way. Results are not
+     * cached, coalesced or recorded as the action's last response, since they aren't held in memory as a whole.
+     */
+    @Override
+    public Flux<RowsChunk> executeActionStreaming(ExecuteActionDTO executeActionDTO) {
+        return resolveExecutionTargets(executeActionDTO, new ExecutionLookups(null))
+                .flatMapMany(tuple -> {
+                    final Action action = tuple.getT1();
+                    final Datasource datasource = tuple.getT2();
+                    final PluginExecutor pluginExecutor = tuple.getT3();
+
+                    if (!pluginExecutor.isStreamingSupported()) {
+                        return Flux.error(new AppsmithException(AppsmithError.UNSUPPORTED_OPERATION));
+                    }
+
+                    final Tuple2<DatasourceConfiguration, ActionConfiguration> configurations =
+                            renderConfigurations(executeActionDTO, action, datasource, pluginExecutor);
+
+                    final Flux<RowsChunk> rowsFlux = datasourceContextService.streamWithDatasourceContext(
+                            datasource,
+                            resourceContext -> pluginSchedulerHelper.streamOnPluginScheduler(
+                                    pluginExecutor,
+                                    () -> pluginExecutor.executeStreaming(
+                                            resourceContext.getConnection(),
+                                            configurations.getT1(),
+                                            configurations.getT2()
+                                    )
+                            ));
+
+                    // The timeout applies to the wait for each chunk, rather than to the whole stream, so that a large
+                    // result can take as long as it needs, as long as it keeps moving. A client that stops reading
+                    // stops the chunks too, so the stream is cancelled, and its connection released, when it times
+                    // out.
+                    final Duration idleTimeout = Duration.ofMillis(configurations.getT2().getTimeoutInMillisecond());
+
+                    // Plugins report stale connections before emitting any rows, so retrying doesn't repeat any rows.
+                    return rowsFlux
+                            .onErrorResume(StaleConnectionException.class, error -> {
+                                log.info("Looks like the connection is stale. Retrying with a fresh context.");
+                                return datasourceContextService
+                                        .deleteDatasourceContext(datasource.getId())
+                                        .thenMany(rowsFlux);
+                            })
+                            .timeout(idleTimeout)
+                            .onErrorMap(TimeoutException.class, error -> new AppsmithPluginException(
+                                    AppsmithPluginError.PLUGIN_ERROR,
+                                    "No rows were streamed for " + idleTimeout.toMillis() + " ms."
+                            ));
+                });
+    }
+
+    private Mono<ActionExecutionResult> executeAction(ExecuteActionDTO executeActionDTO, ExecutionLookups lookups) {
+        // Execute the query
+        Mono<ActionExecutionResult> actionExecutionResultMono = resolveExecutionTargets(executeActionDTO, lookups)
+                .flatMap(tuple -> {
+                    final Action action = tuple.getT1();
+                    final Datasource datasource = tuple.getT2();
+                    final PluginExecutor pluginExecutor = tuple.getT3();
+
+                    final Mono<ActionExecutionResult> executionResultMono = Mono.defer(
+                            () -> executeActionOnPlugin(executeActionDTO, action, datasource, pluginExecutor)
+                    );
+
+                    final Duration cacheTtl = getResultCacheTtl(action, datasource, pluginExecutor);
+                    if (cacheTtl == null) {
+                        return executionResultMono;
+                    }
+
+                    // The cache is looked up with the params as they were sent, before they're substituted into the
+                    // configurations, so that a hit skips the substitution as well.
+                    final String cacheKey = actionExecutionCacheService.getCacheKey(
+                            action, datasource, executeActionDTO.getParams(), executeActionDTO.getPaginationField());
+                    return actionExecutionCacheService.get(cacheKey)
+                            .switchIfEmpty(executionResultMono.flatMap(result -> {
+                                if (!Boolean.TRUE.equals(result.getIsExecutionSuccess())) {
+                                    return Mono.just(result);
+                                }
+                                return actionExecutionCacheService
+                                        .put(cacheKey, action, result, cacheTtl)
+                                        .thenReturn(result);
+                            }));
+                });
+
+        // The last response of an action is not stored, since nothing reads it back.
+        return actionExecutionResultMono
+                .doOnNext(result -> {
+                    if (!Boolean.TRUE.equals(result.getIsExecutionSuccess())) {
+                        log.debug("Action execution resulted in failure beyond the proxy with the result of {}", result);
+                    }
+                })
+                .onErrorResume(AppsmithException.class, error -> {
+                    ActionExecutionResult result = new ActionExecutionResult();
+                    result.setIsExecutionSuccess(false);
+                    result.setStatusCode(error.getAppErrorCode().toString());
+                    result.setBody(error.getMessage());
+                    return Mono.just(result);
+                });
+    }
+
+    /**
+     * Fetches the action to execute (unless it's a dry run), its datasource and the executor of the datasource's plugin,
+     * validating each along the way.
+     */
+    private Mono<Tuple3<Action, Datasource, PluginExecutor>> resolveExecutionTargets(ExecuteActionDTO executeActionDTO,
+                                                                                 ExecutionLookups lookups) {
         Action actionFromDto = executeActionDTO.getAction();
 
         // 1. Validate input parameters which are required for mustache replacements
@@ -291,7 +510,7 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
         // 2. Fetch the query from the DB/from dto to get the type
         Mono<Action> actionMono;
         if (actionFromDto.getId() != null) {
-            actionMono = repository.findById(actionFromDto.getId(), EXECUTE_ACTIONS)
+            actionMono = lookups.findAction(actionFromDto.getId())
                     .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, "action", actionFromDto.getId())))
                     .flatMap(action -> {
                         // This is separately done instead of fetching from the repository using id and isValid. This is
@@ -319,7 +538,7 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
                         return Mono.error(new AppsmithException(AppsmithError.UNSUPPORTED_OPERATION));
                     }
                     if (action.getDatasource() != null && action.getDatasource().getId() != null) {
-                        return datasourceService.findById(action.getDatasource().getId(), EXECUTE_DATASOURCES)
+                        return lookups.findDatasource(action.getDatasource().getId())
                                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, FieldName.DATASOURCE)));
                     }
                     //The data source in the action has not been persisted.
@@ -347,158 +566,281 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
                                 actionFromDto.getId(), ArrayUtils.toString(invalids));
                         return Mono.error(new AppsmithException(AppsmithError.INVALID_DATASOURCE, ArrayUtils.toString(invalids)));
                     }
-                    return pluginService.findById(datasource.getPluginId());
+                    return lookups.findPlugin(datasource.getPluginId());
                 })
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, "plugin")));
 
         Mono<PluginExecutor> pluginExecutorMono = pluginExecutorHelper.getPluginExecutor(pluginMono);
 
-        // 4. Execute the query
-        Mono<ActionExecutionResult> actionExecutionResultMono = Mono
-                .zip(
-                        actionMono,
-                        datasourceMono,
-                        pluginExecutorMono
-                )
-                .flatMap(tuple -> {
-                    final Action action = tuple.getT1();
-                    final Datasource datasource = tuple.getT2();
-                    final PluginExecutor pluginExecutor = tuple.getT3();
+        return Mono.zip(actionMono, datasourceMono, pluginExecutorMono);
+    }
 
-                    DatasourceConfiguration datasourceConfigurationTemp;
-                    ActionConfiguration actionConfigurationTemp;
-                    //Do variable substitution before invoking the plugin
-                    //Do this only if params have been provided in the execute command
-                    if (executeActionDTO.getParams() != null && !executeActionDTO.getParams().isEmpty()) {
-                        Map<String, String> replaceParamsMap = executeActionDTO
-                                .getParams()
-                                .stream()
-                                .collect(Collectors.toMap(
-                                        // Trimming here for good measure. If the keys have space on either side,
-                                        // Mustache won't be able to find the key.
-                                        // We also add a backslash before every double-quote or backslash character
-                                        // because we apply the template replacing in a JSON-stringified version of
-                                        // these properties, where these two characters are escaped.
-                                        p -> p.getKey().trim(), // .replaceAll("[\"\n\\\\]", "\\\\$0"),
-                                        Param::getValue,
-                                        // In case of a conflict, we pick the older value
-                                        (oldValue, newValue) -> oldValue)
-                                );
-
-                        datasourceConfigurationTemp = variableSubstitution(datasource.getDatasourceConfiguration(), replaceParamsMap);
-                        actionConfigurationTemp = variableSubstitution(action.getActionConfiguration(), replaceParamsMap);
-                    } else {
-                        datasourceConfigurationTemp = datasource.getDatasourceConfiguration();
-                        actionConfigurationTemp = action.getActionConfiguration();
-                    }
+    /**
+     * @return The duration for which results of the given action can be reused, or `null` if they shouldn't be cached.
+     * Only saved actions on saved datasources, that have caching turned on, are cached. Of those, only the actions that
+     * the plugin reports as read-only are cached, so that an action that writes data is never skipped.
+     */
+    private Duration getResultCacheTtl(Action action, Datasource datasource, PluginExecutor pluginExecutor) {
+        final ActionConfiguration actionConfiguration = action.getActionConfiguration();
+        if (action.getId() == null
+                || datasource.getId() == null
+                || actionConfiguration == null
+                || actionConfiguration.getCacheTtlInSeconds() == null
+                || actionConfiguration.getCacheTtlInSeconds() <= 0
+                || !pluginExecutor.isReadOnly(actionConfiguration)) {
+            return null;
+        }
 
-                    DatasourceConfiguration datasourceConfiguration;
-                    ActionConfiguration actionConfiguration;
+        return Duration.ofSeconds(actionConfiguration.getCacheTtlInSeconds());
+    }
 
-                    // If the action is paginated, update the configurations to update the correct URL.
-                    if (action.getActionConfiguration() != null &&
-                            action.getActionConfiguration().getPaginationType() != null &&
-                            PaginationType.URL.equals(action.getActionConfiguration().getPaginationType()) &&
-                            executeActionDTO.getPaginationField() != null) {
-                        datasourceConfiguration = updateDatasourceConfigurationForPagination(actionConfigurationTemp, datasourceConfigurationTemp, executeActionDTO.getPaginationField());
-                        actionConfiguration = updateActionConfigurationForPagination(actionConfigurationTemp, executeActionDTO.getPaginationField());
-                    } else {
-                        datasourceConfiguration = datasourceConfigurationTemp;
-                        actionConfiguration = actionConfigurationTemp;
-                    }
+    /**
+     * Substitutes the params of the given execution into the configurations of the action and its datasource, and
+     * applies pagination, if requested.
+     *
+     * @return The datasource configuration and the action configuration to run the action with.
+     */
+    private Tuple2<DatasourceConfiguration, ActionConfiguration> renderConfigurations(ExecuteActionDTO executeActionDTO,
+                                                                                   Action action,
+                                                                                   Datasource datasource,
+                                                                                   PluginExecutor pluginExecutor) {
+        // The action and the datasource can be shared by other executions in the same batch, so they're rendered into
+        // copies of their configurations, that belong to this execution.
+        final ActionConfiguration actionConfigurationCopy = BeanCopyUtils.deepCopy(action.getActionConfiguration());
+        final DatasourceConfiguration datasourceConfigurationCopy =
+                BeanCopyUtils.deepCopy(datasource.getDatasourceConfiguration());
+
+        // For prepared statements, the bindings in the body are swapped for placeholders before the substitution below,
+        // and their values are handed to the plugin separately, instead of being spliced into the query text.
+        List<String> bodyParameterKeys = null;
+        if (pluginExecutor.isPreparedStatementSupported()
+                && actionConfigurationCopy != null
+                && Boolean.TRUE.equals(actionConfigurationCopy.getUsePreparedStatement())
+                && actionConfigurationCopy.getBody() != null) {
+            bodyParameterKeys = new ArrayList<>();
+            try {
+                actionConfigurationCopy.setBody(MustacheHelper.replaceMustacheWithPlaceholders(
+                        actionConfigurationCopy.getBody(), bodyParameterKeys));
+            } catch (AppsmithException e) {
+                // Unwrapped into an error signal by the operator that renders the configurations.
+                throw Exceptions.propagate(e);
+            }
+        }
 
-                    // Filter out any empty headers
-                    if (actionConfiguration.getHeaders() != null && !actionConfiguration.getHeaders().isEmpty()) {
-                        List<Property> headerList = actionConfiguration.getHeaders().stream()
-                                .filter(header -> !StringUtils.isEmpty(header.getKey()))
-                                .collect(Collectors.toList());
-                        actionConfiguration.setHeaders(headerList);
-                    }
+        DatasourceConfiguration datasourceConfigurationTemp;
+        ActionConfiguration actionConfigurationTemp;
+        Map<String, String> replaceParamsMap = Map.of();
+        //Do variable substitution before invoking the plugin
+        //Do this only if params have been provided in the execute command
+        if (executeActionDTO.getParams() != null && !executeActionDTO.getParams().isEmpty()) {
+            replaceParamsMap = executeActionDTO
+                    .getParams()
+                    .stream()
+                    .collect(Collectors.toMap(
+                            // Trimming here for good measure. If the keys have space on either side,
+                            // Mustache won't be able to find the key.
+                            // We also add a backslash before every double-quote or backslash character
+                            // because we apply the template replacing in a JSON-stringified version of
+                            // these properties, where these two characters are escaped.
+                            p -> p.getKey().trim(), // .replaceAll("[\"\n\\\\]", "\\\\$0"),
+                            Param::getValue,
+                            // In case of a conflict, we pick the older value
+                            (oldValue, newValue) -> oldValue)
+                    );
+
+            datasourceConfigurationTemp = variableSubstitution(
+                    datasourceBindingPlans, datasource, datasourceConfigurationCopy, replaceParamsMap);
+            actionConfigurationTemp = variableSubstitution(
+                    actionBindingPlans, action, actionConfigurationCopy, replaceParamsMap);
+        } else {
+            datasourceConfigurationTemp = datasourceConfigurationCopy;
+            actionConfigurationTemp = actionConfigurationCopy;
+        }
 
-                    Integer timeoutDuration = actionConfiguration.getTimeoutInMillisecond();
+        DatasourceConfiguration datasourceConfiguration;
+        ActionConfiguration actionConfiguration;
 
-                    log.debug("Execute Action called in Page {}, for action id : {}  action name : {}, {}, {}",
-                            action.getPageId(), action.getId(), action.getName(), datasourceConfiguration,
-                            actionConfiguration);
+        // If the action is paginated, update the configurations to update the correct URL.
+        if (action.getActionConfiguration() != null &&
+                action.getActionConfiguration().getPaginationType() != null &&
+                PaginationType.URL.equals(action.getActionConfiguration().getPaginationType()) &&
+                executeActionDTO.getPaginationField() != null) {
+            datasourceConfiguration = updateDatasourceConfigurationForPagination(actionConfigurationTemp, datasourceConfigurationTemp, executeActionDTO.getPaginationField());
+            actionConfiguration = updateActionConfigurationForPagination(actionConfigurationTemp, executeActionDTO.getPaginationField());
+        } else {
+            datasourceConfiguration = datasourceConfigurationTemp;
+            actionConfiguration = actionConfigurationTemp;
+        }
 
-                    Mono<ActionExecutionResult> executionMono = Mono.just(datasource)
-                            .flatMap(datasourceContextService::getDatasourceContext)
-                            // Now that we have the context (connection details), execute the action.
-                            .flatMap(
-                                    resourceContext -> pluginExecutor.execute(
-                                            resourceContext.getConnection(),
-                                            datasourceConfiguration,
-                                            actionConfiguration
-                                    )
-                            );
+        // Filter out any empty headers
+        if (actionConfiguration.getHeaders() != null && !actionConfiguration.getHeaders().isEmpty()) {
+            List<Property> headerList = actionConfiguration.getHeaders().stream()
+                    .filter(header -> !StringUtils.isEmpty(header.getKey()))
+                    .collect(Collectors.toList());
+            actionConfiguration.setHeaders(headerList);
+        }
 
-                    return executionMono
-                            .onErrorResume(StaleConnectionException.class, error -> {
-                                log.info("Looks like the connection is stale. Retrying with a fresh context.");
-                                return datasourceContextService
-                                        .deleteDatasourceContext(datasource.getId())
-                                        .then(executionMono);
-                            })
-                            .timeout(Duration.ofMillis(timeoutDuration))
-                            .onErrorMap(
-                                    StaleConnectionException.class,
-                                    error -> new AppsmithPluginException(
-                                            AppsmithPluginError.PLUGIN_ERROR,
-                                            "Secondary stale connection error."
-                                    )
-                            )
-                            .onErrorResume(e -> {
-                                log.debug("In the action execution error mode.", e);
-                                ActionExecutionResult result = new ActionExecutionResult();
-                                result.setBody(e.getMessage());
-                                result.setIsExecutionSuccess(false);
-                                // Set the status code for Appsmith plugin errors
-                                if (e instanceof AppsmithPluginException) {
-                                    result.setStatusCode(((AppsmithPluginException) e).getAppErrorCode().toString());
-                                } else {
-                                    result.setStatusCode(AppsmithPluginError.PLUGIN_ERROR.getAppErrorCode().toString());
-                                }
-                                return Mono.just(result);
-                            });
-                });
+        if (bodyParameterKeys != null) {
+            final List<String> bodyParameters = new ArrayList<>(bodyParameterKeys.size());
+            for (String key : bodyParameterKeys) {
+                // Missing params are bound as empty strings, like they're rendered when substituted into the text.
+                bodyParameters.add(replaceParamsMap.getOrDefault(key, ""));
+            }
+            actionConfiguration.setBodyParameters(bodyParameters);
+        }
 
-        // Populate the actionExecution result by setting the cached response and saving it to the DB
-        return actionExecutionResultMono
-                .flatMap(result -> {
-                    Mono<ActionExecutionResult> resultMono = Mono.just(result);
-                    if (actionFromDto.getId() == null) {
-                        // This is a dry-run. We shouldn't query the db because it'll throw NPE on null IDs
-                        return resultMono;
-                    }
+        return Tuples.of(datasourceConfiguration, actionConfiguration);
+    }
 
-                    Mono<Action> actionFromDbMono = repository.findById(actionFromDto.getId())
-                            //If the action is found in the db (i.e. it is not a dry run, save the cached response
-                            .flatMap(action -> {
-                                // If the plugin execution result is successful, then cache response body in
-                                // the action and save it.
-                                if (Boolean.TRUE.equals(result.getIsExecutionSuccess())) {
-                                    // Save the result only if body exists in the body. e.g. Even though 204
-                                    // is an execution success, there would be no body expected.
-                                    if (result.getBody() != null) {
-                                        action.setCacheResponse(result.getBody().toString());
-                                        return repository.save(action);
-                                    }
-                                    // No result body exists. Return the action as is.
-                                    return Mono.just(action);
-                                }
-                                log.debug("Action execution resulted in failure beyond the proxy with the result of {}", result);
-                                return Mono.just(action);
-                            });
+    private Mono<ActionExecutionResult> executeActionOnPlugin(ExecuteActionDTO executeActionDTO,
+                                                              Action action,
+                                                              Datasource datasource,
+                                                              PluginExecutor pluginExecutor) {
+        final Tuple2<DatasourceConfiguration, ActionConfiguration> configurations =
+                renderConfigurations(executeActionDTO, action, datasource, pluginExecutor);
+        final DatasourceConfiguration datasourceConfiguration = configurations.getT1();
+        final ActionConfiguration actionConfiguration = configurations.getT2();
+
+        Integer timeoutDuration = actionConfiguration.getTimeoutInMillisecond();
+
+        log.debug("Execute Action called in Page {}, for action id : {}  action name : {}, {}, {}",
+                action.getPageId(), action.getId(), action.getName(), datasourceConfiguration,
+                actionConfiguration);
+
+        Mono<ActionExecutionResult> executionMono = datasourceContextService
+                // Now that we have the context (connection details), execute the action. Blocking
+                // plugins are run on their own scheduler, so they don't hold up the event loop.
+                .withDatasourceContext(
+                        datasource,
+                        resourceContext -> pluginSchedulerHelper.runOnPluginScheduler(
+                                pluginExecutor,
+                                () -> pluginExecutor.execute(
+                                        resourceContext.getConnection(),
+                                        datasourceConfiguration,
+                                        actionConfiguration
+                                )
+                        )
+                )
+                .doOnNext(result -> {
+                    if (Boolean.TRUE.equals(result.getIsTruncated())) {
+                        truncatedExecutionCount.incrementAndGet();
+                        log.info("Result of action {} was truncated at the plugin's result limits.", action.getId());
+                    }
+                });
 
-                    return actionFromDbMono.then(resultMono);
+        final Mono<ActionExecutionResult> executionResultMono = executionMono
+                .onErrorResume(StaleConnectionException.class, error -> {
+                    log.info("Looks like the connection is stale. Retrying with a fresh context.");
+                    return datasourceContextService
+                            .deleteDatasourceContext(datasource.getId())
+                            .then(executionMono);
                 })
-                .onErrorResume(AppsmithException.class, error -> {
+                .timeout(Duration.ofMillis(timeoutDuration))
+                .onErrorMap(
+                        StaleConnectionException.class,
+                        error -> new AppsmithPluginException(
+                                AppsmithPluginError.PLUGIN_ERROR,
+                                "Secondary stale connection error."
+                        )
+                )
+                .onErrorResume(e -> {
+                    log.debug("In the action execution error mode.", e);
                     ActionExecutionResult result = new ActionExecutionResult();
+                    result.setBody(e.getMessage());
                     result.setIsExecutionSuccess(false);
-                    result.setStatusCode(error.getAppErrorCode().toString());
-                    result.setBody(error.getMessage());
+                    // Set the status code for Appsmith plugin errors
+                    if (e instanceof AppsmithPluginException) {
+                        result.setStatusCode(((AppsmithPluginException) e).getAppErrorCode().toString());
+                    } else {
+                        result.setStatusCode(AppsmithPluginError.PLUGIN_ERROR.getAppErrorCode().toString());
+                    }
                     return Mono.just(result);
                 });
+
+        return coalesceExecution(action, datasource, datasourceConfiguration, actionConfiguration, executionResultMono);
+    }
+
+    /**
+     * If the action has coalescing turned on, and an execution of the same action, on the same datasource, with the
+     * same rendered configurations is already in flight, returns that execution's result instead of executing again.
+     * The result, success or failure, is shared by all the executions that were waiting on it.
+     */
+    private Mono<ActionExecutionResult> coalesceExecution(Action action,
+                                                          Datasource datasource,
+                                                          DatasourceConfiguration datasourceConfiguration,
+                                                          ActionConfiguration actionConfiguration,
+                                                          Mono<ActionExecutionResult> executionResultMono) {
+        if (action.getId() == null
+                || action.getActionConfiguration() == null
+                || !Boolean.TRUE.equals(action.getActionConfiguration().getCoalesceExecutions())) {
+            return executionResultMono;
+        }
+
+        final String key;
+        try {
+            key = action.getId() + ":" + datasource.getId() + ":" + Hashing.sha256().newHasher()
+                    .putBytes(objectMapper.writeValueAsBytes(datasourceConfiguration))
+                    .putBytes(objectMapper.writeValueAsBytes(actionConfiguration))
+                    .hash()
+                    .toString();
+        } catch (JsonProcessingException e) {
+            log.debug("Unable to compute coalescing key for action {}. Executing it independently.", action.getId(), e);
+            return executionResultMono;
+        }
+
+        // An execution removes only itself from the map when it's done, and not a newer one that took its place.
+        final AtomicReference<Mono<ActionExecutionResult>> newExecutionHolder = new AtomicReference<>();
+        final Mono<ActionExecutionResult> newExecution = executionResultMono
+                .doFinally(signalType -> inFlightExecutions.remove(key, newExecutionHolder.get()))
+                .cache();
+        newExecutionHolder.set(newExecution);
+        final Mono<ActionExecutionResult> inFlightExecution = inFlightExecutions.putIfAbsent(key, newExecution);
+        if (inFlightExecution == null) {
+            return newExecution;
+        }
+
+        log.debug("Coalescing execution of action {} with an identical one that's in flight.", action.getId());
+        coalescedExecutionCount.incrementAndGet();
+        return inFlightExecution;
+    }
+
+    @Override
+    public long getCoalescedExecutionCount() {
+        return coalescedExecutionCount.get();
+    }
+
+    @Override
+    public long getTruncatedExecutionCount() {
+        return truncatedExecutionCount.get();
+    }
+
+    /**
+     * Lookups needed to execute actions, memoized by ID, so that actions executed together in a batch share them. For a
+     * batch, the actions themselves are fetched up front with a single query.
+     */
+    private class ExecutionLookups {
+        private final Mono<Map<String, Action>> prefetchedActionsMono;
+        private final Map<String, Mono<Datasource>> datasources = new ConcurrentHashMap<>();
+        private final Map<String, Mono<Plugin>> plugins = new ConcurrentHashMap<>();
+
+        ExecutionLookups(Mono<Map<String, Action>> prefetchedActionsMono) {
+            this.prefetchedActionsMono = prefetchedActionsMono;
+        }
+
+        Mono<Action> findAction(String id) {
+            if (prefetchedActionsMono == null) {
+                return repository.findById(id, EXECUTE_ACTIONS);
+            }
+            return prefetchedActionsMono.flatMap(actions -> Mono.justOrEmpty(actions.get(id)));
+        }
+
+        Mono<Datasource> findDatasource(String id) {
+            return datasources.computeIfAbsent(id, key -> datasourceService.findById(key, EXECUTE_DATASOURCES).cache());
+        }
+
+        Mono<Plugin> findPlugin(String id) {
+            return plugins.computeIfAbsent(id, key -> pluginService.findById(key).cache());
+        }
     }
 
     @Override
@@ -506,27 +848,62 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
         return repository.save(action);
     }
 
+    @Override
+    public Mono<Action> update(String id, Action action) {
+        // Partial updates don't go through auditing, so the `updatedAt` field is set explicitly here. Binding plans
+        // cached on other server instances are validated against this field.
+        action.setUpdatedAt(Instant.now());
+        if (id == null) {
+            return super.update(id, action);
+        }
+
+        actionBindingPlans.invalidate(id);
+        return super.update(id, action)
+                .flatMap(updatedAction -> actionExecutionCacheService.invalidateAction(id).thenReturn(updatedAction));
+    }
+
     @Override
     public Mono<Action> findByNameAndPageId(String name, String pageId, AclPermission permission) {
         return repository.findByNameAndPageId(name, pageId, permission);
     }
 
     /**
-     * Given a list of names of actions and pageId, find all the actions matching this criteria of name, pageId, http
-     * method 'GET' (for API actions only) or have isExecuteOnLoad be true.
+     * Sets `executeOnLoad` to true on the given actions with a single write, instead of an update per action. The
+     * flag doesn't take part in executing an action, so the cached binding plans and results of the actions are left
+     * as they are.
+     *
+     * @param actionIds Ids of the actions to be run on page load.
+     */
+    @Override
+    public Mono<Void> markExecuteOnLoad(Set<String> actionIds) {
+        if (actionIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return repository.setExecuteOnLoadByIds(actionIds).then();
+    }
+
+    /**
+     * Saves the action configurations and json path keys of the given actions with a single write, instead of saving
+     * each action. The cached binding plans and results of the actions are invalidated, like when updating an action.
      *
-     * @param names Set of Action names. The returned list of actions will be a subset of the actioned named in this set.
-     * @param pageId Id of the Page within which to look for Actions.
-     * @return A Flux of Actions that are identified to be executed on page-load.
+     * @param actions Actions with the configurations to save.
      */
-    public Flux<Action> findOnLoadActionsInPage(Set<String> names, String pageId) {
-        final Flux<Action> getApiActions = repository
-                .findDistinctActionsByNameInAndPageIdAndActionConfiguration_HttpMethodAndUserSetOnLoad(names, pageId, "GET", false);
+    @Override
+    public Mono<Void> updateConfigurations(List<Action> actions) {
+        if (actions.isEmpty()) {
+            return Mono.empty();
+        }
 
-        final Flux<Action> explicitOnLoadActions = repository
-                .findDistinctActionsByNameInAndPageIdAndExecuteOnLoadTrue(names, pageId);
+        Instant updatedAt = Instant.now();
+        for (Action action : actions) {
+            action.setUpdatedAt(updatedAt);
+            actionBindingPlans.invalidate(action.getId());
+        }
 
-        return getApiActions.concatWith(explicitOnLoadActions);
+        return repository.updateConfigurations(actions)
+                .thenMany(Flux.fromIterable(actions))
+                .flatMap(action -> actionExecutionCacheService.invalidateAction(action.getId()))
+                .then();
     }
 
     /**
@@ -537,6 +914,57 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
         return MustacheHelper.renderFieldValues(configuration, replaceParamsMap);
     }
 
+    /**
+     * Replaces the variables in the given configuration with the actual params, using the binding plan of the document
+     * that owns this configuration. Only the fields recorded in the plan as containing Mustache templates are touched.
+     * If the document hasn't been persisted yet (like in a dry run), or if the plan doesn't match the configuration,
+     * this falls back to walking the whole configuration object.
+     *
+     * @param bindingPlans     Cache of binding plans to look up, keyed by the owner's id.
+     * @param owner            The action or datasource that this configuration belongs to.
+     * @param configuration    The configuration object to render. This object is modified in place.
+     * @param replaceParamsMap Mustache keys mapped to their values.
+     * @return The rendered configuration object.
+     */
+    private <T> T variableSubstitution(Cache<String, Tuple2<Long, BindingPlan>> bindingPlans,
+                                       BaseDomain owner,
+                                       T configuration,
+                                       Map<String, String> replaceParamsMap) {
+        if (owner.getId() == null || owner.getUpdatedAt() == null || configuration == null) {
+            return variableSubstitution(configuration, replaceParamsMap);
+        }
+
+        final Tuple2<Long, BindingPlan> cachedPlan = bindingPlans.getIfPresent(owner.getId());
+        final BindingPlan bindingPlan;
+        if (cachedPlan != null && cachedPlan.getT1() == owner.getUpdatedAt().toEpochMilli()) {
+            bindingPlan = cachedPlan.getT2();
+        } else {
+            bindingPlan = computeBindingPlan(bindingPlans, owner, configuration);
+        }
+
+        if (bindingPlan == null) {
+            return variableSubstitution(configuration, replaceParamsMap);
+        }
+
+        if (!bindingPlan.render(configuration, replaceParamsMap)) {
+            log.debug("Binding plan for {} doesn't match its configuration. Falling back to full substitution.", owner.getId());
+            bindingPlans.invalidate(owner.getId());
+            return variableSubstitution(configuration, replaceParamsMap);
+        }
+
+        return configuration;
+    }
+
+    private BindingPlan computeBindingPlan(Cache<String, Tuple2<Long, BindingPlan>> bindingPlans,
+                                           BaseDomain owner,
+                                           Object configuration) {
+        final BindingPlan bindingPlan = BindingPlan.of(configuration);
+        if (bindingPlan != null && owner.getId() != null && owner.getUpdatedAt() != null) {
+            bindingPlans.put(owner.getId(), Tuples.of(owner.getUpdatedAt().toEpochMilli(), bindingPlan));
+        }
+        return bindingPlan;
+    }
+
     @Override
     public Mono<Action> findById(String id) {
         return repository.findById(id);
@@ -596,6 +1024,10 @@ public class ActionServiceImpl extends BaseService<ActionRepository, Action, Str
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, FieldName.ACTION, id)));
         return actionMono
                 .flatMap(toDelete -> repository.delete(toDelete).thenReturn(toDelete))
+                .doOnNext(deletedAction -> actionBindingPlans.invalidate(deletedAction.getId()))
+                .flatMap(deletedAction -> actionExecutionCacheService
+                        .invalidateAction(deletedAction.getId())
+                        .thenReturn(deletedAction))
                 .flatMap(analyticsService::sendDeleteEvent);
     }
 
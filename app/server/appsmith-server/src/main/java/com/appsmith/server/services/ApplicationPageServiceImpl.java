@@ -137,17 +137,10 @@ public class ApplicationPageServiceImpl implements ApplicationPageService {
     @Override
     public Mono<Page> getPage(String pageId, boolean viewMode) {
         AclPermission permission = viewMode ? READ_PAGES : MANAGE_PAGES;
-        return pageService.findById(pageId, permission)
-                .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACL_NO_RESOURCE_FOUND, FieldName.PAGE, pageId)))
-                .map(page -> {
-                    List<Layout> layoutList = page.getLayouts();
-                    // Set the view mode for all the layouts in the page. This ensures that we send the correct DSL
-                    // back to the client
-                    layoutList.stream()
-                            .forEach(layout -> layout.setViewMode(viewMode));
-                    page.setLayouts(layoutList);
-                    return page;
-                });
+        // Only the DSL of the mode is loaded, and the layouts are set to the mode. This ensures that we send the
+        // correct DSL back to the client
+        return pageService.findById(pageId, permission, viewMode)
+                .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACL_NO_RESOURCE_FOUND, FieldName.PAGE, pageId)));
     }
 
     @Override
@@ -166,17 +159,10 @@ public class ApplicationPageServiceImpl implements ApplicationPageService {
         return applicationService
                 .findByName(applicationName, appPermission)
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACL_NO_RESOURCE_FOUND, FieldName.PAGE + "by application name", applicationName)))
-                .flatMap(application -> pageService.findByNameAndApplicationId(pageName, application.getId(), pagePermission))
-                .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACL_NO_RESOURCE_FOUND, FieldName.PAGE + "by page name", pageName)))
-                .map(page -> {
-                    List<Layout> layoutList = page.getLayouts();
-                    // Set the view mode for all the layouts in the page. This ensures that we send the correct DSL
-                    // back to the client
-                    layoutList.stream()
-                            .forEach(layout -> layout.setViewMode(viewMode));
-                    page.setLayouts(layoutList);
-                    return page;
-                });
+                // Only the DSL of the mode is loaded, and the layouts are set to the mode. This ensures that we send
+                // the correct DSL back to the client
+                .flatMap(application -> pageService.findByNameAndApplicationId(pageName, application.getId(), pagePermission, viewMode))
+                .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACL_NO_RESOURCE_FOUND, FieldName.PAGE + "by page name", pageName)));
     }
 
     @Override
@@ -331,8 +317,8 @@ public class ApplicationPageServiceImpl implements ApplicationPageService {
     private Mono<Page> clonePageGivenApplicationId(String pageId, String applicationId,
                                                    @Nullable String newPageNameSuffix) {
         // Find the source page and then prune the page layout fields to only contain the required fields that should be
-        // copied.
-        Mono<Page> sourcePageMono = pageService.findById(pageId, MANAGE_PAGES)
+        // copied. The published fields of the layouts aren't copied, so they aren't loaded either.
+        Mono<Page> sourcePageMono = pageService.findById(pageId, MANAGE_PAGES, false)
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACTION_IS_NOT_AUTHORIZED)))
                 .flatMap(page -> Flux.fromIterable(page.getLayouts())
                         .map(layout -> layout.getDsl())
@@ -9,6 +9,7 @@ import com.appsmith.server.domains.ApplicationPage;
 import com.appsmith.server.domains.Datasource;
 import com.appsmith.server.domains.Layout;
 import com.appsmith.server.domains.Page;
+import com.appsmith.server.domains.QLayout;
 import com.appsmith.server.domains.User;
 import com.appsmith.server.dtos.ApplicationAccessDTO;
 import com.appsmith.server.exceptions.AppsmithError;
@@ -49,6 +50,9 @@ public class ApplicationServiceImpl extends BaseService<ApplicationRepository, A
     private final DatasourceService datasourceService;
     private final ConfigService configService;
 
+    // Times to retry publishing a page that raced with another update of it, before giving up.
+    private static final long MAX_PAGE_UPDATE_RETRIES = 5;
+
     @Autowired
     public ApplicationServiceImpl(Scheduler scheduler,
                                   Validator validator,
@@ -171,16 +175,21 @@ public class ApplicationServiceImpl extends BaseService<ApplicationRepository, A
                 .flatMap(applicationPage -> pageRepository
                         .findById(applicationPage.getId())
                         .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, "page", applicationPage.getId())))
-                        .map(page -> {
+                        .flatMap(page -> {
                             List<Layout> layoutList = page.getLayouts();
                             for (Layout layout : layoutList) {
                                 layout.setPublishedDsl(layout.getDsl());
                                 layout.setPublishedLayoutActions(layout.getLayoutActions());
                                 layout.setPublishedLayoutOnLoadActions(layout.getLayoutOnLoadActions());
                             }
-                            return page;
+                            // Only write the published fields, so that edits made to the page meanwhile aren't lost.
+                            return pageRepository.updateLayoutFields(page, layoutList,
+                                    QLayout.layout.publishedDsl,
+                                    QLayout.layout.publishedLayoutActions,
+                                    QLayout.layout.publishedLayoutOnLoadActions);
                         })
-                        .flatMap(pageRepository::save))
+                        .retry(MAX_PAGE_UPDATE_RETRIES, error -> error instanceof AppsmithException
+                                && ((AppsmithException) error).getError() == AppsmithError.CONCURRENT_PAGE_UPDATE))
                 .collectList()
                 .map(pages -> true);
     }
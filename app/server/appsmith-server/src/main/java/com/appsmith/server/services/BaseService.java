@@ -78,15 +78,23 @@ public abstract class BaseService<R extends BaseRepository<T, ID> & AppsmithRepo
             resource.setPolicies(null);
         }
 
+        Update updateObj = getUpdate(resource);
+
+        return mongoTemplate.updateFirst(query, updateObj, resource.getClass())
+                .flatMap(obj -> repository.findById(id))
+                .flatMap(analyticsService::sendUpdateEvent);
+    }
+
+    /**
+     * @return Update that sets the fields of the resource that aren't null.
+     */
+    protected Update getUpdate(T resource) {
         DBObject update = getDbObject(resource);
 
         Update updateObj = new Update();
         Map<String, Object> updateMap = update.toMap();
         updateMap.entrySet().stream().forEach(entry -> updateObj.set(entry.getKey(), entry.getValue()));
-
-        return mongoTemplate.updateFirst(query, updateObj, resource.getClass())
-                .flatMap(obj -> repository.findById(id))
-                .flatMap(analyticsService::sendUpdateEvent);
+        return updateObj;
     }
 
     protected Flux<T> getWithPermission(MultiValueMap<String, String> params, AclPermission aclPermission) {
@@ -3,8 +3,10 @@ package com.appsmith.server.services;
 import com.appsmith.external.models.AuthenticationDTO;
 import com.appsmith.server.domains.Datasource;
 import com.appsmith.server.domains.DatasourceContext;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.function.Function;
 
 public interface DatasourceContextService {
@@ -19,9 +21,35 @@ public interface DatasourceContextService {
      */
     Mono<DatasourceContext> getDatasourceContext(Datasource datasource);
 
+    /**
+     * Runs the task with the context of the datasource. Contexts of datasources that are not saved, like in dry runs,
+     * are not kept for later use, so their connections are destroyed once the task is done.
+     */
+    <T> Mono<T> withDatasourceContext(Datasource datasource, Function<DatasourceContext, Mono<T>> task);
+
+    /**
+     * Streams the results of the task with the context of the datasource, like `withDatasourceContext`.
+     */
+    <T> Flux<T> streamWithDatasourceContext(Datasource datasource, Function<DatasourceContext, Flux<T>> task);
+
     <T> Mono<T> retryOnce(Datasource datasource, Function<DatasourceContext, Mono<T>> task);
 
     Mono<DatasourceContext> deleteDatasourceContext(String datasourceId);
 
     AuthenticationDTO decryptSensitiveFields(AuthenticationDTO authenticationDTO);
+
+    /**
+     * @return Number of live datasource contexts on this server, keyed by the ID of the plugin they belong to.
+     */
+    Map<String, Long> getDatasourceContextCountByPlugin();
+
+    /**
+     * @return Number of datasource contexts that have been evicted, for being idle or least recently used.
+     */
+    long getDatasourceContextEvictionCount();
+
+    /**
+     * @return Number of datasource contexts that had to be created again, after being evicted.
+     */
+    long getDatasourceContextRecreationCount();
 }
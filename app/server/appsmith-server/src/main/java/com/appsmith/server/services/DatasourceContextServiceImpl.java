@@ -7,14 +7,25 @@ import com.appsmith.server.domains.Datasource;
 import com.appsmith.server.domains.DatasourceContext;
 import com.appsmith.server.domains.Plugin;
 import com.appsmith.server.helpers.PluginExecutorHelper;
+import com.appsmith.server.helpers.PluginSchedulerHelper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.appsmith.server.acl.AclPermission.EXECUTE_DATASOURCES;
 
@@ -22,93 +33,107 @@ import static com.appsmith.server.acl.AclPermission.EXECUTE_DATASOURCES;
 @Slf4j
 public class DatasourceContextServiceImpl implements DatasourceContextService {
 
-    //This is DatasourceId mapped to the DatasourceContext
+    // This is DatasourceId mapped to the DatasourceContext. Contexts that haven't been used for a while, or that are
+    // the least recently used beyond the maximum count, are evicted from the cache and their connections destroyed.
+    private final Cache<String, DatasourceContext> datasourceContextCache;
     private final Map<String, DatasourceContext> datasourceContextMap;
+
+    // IDs of datasources whose contexts were evicted recently, used to count contexts that had to be created again.
+    private final Cache<String, Boolean> evictedDatasourceIds;
+    private final AtomicLong recreationCount = new AtomicLong();
+
+    // DatasourceId mapped to the (cached) Mono of the DatasourceContext being created for it, if any.
+    private final Map<String, Mono<DatasourceContext>> pendingDatasourceContextMap;
     private final DatasourceService datasourceService;
     private final PluginService pluginService;
     private final PluginExecutorHelper pluginExecutorHelper;
+    private final PluginSchedulerHelper pluginSchedulerHelper;
     private final EncryptionService encryptionService;
 
     @Autowired
     public DatasourceContextServiceImpl(DatasourceService datasourceService,
                                         PluginService pluginService,
                                         PluginExecutorHelper pluginExecutorHelper,
-                                        EncryptionService encryptionService) {
+                                        PluginSchedulerHelper pluginSchedulerHelper,
+                                        EncryptionService encryptionService,
+                                        @Value("${datasource.context.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+                                        @Value("${datasource.context.max-count:1000}") long maxCount) {
         this.datasourceService = datasourceService;
         this.pluginService = pluginService;
         this.pluginExecutorHelper = pluginExecutorHelper;
+        this.pluginSchedulerHelper = pluginSchedulerHelper;
         this.encryptionService = encryptionService;
-        this.datasourceContextMap = new HashMap<>();
+        this.datasourceContextCache = CacheBuilder.newBuilder()
+                .expireAfterAccess(idleTimeoutMinutes, TimeUnit.MINUTES)
+                .maximumSize(maxCount)
+                .removalListener(this::onDatasourceContextRemoval)
+                .recordStats()
+                .build();
+        // Reads and writes through this view count as accesses to the cache, for idle expiry.
+        this.datasourceContextMap = datasourceContextCache.asMap();
+        this.evictedDatasourceIds = CacheBuilder.newBuilder()
+                .maximumSize(maxCount)
+                .build();
+        this.pendingDatasourceContextMap = new ConcurrentHashMap<>();
     }
 
     @Override
     public Mono<DatasourceContext> getDatasourceContext(Datasource datasource) {
         String datasourceId = datasource.getId();
 
-        // Lengthy redundant expression because we need this variable to be final, so it can be used in a reactive callback.
-        final boolean isStale = datasourceId != null
-                && datasourceContextMap.get(datasourceId) != null
-                && datasource.getUpdatedAt() != null
-                && datasource.getUpdatedAt().isAfter(datasourceContextMap.get(datasourceId).getCreationTime());
-
         if (datasourceId == null) {
             log.debug("This is a dry run or an embedded datasource. The datasource context would not exist in this scenario");
-
-        } else if (datasourceContextMap.get(datasourceId) != null && !isStale) {
-            log.debug("resource context exists. Returning the same.");
-            return Mono.just(datasourceContextMap.get(datasourceId));
+            return createDatasourceContext(Mono.just(datasource));
         }
 
-        log.debug("Datasource context doesn't exist. Creating connection.");
-
-        Mono<Datasource> datasourceMono;
+        final DatasourceContext datasourceContext = datasourceContextMap.get(datasourceId);
+        final boolean isStale = datasourceContext != null
+                && datasource.getUpdatedAt() != null
+                && datasource.getUpdatedAt().isAfter(datasourceContext.getCreationTime());
 
-        if (datasource.getId() != null) {
-            datasourceMono = datasourceService.findById(datasourceId, EXECUTE_DATASOURCES);
-        } else {
-            datasourceMono = Mono.just(datasource);
+        if (datasourceContext != null && !isStale) {
+            log.debug("resource context exists. Returning the same.");
+            return Mono.just(datasourceContext);
         }
 
+        // Only one context is created for a datasource at a time. Requests that come in while it's being created, wait
+        // for and share the same context, instead of each opening a connection of their own.
+        return pendingDatasourceContextMap.computeIfAbsent(datasourceId, key -> {
+            log.debug("Datasource context doesn't exist. Creating connection.");
+            return createDatasourceContext(datasourceService.findById(datasourceId, EXECUTE_DATASOURCES))
+                    .doFinally(signalType -> pendingDatasourceContextMap.remove(datasourceId))
+                    .cache();
+        });
+    }
+
+    private Mono<DatasourceContext> createDatasourceContext(Mono<Datasource> datasourceMono) {
         return datasourceMono
-                .zipWhen(datasource1 -> {
-                    Mono<Plugin> pluginMono = datasourceMono
-                            .flatMap(resource -> pluginService.findById(resource.getPluginId()));
+                .zipWhen(datasource -> {
+                    Mono<Plugin> pluginMono = pluginService.findById(datasource.getPluginId());
 
                     // Datasource Context has not been created for this resource on this machine. Create one now.
                     return pluginExecutorHelper.getPluginExecutor(pluginMono);
                 })
                 .flatMap(objects -> {
-                    Datasource datasource1 = objects.getT1();
+                    Datasource datasource = objects.getT1();
 
                     // If authentication exists for the datasource, decrypt the fields
-                    if (datasource1.getDatasourceConfiguration() != null &&
-                            datasource1.getDatasourceConfiguration().getAuthentication() != null) {
-                        AuthenticationDTO authentication = datasource1.getDatasourceConfiguration().getAuthentication();
-                        datasource1.getDatasourceConfiguration().setAuthentication(decryptSensitiveFields(authentication));
+                    if (datasource.getDatasourceConfiguration() != null &&
+                            datasource.getDatasourceConfiguration().getAuthentication() != null) {
+                        AuthenticationDTO authentication = datasource.getDatasourceConfiguration().getAuthentication();
+                        datasource.getDatasourceConfiguration().setAuthentication(decryptSensitiveFields(authentication));
                     }
 
                     PluginExecutor<Object> pluginExecutor = objects.getT2();
 
-                    if (isStale) {
-                        final Object connection = datasourceContextMap.get(datasourceId).getConnection();
-                        if (connection != null) {
-                            try {
-                                pluginExecutor.datasourceDestroy(connection);
-                            } catch (Exception e) {
-                                log.info("Error destroying stale datasource connection", e);
-                            }
-                        }
-                    }
-
                     DatasourceContext datasourceContext = new DatasourceContext();
+                    datasourceContext.setPluginId(datasource.getPluginId());
 
-                    if (datasource1.getId() != null) {
-                        // For this datasource, either the context doesn't exist, or the context is stale. Replace (or add)
-                        // with the new connection in the context map.
-                        datasourceContextMap.put(datasourceId, datasourceContext);
-                    }
-
-                    Mono<Object> connectionMono = pluginExecutor.datasourceCreate(datasource1.getDatasourceConfiguration());
+                    // Creating a connection usually involves network round trips, so this is run on the plugin's scheduler.
+                    Mono<Object> connectionMono = pluginSchedulerHelper.runOnPluginScheduler(
+                            pluginExecutor,
+                            () -> pluginExecutor.datasourceCreate(datasource.getDatasourceConfiguration())
+                    );
                     return connectionMono
                             .map(connection -> {
                                 // When a connection object exists and makes sense for the plugin, we put it in the
@@ -120,16 +145,84 @@ public class DatasourceContextServiceImpl implements DatasourceContextService {
                                     // When a connection object doesn't make sense for the plugin, we get an empty mono
                                     // and we just return the context object as is.
                                     datasourceContext
-                            );
+                            )
+                            .doOnNext(createdContext -> {
+                                if (datasource.getId() != null) {
+                                    registerDatasourceContext(datasource.getId(), createdContext, pluginExecutor);
+                                }
+                            });
                 });
     }
 
+    /**
+     * Puts the given context in the registry for the datasource, and destroys the connection of the context it
+     * replaces, if any. Since the replaced context is taken out of the registry atomically, its connection is destroyed
+     * exactly once, even if the datasource was found to be stale by several requests at once.
+     */
+    private void registerDatasourceContext(String datasourceId,
+                                           DatasourceContext datasourceContext,
+                                           PluginExecutor<Object> pluginExecutor) {
+        if (evictedDatasourceIds.asMap().remove(datasourceId) != null) {
+            recreationCount.incrementAndGet();
+        }
+
+        final DatasourceContext staleContext = datasourceContextMap.put(datasourceId, datasourceContext);
+        if (staleContext != null && staleContext.getConnection() != null) {
+            try {
+                pluginExecutor.datasourceDestroy(staleContext.getConnection());
+            } catch (Exception e) {
+                log.info("Error destroying stale datasource connection", e);
+            }
+        }
+    }
+
+    @Override
+    public <T> Mono<T> withDatasourceContext(Datasource datasource, Function<DatasourceContext, Mono<T>> task) {
+        return Mono.usingWhen(
+                getDatasourceContext(datasource),
+                task,
+                datasourceContext -> releaseUnregisteredDatasourceContext(datasource, datasourceContext)
+        );
+    }
+
+    @Override
+    public <T> Flux<T> streamWithDatasourceContext(Datasource datasource, Function<DatasourceContext, Flux<T>> task) {
+        return Flux.usingWhen(
+                getDatasourceContext(datasource),
+                task,
+                datasourceContext -> releaseUnregisteredDatasourceContext(datasource, datasourceContext)
+        );
+    }
+
+    /**
+     * Destroys the connection of a context that was created for a datasource without an ID, since such a context is
+     * not in the registry, and so would never be destroyed otherwise. Contexts in the registry are left as they are.
+     */
+    private Mono<Void> releaseUnregisteredDatasourceContext(Datasource datasource, DatasourceContext datasourceContext) {
+        if (datasource.getId() != null || datasourceContext.getConnection() == null) {
+            return Mono.empty();
+        }
+
+        return pluginExecutorHelper.getPluginExecutor(pluginService.findById(datasourceContext.getPluginId()))
+                .flatMap(pluginExecutor -> pluginSchedulerHelper.runOnPluginScheduler(
+                        pluginExecutor,
+                        () -> {
+                            ((PluginExecutor<Object>) pluginExecutor).datasourceDestroy(datasourceContext.getConnection());
+                            return Mono.empty();
+                        }
+                ))
+                .onErrorResume(error -> {
+                    log.info("Error destroying datasource connection of a dry run", error);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
     @Override
     public <T> Mono<T> retryOnce(Datasource datasource, Function<DatasourceContext, Mono<T>> task) {
         final Mono<T> taskRunnerMono = Mono.justOrEmpty(datasource)
-                .flatMap(this::getDatasourceContext)
                 // Now that we have the context (connection details), call the task.
-                .flatMap(task);
+                .flatMap(presentDatasource -> withDatasourceContext(presentDatasource, task));
 
         return taskRunnerMono
                 .onErrorResume(StaleConnectionException.class, error -> {
@@ -151,17 +244,15 @@ public class DatasourceContextServiceImpl implements DatasourceContextService {
             return Mono.empty();
         }
 
-        return datasourceService
-                .findById(datasourceId, EXECUTE_DATASOURCES)
-                .zipWhen(datasource1 ->
-                        pluginExecutorHelper.getPluginExecutor(pluginService.findById(datasource1.getPluginId()))
-                )
-                .map(tuple -> {
-                    final Datasource datasource = tuple.getT1();
-                    final PluginExecutor<Object> pluginExecutor = tuple.getT2();
-                    log.info("Clearing datasource context for datasource ID {}.", datasource.getId());
-                    pluginExecutor.datasourceDestroy(datasourceContext.getConnection());
-                    return datasourceContextMap.remove(datasourceId);
+        return pluginExecutorHelper.getPluginExecutor(pluginService.findById(datasourceContext.getPluginId()))
+                .map(pluginExecutor -> {
+                    // Several requests that failed on the same stale connection may try to delete the context at once.
+                    // Only the one that actually takes it out of the registry destroys the connection.
+                    if (datasourceContextMap.remove(datasourceId, datasourceContext)) {
+                        log.info("Clearing datasource context for datasource ID {}.", datasourceId);
+                        ((PluginExecutor<Object>) pluginExecutor).datasourceDestroy(datasourceContext.getConnection());
+                    }
+                    return datasourceContext;
                 });
     }
 
@@ -172,4 +263,64 @@ public class DatasourceContextServiceImpl implements DatasourceContextService {
         }
         return authenticationDTO;
     }
+
+    /**
+     * Destroys the connection of a context that has been evicted from the cache. Contexts that are replaced or removed
+     * explicitly, are destroyed by whoever replaced or removed them.
+     */
+    private void onDatasourceContextRemoval(RemovalNotification<String, DatasourceContext> notification) {
+        final DatasourceContext datasourceContext = notification.getValue();
+        if (!notification.wasEvicted() || datasourceContext == null) {
+            return;
+        }
+
+        log.debug("Evicting datasource context for datasource ID {}, because it's {}.", notification.getKey(),
+                notification.getCause() == RemovalCause.EXPIRED ? "idle" : "least recently used");
+        evictedDatasourceIds.put(notification.getKey(), Boolean.TRUE);
+
+        if (datasourceContext.getConnection() == null) {
+            return;
+        }
+
+        // Eviction can happen on any thread that touches the cache, including the event loop, so the connection is
+        // destroyed on the plugin's scheduler.
+        pluginExecutorHelper.getPluginExecutor(pluginService.findById(datasourceContext.getPluginId()))
+                .flatMap(pluginExecutor -> pluginSchedulerHelper.runOnPluginScheduler(
+                        pluginExecutor,
+                        () -> {
+                            ((PluginExecutor<Object>) pluginExecutor).datasourceDestroy(datasourceContext.getConnection());
+                            return Mono.empty();
+                        }
+                ))
+                .subscribe(
+                        null,
+                        error -> log.info("Error destroying evicted datasource connection", error)
+                );
+    }
+
+    /**
+     * Expiry of idle contexts only happens when the cache is touched, so this makes sure the connections of idle contexts
+     * are closed even when there's no traffic.
+     */
+    @Scheduled(fixedDelay = 60 * 1000 /* one minute */)
+    public void cleanUpIdleDatasourceContexts() {
+        datasourceContextCache.cleanUp();
+    }
+
+    @Override
+    public long getDatasourceContextEvictionCount() {
+        return datasourceContextCache.stats().evictionCount();
+    }
+
+    @Override
+    public long getDatasourceContextRecreationCount() {
+        return recreationCount.get();
+    }
+
+    @Override
+    public Map<String, Long> getDatasourceContextCountByPlugin() {
+        return datasourceContextMap.values()
+                .stream()
+                .collect(Collectors.groupingBy(DatasourceContext::getPluginId, Collectors.counting()));
+    }
 }
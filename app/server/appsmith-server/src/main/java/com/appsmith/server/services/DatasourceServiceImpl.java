@@ -18,6 +18,7 @@ import com.appsmith.server.exceptions.AppsmithError;
 import com.appsmith.server.exceptions.AppsmithException;
 import com.appsmith.server.helpers.MustacheHelper;
 import com.appsmith.server.helpers.PluginExecutorHelper;
+import com.appsmith.server.helpers.PluginSchedulerHelper;
 import com.appsmith.server.repositories.ActionRepository;
 import com.appsmith.server.repositories.DatasourceRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -51,10 +52,12 @@ public class DatasourceServiceImpl extends BaseService<DatasourceRepository, Dat
     private final SessionUserService sessionUserService;
     private final PluginService pluginService;
     private final PluginExecutorHelper pluginExecutorHelper;
+    private final PluginSchedulerHelper pluginSchedulerHelper;
     private final PolicyGenerator policyGenerator;
     private final SequenceService sequenceService;
     private final ActionRepository actionRepository;
     private final EncryptionService encryptionService;
+    private final ActionExecutionCacheService actionExecutionCacheService;
 
     @Autowired
     public DatasourceServiceImpl(Scheduler scheduler,
@@ -67,19 +70,23 @@ public class DatasourceServiceImpl extends BaseService<DatasourceRepository, Dat
                                  SessionUserService sessionUserService,
                                  PluginService pluginService,
                                  PluginExecutorHelper pluginExecutorHelper,
+                                 PluginSchedulerHelper pluginSchedulerHelper,
                                  PolicyGenerator policyGenerator,
                                  SequenceService sequenceService,
                                  ActionRepository actionRepository,
-                                 EncryptionService encryptionService) {
+                                 EncryptionService encryptionService,
+                                 ActionExecutionCacheService actionExecutionCacheService) {
         super(scheduler, validator, mongoConverter, reactiveMongoTemplate, repository, analyticsService);
         this.organizationService = organizationService;
         this.sessionUserService = sessionUserService;
         this.pluginService = pluginService;
         this.pluginExecutorHelper = pluginExecutorHelper;
+        this.pluginSchedulerHelper = pluginSchedulerHelper;
         this.policyGenerator = policyGenerator;
         this.sequenceService = sequenceService;
         this.actionRepository = actionRepository;
         this.encryptionService = encryptionService;
+        this.actionExecutionCacheService = actionExecutionCacheService;
     }
 
     @Override
@@ -153,7 +160,11 @@ public class DatasourceServiceImpl extends BaseService<DatasourceRepository, Dat
                     copyNestedNonNullProperties(datasource, dbDatasource);
                     return dbDatasource;
                 })
-                .flatMap(this::validateAndSaveDatasourceToRepository);
+                .flatMap(this::validateAndSaveDatasourceToRepository)
+                // Cached results of actions on this datasource may have been fetched with the old configuration.
+                .flatMap(savedDatasource -> actionExecutionCacheService
+                        .invalidateDatasource(savedDatasource.getId())
+                        .thenReturn(savedDatasource));
     }
 
     private AuthenticationDTO encryptAuthenticationFields(AuthenticationDTO authentication) {
@@ -294,7 +305,10 @@ public class DatasourceServiceImpl extends BaseService<DatasourceRepository, Dat
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, FieldName.PLUGIN, datasource.getPluginId())));
 
         return pluginExecutorMono
-                .flatMap(pluginExecutor -> pluginExecutor.testDatasource(datasource.getDatasourceConfiguration()));
+                .flatMap(pluginExecutor -> pluginSchedulerHelper.runOnPluginScheduler(
+                        pluginExecutor,
+                        () -> pluginExecutor.testDatasource(datasource.getDatasourceConfiguration())
+                ));
     }
 
     @Override
@@ -6,19 +6,18 @@ import com.appsmith.server.constants.FieldName;
 import com.appsmith.server.domains.Action;
 import com.appsmith.server.domains.Layout;
 import com.appsmith.server.domains.Page;
+import com.appsmith.server.domains.QLayout;
 import com.appsmith.server.dtos.ActionMoveDTO;
 import com.appsmith.server.dtos.DslActionDTO;
 import com.appsmith.server.dtos.RefactorNameDTO;
 import com.appsmith.server.exceptions.AppsmithError;
 import com.appsmith.server.exceptions.AppsmithException;
+import com.appsmith.server.helpers.BindingPlan;
 import com.appsmith.server.helpers.MustacheHelper;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.appsmith.server.helpers.RefactorHelper;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONObject;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
-import org.springframework.beans.BeanUtils;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
@@ -27,9 +26,12 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -45,7 +47,6 @@ import static java.util.stream.Collectors.toSet;
 public class LayoutActionServiceImpl implements LayoutActionService {
     private final ActionService actionService;
     private final PageService pageService;
-    private final ObjectMapper objectMapper;
     private final AnalyticsService analyticsService;
     /*
      * This pattern finds all the String which have been extracted from the mustache dynamic bindings.
@@ -55,21 +56,14 @@ public class LayoutActionServiceImpl implements LayoutActionService {
      */
     private final Pattern pattern = Pattern.compile("[a-zA-Z_][a-zA-Z0-9._]*");
 
-    /*
-     * To replace fetchUsers in `{{JSON.stringify(fetchUsers)}}` with getUsers, the following regex is required :
-     * `\\b(fetchUsers)\\b`. To achieve this the following strings preWord and postWord are declared here to be used
-     * at run time to create the regex pattern.
-     */
-    private final String preWord = "\\b(";
-    private final String postWord = ")\\b";
+    // Times to retry an update of a layout that raced with another update of its page, before giving up.
+    private static final long MAX_PAGE_UPDATE_RETRIES = 5;
 
     public LayoutActionServiceImpl(ActionService actionService,
                                    PageService pageService,
-                                   ObjectMapper objectMapper,
                                    AnalyticsService analyticsService) {
         this.actionService = actionService;
         this.pageService = pageService;
-        this.objectMapper = objectMapper;
         this.analyticsService = analyticsService;
     }
 
@@ -81,113 +75,363 @@ public class LayoutActionServiceImpl implements LayoutActionService {
             return Mono.just(layout);
         }
 
+        // The published fields of the layouts aren't loaded, since only the edited fields of the layout are written.
+        return pageService.findByIdAndLayoutsId(pageId, layoutId, MANAGE_PAGES, false)
+                .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACL_NO_RESOURCE_FOUND,
+                        FieldName.PAGE_ID + " or " + FieldName.LAYOUT_ID, pageId + ", " + layoutId)))
+                .flatMap(page -> saveLayout(page, layoutId, layout))
+                .retry(MAX_PAGE_UPDATE_RETRIES, LayoutActionServiceImpl::isConcurrentPageUpdate);
+    }
+
+    /**
+     * Writes the DSL of the layout to the stored layout in the page, along with the widget names, binding index and
+     * on load actions computed from it. Only these fields of the layout are written, and only if the page hasn't been
+     * updated since it was read.
+     *
+     * @param page     Page as it was read, with the layout to update.
+     * @param layoutId Id of the layout to update.
+     * @param layout   Layout with the DSL to save. The computed fields are set on it as well.
+     * @return The stored layout, as updated.
+     */
+    private Mono<Layout> saveLayout(Page page, String layoutId, Layout layout) {
+        JSONObject dsl = layout.getDsl();
+        Layout storedLayout = page.getLayouts().stream()
+                .filter(candidate -> candidate.getId().equals(layoutId))
+                .findFirst()
+                .orElse(null);
+        if (storedLayout == null) {
+            return Mono.error(new AppsmithException(AppsmithError.NO_RESOURCE_FOUND, FieldName.LAYOUT_ID, layoutId));
+        }
+
+        // Extract the widget names, and the names used in the dynamic bindings of the DSL. Bindings are only
+        // extracted again for the widgets that changed since the layout was last updated.
         Set<String> widgetNames = new HashSet<>();
-        extractAllWidgetNamesFromDSL(dsl, widgetNames);
+        Map<String, Set<String>> widgetBindingNames = new HashMap<>();
+        Set<String> dynamicBindingNames = indexDsl(dsl, storedLayout, widgetNames, widgetBindingNames);
         layout.setWidgetNames(widgetNames);
+        layout.setWidgetBindingNames(widgetBindingNames);
+
+        // The actions to run on load are always resolved again, even if the binding names haven't changed,
+        // since they also depend on the actions themselves.
+        return findOnLoadActionsInPage(dynamicBindingNames, page.getId())
+                .flatMap(onLoadActions -> {
+                    layout.setLayoutOnLoadActions(onLoadActions);
+
+                    storedLayout.setDsl(dsl);
+                    storedLayout.setWidgetNames(widgetNames);
+                    storedLayout.setWidgetBindingNames(widgetBindingNames);
+                    storedLayout.setLayoutOnLoadActions(onLoadActions);
+                    if (layout.getScreen() != null) {
+                        storedLayout.setScreen(layout.getScreen());
+                    }
+
+                    return pageService.updateLayoutFields(page, List.of(storedLayout),
+                            QLayout.layout.screen,
+                            QLayout.layout.dsl,
+                            QLayout.layout.widgetNames,
+                            QLayout.layout.widgetBindingNames,
+                            QLayout.layout.layoutOnLoadActions);
+                })
+                .thenReturn(storedLayout);
+    }
+
+    private static boolean isConcurrentPageUpdate(Throwable error) {
+        return error instanceof AppsmithException
+                && ((AppsmithException) error).getError() == AppsmithError.CONCURRENT_PAGE_UPDATE;
+    }
+
+    /**
+     * Walks the widgets in the DSL, collecting their names, and the names used in the dynamic bindings of each of them
+     * by widget id. Widgets that are the same as in the stored DSL of the layout take their binding names from the
+     * layout's index, instead of having their mustache keys extracted again.
+     *
+     * @param dsl                DSL being saved.
+     * @param storedLayout       Layout as it was last saved, with the binding index for its DSL.
+     * @param widgetNames        Set to add the names of the widgets to.
+     * @param widgetBindingNames Map to add the binding names of each widget with an id to, which is the index for the
+     *                           DSL being saved.
+     * @return Names used in the dynamic bindings of all the widgets.
+     */
+    private Set<String> indexDsl(JSONObject dsl,
+                                 Layout storedLayout,
+                                 Set<String> widgetNames,
+                                 Map<String, Set<String>> widgetBindingNames) {
+        final Map<String, Set<String>> storedIndex = storedLayout.getWidgetBindingNames();
+        final Map<Object, Map<?, ?>> storedWidgets = new HashMap<>();
+        // The index was built for the edit DSL, so it can't be checked against the DSL of a layout in view mode.
+        if (storedIndex != null && !Boolean.TRUE.equals(storedLayout.getViewMode()) && storedLayout.getDsl() != null) {
+            final List<Map<?, ?>> widgets = new ArrayList<>();
+            collectWidgets(storedLayout.getDsl(), true, widgets, new HashSet<>());
+            for (Map<?, ?> widget : widgets) {
+                final Object widgetId = widget.get(FieldName.WIDGET_ID);
+                if (widgetId != null) {
+                    storedWidgets.put(widgetId, widget);
+                }
+            }
+        }
+
+        final List<Map<?, ?>> widgets = new ArrayList<>();
+        collectWidgets(dsl, true, widgets, widgetNames);
+
+        final Set<String> dynamicBindingNames = new HashSet<>();
+        for (Map<?, ?> widget : widgets) {
+            final Object widgetId = widget.get(FieldName.WIDGET_ID);
+
+            Set<String> bindingNames = null;
+            if (widgetId != null && isSameWidget(widget, storedWidgets.get(widgetId))) {
+                bindingNames = storedIndex.get(String.valueOf(widgetId));
+            }
+            if (bindingNames == null) {
+                bindingNames = extractWidgetBindingNames(widget);
+            }
+
+            if (widgetId != null) {
+                widgetBindingNames.put(String.valueOf(widgetId), bindingNames);
+            }
+            dynamicBindingNames.addAll(bindingNames);
+        }
 
-        // Extract all the mustache keys in the DSL to get the dynamic bindings used in the DSL.
-        final Set<String> dynamicBindings = MustacheHelper.extractMustacheKeysFromFields(dsl);
-        Set<String> dynamicBindingNames = new HashSet<>();
-        if (!CollectionUtils.isEmpty(dynamicBindings)) {
-            for (String mustacheKey : dynamicBindings) {
+        return dynamicBindingNames;
+    }
+
+    /**
+     * Collects the given widget and all the widgets under it into the list. Names are collected from the widgets that
+     * have one, as long as all the widgets above them have one too.
+     */
+    private void collectWidgets(Map<?, ?> widget, boolean collectNames, List<Map<?, ?>> widgets, Set<String> widgetNames) {
+        widgets.add(widget);
+
+        final Object widgetName = widget.get(FieldName.WIDGET_NAME);
+        //A widget without a name isn't a valid widget configuration. The names under it aren't collected.
+        collectNames = collectNames && widgetName != null;
+        if (collectNames) {
+            widgetNames.add(String.valueOf(widgetName));
+        }
+
+        final Object children = widget.get(FieldName.CHILDREN);
+        if (children instanceof List) {
+            for (Object child : (List<?>) children) {
+                // If the children tag exists and there are entries within it
+                if (child instanceof Map && !CollectionUtils.isEmpty((Map<?, ?>) child)) {
+                    collectWidgets((Map<?, ?>) child, collectNames, widgets, widgetNames);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Whether the widget has the same properties as the stored one, not counting their children, which are
+     * compared as widgets of their own.
+     */
+    private static boolean isSameWidget(Map<?, ?> widget, Map<?, ?> storedWidget) {
+        if (storedWidget == null || widget.size() != storedWidget.size()) {
+            return false;
+        }
+
+        for (Map.Entry<?, ?> entry : widget.entrySet()) {
+            if (!storedWidget.containsKey(entry.getKey())) {
+                return false;
+            }
+            if (!FieldName.CHILDREN.equals(entry.getKey())
+                    && !Objects.equals(entry.getValue(), storedWidget.get(entry.getKey()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Names used in the dynamic bindings in the properties of the widget, not counting its children.
+     */
+    private Set<String> extractWidgetBindingNames(Map<?, ?> widget) {
+        Set<String> bindingNames = new HashSet<>();
+        for (Map.Entry<?, ?> entry : widget.entrySet()) {
+            if (FieldName.CHILDREN.equals(entry.getKey())) {
+                continue;
+            }
+            for (String mustacheKey : MustacheHelper.extractMustacheKeysFromFields(entry.getValue())) {
                 // Extract all the words in the dynamic bindings
-                extractWordsAndAddToSet(dynamicBindingNames, mustacheKey);
+                extractWordsAndAddToSet(bindingNames, mustacheKey);
             }
         }
+        return bindingNames;
+    }
 
-        Mono<List<HashSet<DslActionDTO>>> onLoadActionsMono = findOnLoadActionsInPage(dynamicBindingNames, pageId);
+    /**
+     * Finds the actions to run when the page loads, which are the on load actions used in the dynamic bindings of the
+     * DSL, and the on load actions that those depend on, through their `jsonPathKeys`. All the actions of the page
+     * are loaded once, and their dependencies resolved in memory. Actions found here that weren't already marked to
+     * be executed on load, are marked so with a single update.
+     *
+     * @param dynamicBindingNames Names used in the dynamic bindings of the DSL.
+     * @param pageId              Id of the page whose actions to look in.
+     * @return Sets of actions to run on page load, in order. The actions in each set only depend on the actions in the
+     * sets before it.
+     */
+    public Mono<List<HashSet<DslActionDTO>>> findOnLoadActionsInPage(Set<String> dynamicBindingNames, String pageId) {
+        if (CollectionUtils.isEmpty(dynamicBindingNames)) {
+            return Mono.just(new ArrayList<>());
+        }
 
-        return pageService.findByIdAndLayoutsId(pageId, layoutId, MANAGE_PAGES)
-                .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACL_NO_RESOURCE_FOUND,
-                        FieldName.PAGE_ID + " or " + FieldName.LAYOUT_ID, pageId + ", " + layoutId)))
-                .zipWith(onLoadActionsMono)
-                .map(tuple -> {
-                    Page page = tuple.getT1();
-                    List<HashSet<DslActionDTO>> onLoadActions = tuple.getT2();
-
-                    List<Layout> layoutList = page.getLayouts();
-
-                    //Because the findByIdAndLayoutsId call returned non-empty result, we are guaranteed to find the layoutId here.
-                    for (Layout storedLayout : layoutList) {
-                        if (storedLayout.getId().equals(layoutId)) {
-                            //Copy the variables to conserve before update
-                            JSONObject publishedDsl = storedLayout.getPublishedDsl();
-                            List<HashSet<DslActionDTO>> publishedLayoutOnLoadActions = storedLayout.getPublishedLayoutOnLoadActions();
-
-                            //Update
-                            layout.setLayoutOnLoadActions(onLoadActions);
-                            BeanUtils.copyProperties(layout, storedLayout);
-                            storedLayout.setId(layoutId);
-
-                            //Copy back the conserved variables.
-                            storedLayout.setPublishedDsl(publishedDsl);
-                            storedLayout.setPublishedLayoutOnLoadActions(publishedLayoutOnLoadActions);
-                            break;
-                        }
-                    }
-                    page.setLayouts(layoutList);
-                    return page;
-                })
-                .flatMap(pageService::save)
-                .flatMap(page -> {
-                    List<Layout> layoutList = page.getLayouts();
-                    for (Layout storedLayout : layoutList) {
-                        if (storedLayout.getId().equals(layoutId)) {
-                            return Mono.just(storedLayout);
+        return actionService.findByPageId(pageId, null)
+                .filter(LayoutActionServiceImpl::isOnLoadCandidate)
+                .collectMap(Action::getName)
+                .flatMap(candidates -> computeOnLoadWaves(dynamicBindingNames, candidates))
+                .flatMap(waves -> {
+                    List<HashSet<DslActionDTO>> onLoadActions = new ArrayList<>();
+                    Set<String> actionIdsToMark = new HashSet<>();
+
+                    for (Set<Action> wave : waves) {
+                        HashSet<DslActionDTO> onLoadSet = new HashSet<>();
+                        for (Action action : wave) {
+                            onLoadSet.add(toDslActionDTO(action));
+                            // If the executeOnLoad field isn't true, set it to true
+                            if (!Boolean.TRUE.equals(action.getExecuteOnLoad())) {
+                                actionIdsToMark.add(action.getId());
+                            }
                         }
+                        onLoadActions.add(onLoadSet);
                     }
-                    return Mono.empty();
+
+                    return actionService.markExecuteOnLoad(actionIdsToMark)
+                            .thenReturn(onLoadActions);
                 });
     }
 
-    public Mono<List<HashSet<DslActionDTO>>> findOnLoadActionsInPage(Set<String> dynamicBindingNames, String pageId) {
-        return findOnLoadActionsInPage(new ArrayList<>(), dynamicBindingNames, pageId);
+    /**
+     * Actions are run on page load if they are marked to, or if they are GET API actions which the user hasn't
+     * explicitly turned off.
+     */
+    private static boolean isOnLoadCandidate(Action action) {
+        if (Boolean.TRUE.equals(action.getExecuteOnLoad())) {
+            return true;
+        }
+
+        return action.getActionConfiguration() != null
+                && HttpMethod.GET.equals(action.getActionConfiguration().getHttpMethod())
+                && Boolean.FALSE.equals(action.getUserSetOnLoad());
     }
 
-    private Mono<List<HashSet<DslActionDTO>>> findOnLoadActionsInPage(List<HashSet<DslActionDTO>> onLoadActions, Set<String> dynamicBindingNames, String pageId) {
-        if (dynamicBindingNames == null || dynamicBindingNames.isEmpty()) {
-            return Mono.just(onLoadActions);
+    /**
+     * Groups the candidates reachable from the binding names into waves. The candidates are first walked depth first
+     * from the binding names, which finds any cycles, and orders them so that each comes before the candidates it
+     * depends on. An action's level is then the length of the longest chain of dependencies leading to it from the
+     * binding names, so that each action is run once, after everything it depends on, and actions used directly in
+     * the DSL are run last.
+     *
+     * @param bindingNames Names used in the dynamic bindings of the DSL.
+     * @param candidates   On load candidates of the page, by name.
+     * @return Waves of actions, in the order they should be run, or an error if the candidates reachable from the
+     * binding names depend on each other in a cycle.
+     */
+    private Mono<List<Set<Action>>> computeOnLoadWaves(Set<String> bindingNames, Map<String, Action> candidates) {
+        Map<String, Set<String>> dependenciesByName = new HashMap<>();
+        List<String> postOrder = new ArrayList<>();
+        LinkedHashSet<String> path = new LinkedHashSet<>();
+
+        for (String name : bindingNames) {
+            if (candidates.containsKey(name)) {
+                List<String> cycle = visitDependencies(name, candidates, dependenciesByName, path, postOrder);
+                if (cycle != null) {
+                    return Mono.error(new AppsmithException(
+                            AppsmithError.CYCLICAL_DEPENDENCY_IN_ON_LOAD_ACTIONS, String.join(" -> ", cycle)));
+                }
+            }
         }
-        Set<String> bindingNames = new HashSet<>();
-        return actionService.findOnLoadActionsInPage(dynamicBindingNames, pageId)
-                .flatMap(action -> {
-                    if (!CollectionUtils.isEmpty(action.getJsonPathKeys())) {
-                        for (String mustacheKey : action.getJsonPathKeys()) {
-                            extractWordsAndAddToSet(bindingNames, mustacheKey);
-                        }
-                        bindingNames.remove(action.getName());
-                    }
-                    DslActionDTO newAction = new DslActionDTO();
-                    newAction.setId(action.getId());
-                    newAction.setPluginType(action.getPluginType());
-                    newAction.setJsonPathKeys(action.getJsonPathKeys());
-                    newAction.setName(action.getName());
-                    if (action.getActionConfiguration() != null) {
-                        newAction.setTimeoutInMillisecond(action.getActionConfiguration().getTimeoutInMillisecond());
-                    }
 
-                    // If the executeOnLoad field isn't true, set it to true
-                    if (!Boolean.TRUE.equals(action.getExecuteOnLoad())) {
-                        Action updateAction = new Action();
-                        updateAction.setExecuteOnLoad(true);
+        // Reversed, the post order has every action before the actions it depends on.
+        Map<String, Integer> levelByName = new HashMap<>();
+        int maxLevel = 0;
+        for (int i = postOrder.size() - 1; i >= 0; i--) {
+            String name = postOrder.get(i);
+            int level = levelByName.getOrDefault(name, 0);
+            maxLevel = Math.max(maxLevel, level);
+            for (String dependencyName : dependenciesByName.get(name)) {
+                levelByName.merge(dependencyName, level + 1, Math::max);
+            }
+        }
 
-                        return actionService.update(action.getId(), updateAction)
-                                .thenReturn(newAction);
-                    }
+        List<Set<Action>> waves = new ArrayList<>();
+        for (int level = 0; level <= maxLevel && !postOrder.isEmpty(); level++) {
+            waves.add(new HashSet<>());
+        }
+        for (String name : postOrder) {
+            waves.get(maxLevel - levelByName.getOrDefault(name, 0)).add(candidates.get(name));
+        }
 
-                    return Mono.just(newAction);
+        return Mono.just(waves);
+    }
 
-                })
-                .collect(toSet())
-                .flatMap(actions -> {
-                    HashSet<DslActionDTO> onLoadSet = new HashSet<>(actions);
+    /**
+     * Visits the named candidate and the candidates it depends on, depth first, adding each to the post order once
+     * all the candidates it depends on have been added.
+     *
+     * @return Names of the actions in a cycle, starting and ending with the same name, if one was found. Null
+     * otherwise.
+     */
+    private List<String> visitDependencies(String name,
+                                           Map<String, Action> candidates,
+                                           Map<String, Set<String>> dependenciesByName,
+                                           LinkedHashSet<String> path,
+                                           List<String> postOrder) {
+        if (!path.add(name)) {
+            // The action is already being visited further up the path, so the actions from there on form a cycle.
+            List<String> cycle = new ArrayList<>();
+            boolean isInCycle = false;
+            for (String pathName : path) {
+                isInCycle = isInCycle || pathName.equals(name);
+                if (isInCycle) {
+                    cycle.add(pathName);
+                }
+            }
+            cycle.add(name);
+            return cycle;
+        }
 
-                    // If the resultant set of actions is empty, don't add it to the array list.
-                    if (!onLoadSet.isEmpty()) {
-                        onLoadActions.add(0, onLoadSet);
-                    }
-                    return findOnLoadActionsInPage(onLoadActions, bindingNames, pageId);
-                });
+        if (dependenciesByName.containsKey(name)) {
+            // Visited, along with everything it depends on, from another action.
+            path.remove(name);
+            return null;
+        }
+
+        Action action = candidates.get(name);
+        Set<String> words = new HashSet<>();
+        if (!CollectionUtils.isEmpty(action.getJsonPathKeys())) {
+            for (String mustacheKey : action.getJsonPathKeys()) {
+                extractWordsAndAddToSet(words, mustacheKey);
+            }
+        }
+        Set<String> dependencyNames = new HashSet<>();
+        for (String word : words) {
+            if (!word.equals(name) && candidates.containsKey(word)) {
+                dependencyNames.add(word);
+            }
+        }
+        dependenciesByName.put(name, dependencyNames);
+
+        for (String dependencyName : dependencyNames) {
+            List<String> cycle = visitDependencies(dependencyName, candidates, dependenciesByName, path, postOrder);
+            if (cycle != null) {
+                return cycle;
+            }
+        }
+
+        path.remove(name);
+        postOrder.add(name);
+        return null;
+    }
+
+    private static DslActionDTO toDslActionDTO(Action action) {
+        DslActionDTO dslAction = new DslActionDTO();
+        dslAction.setId(action.getId());
+        dslAction.setPluginType(action.getPluginType());
+        dslAction.setJsonPathKeys(action.getJsonPathKeys());
+        dslAction.setName(action.getName());
+        if (action.getActionConfiguration() != null) {
+            dslAction.setTimeoutInMillisecond(action.getActionConfiguration().getTimeoutInMillisecond());
+        }
+        return dslAction;
     }
 
     private void extractWordsAndAddToSet(Set<String> bindingNames, String mustacheKey) {
@@ -297,142 +541,147 @@ public class LayoutActionServiceImpl implements LayoutActionService {
      * @return
      */
     private Mono<Layout> refactorName(String pageId, String layoutId, String oldName, String newName) {
-        String regexPattern = preWord + oldName + postWord;
-        Pattern oldNamePattern = Pattern.compile(regexPattern);
-
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        if (pageId != null) {
-            params.add(FieldName.PAGE_ID, pageId);
-        }
-
-        Mono<Page> updatePageMono = pageService
-                .findById(pageId, MANAGE_PAGES)
+        Mono<Layout> updateLayoutMono = pageService
+                .findById(pageId, MANAGE_PAGES, false)
                 .flatMap(page -> {
-                    List<Layout> layouts = page.getLayouts();
-                    for (Layout layout : layouts) {
-                        if (layout.getId().equals(layoutId) && layout.getDsl() != null) {
-                            String dslString = "";
-                            try {
-                                dslString = objectMapper.writeValueAsString(layout.getDsl());
-                            } catch (JsonProcessingException e) {
-                                log.debug("Exception caught during conversion of DSL Json object to String. ", e);
-                            }
-                            Matcher matcher = oldNamePattern.matcher(dslString);
-                            String newDslString = matcher.replaceAll(newName);
-                            try {
-                                JSONParser parser = new JSONParser(JSONParser.MODE_PERMISSIVE);
-                                JSONObject json = (JSONObject) parser.parse(newDslString);
-                                layout.setDsl(json);
-                            } catch (ParseException e) {
-                                log.debug("Exception caught during DSL conversion from string to Json object. ", e);
+                    for (Layout layout : page.getLayouts()) {
+                        if (layout.getId().equals(layoutId)) {
+                            if (layout.getDsl() == null) {
+                                return Mono.just(layout);
                             }
-                            page.setLayouts(layouts);
-                            // Since the page has most probably changed, save the page and return.
-                            return pageService.save(page);
+                            // The stored layout is left as it is, so that the renamed DSL is compared against it when
+                            // saving.
+                            Layout renamedLayout = new Layout();
+                            renamedLayout.setDsl((JSONObject) renameInWidget(layout.getDsl(), oldName, newName,
+                                    layout.getWidgetBindingNames()));
+                            return saveLayout(page, layoutId, renamedLayout);
                         }
                     }
-                    // If we have reached here, the layout was not found and the page should be returned as is.
-                    return Mono.just(page);
-                });
+                    // If we have reached here, the layout was not found.
+                    return Mono.empty();
+                })
+                .retry(MAX_PAGE_UPDATE_RETRIES, LayoutActionServiceImpl::isConcurrentPageUpdate);
 
-        Mono<Set<String>> updateActionsMono = actionService
+        Mono<List<Action>> updateActionsMono = actionService
                 .findByPageId(pageId, AclPermission.MANAGE_ACTIONS)
                 /*
                  * Assuming that the datasource should not be dependent on the widget and hence not going through the same
                  * to look for replacement pattern.
+                 *
+                 * Only the actions whose bindings use the old name are looked at, and only the ones that changed are
+                 * saved. Actions whose bindings were never extracted are looked at in full.
                  */
-                .flatMap(action -> {
-                    Boolean actionUpdateRequired = false;
-                    ActionConfiguration actionConfiguration = action.getActionConfiguration();
-                    Set<String> jsonPathKeys = action.getJsonPathKeys();
-
-                    if (jsonPathKeys != null && !jsonPathKeys.isEmpty()) {
-                        // Since json path keys actually contain the entire inline js function instead of just the widget/action
-                        // name, we can not simply use the set.contains(obj) function. We need to iterate over all the keys
-                        // in the set and see if the old name is a substring of the json path key.
-                        for (String key : jsonPathKeys) {
-                            if (key.contains(oldName)) {
-                                actionUpdateRequired = true;
+                .filter(action -> action.getJsonPathKeys() == null || isBindingTo(action.getJsonPathKeys(), oldName))
+                .filter(action -> renameReferencesInAction(action, oldName, newName))
+                .map(actionService::extractAndSetJsonPathKeys)
+                .collectList()
+                .flatMap(actions -> actionService.updateConfigurations(actions).thenReturn(actions));
+
+        // The page is updated after the actions, since the on load actions of the layout are computed from them.
+        return updateActionsMono
+                .flatMap(updatedActions -> {
+                    log.debug("Actions updated due to refactor name in page {} are : {}", pageId,
+                            updatedActions.stream().map(Action::getName).collect(toSet()));
+                    return updateLayoutMono;
+                });
+    }
+
+    /**
+     * Renames the widget if it has the old name, and the references to the old name in its dynamic bindings and in
+     * the widgets under it. Only the properties of the widgets whose bindings use the old name, as recorded in the
+     * binding index of the layout, are looked into. Widgets are copied where they change, so the given DSL is left as
+     * it is.
+     *
+     * @param widget             Widget to rename in.
+     * @param widgetBindingNames Binding index of the layout the widget is in. Widgets missing from it are looked into.
+     * @return The renamed widget, or the same instance if nothing in it was renamed.
+     */
+    private Map<?, ?> renameInWidget(Map<?, ?> widget,
+                                     String oldName,
+                                     String newName,
+                                     Map<String, Set<String>> widgetBindingNames) {
+        final Object widgetId = widget.get(FieldName.WIDGET_ID);
+        final Set<String> bindingNames = widgetBindingNames == null || widgetId == null
+                ? null
+                : widgetBindingNames.get(String.valueOf(widgetId));
+        final boolean isBindingToOldName = bindingNames == null || bindingNames.contains(oldName);
+
+        JSONObject renamedWidget = null;
+        for (Map.Entry<?, ?> entry : widget.entrySet()) {
+            final Object value = entry.getValue();
+            Object renamedValue = value;
+
+            if (FieldName.CHILDREN.equals(entry.getKey())) {
+                if (value instanceof List) {
+                    List<Object> renamedChildren = null;
+                    final List<?> children = (List<?>) value;
+                    for (int i = 0; i < children.size(); i++) {
+                        final Object child = children.get(i);
+                        if (!(child instanceof Map)) {
+                            continue;
+                        }
+                        final Map<?, ?> renamedChild = renameInWidget((Map<?, ?>) child, oldName, newName, widgetBindingNames);
+                        if (renamedChild != child) {
+                            if (renamedChildren == null) {
+                                renamedChildren = new ArrayList<>(children);
                             }
+                            renamedChildren.set(i, renamedChild);
                         }
                     }
-
-                    if (!actionUpdateRequired || actionConfiguration == null) {
-                        return Mono.just(action);
-                    }
-                    // if actionupdateRequired is true AND actionConfiguration is not null
-                    try {
-                        String actionConfigurationAsString = objectMapper.writeValueAsString(actionConfiguration);
-                        Matcher matcher = oldNamePattern.matcher(actionConfigurationAsString);
-                        String newActionConfigurationAsString = matcher.replaceAll(newName);
-                        ActionConfiguration newActionConfiguration = objectMapper.readValue(newActionConfigurationAsString, ActionConfiguration.class);
-                        action.setActionConfiguration(newActionConfiguration);
-                        action = actionService.extractAndSetJsonPathKeys(action);
-                        return actionService.save(action);
-                    } catch (JsonProcessingException e) {
-                        log.debug("Exception caught during conversion between string and action configuration object ", e);
-                        return Mono.just(action);
+                    if (renamedChildren != null) {
+                        renamedValue = renamedChildren;
                     }
-                })
-                .map(savedAction -> savedAction.getName())
-                .collect(toSet());
+                }
+            } else if (FieldName.WIDGET_NAME.equals(entry.getKey())) {
+                if (oldName.equals(value)) {
+                    renamedValue = newName;
+                }
+            } else if (isBindingToOldName) {
+                renamedValue = RefactorHelper.renameReferencesInValue(value, oldName, newName);
+            }
 
-        return Mono.zip(updateActionsMono, updatePageMono)
-                .flatMap(tuple -> {
-                    Set<String> updatedActionNames = tuple.getT1();
-                    Page page = tuple.getT2();
-                    log.debug("Actions updated due to refactor name in page {} are : {}", pageId, updatedActionNames);
-                    List<Layout> layouts = page.getLayouts();
-                    for (Layout layout : layouts) {
-                        if (layout.getId().equals(layoutId)) {
-                            return updateLayout(pageId, layout.getId(), layout);
-                        }
-                    }
-                    return Mono.empty();
-                });
+            if (renamedValue != value) {
+                if (renamedWidget == null) {
+                    renamedWidget = RefactorHelper.copyOf(widget);
+                }
+                renamedWidget.put(String.valueOf(entry.getKey()), renamedValue);
+            }
+        }
+
+        return renamedWidget == null ? widget : renamedWidget;
     }
 
     /**
-     * Walks the DSL and extracts all the widget names from it.
-     *
-     * @param dsl
-     * @param widgetNames
+     * @return Whether the given mustache keys use the name at the top level, like `Input1` in `Input1.text`.
      */
-    private void extractAllWidgetNamesFromDSL(JSONObject dsl, Set<String> widgetNames) {
-        if (dsl.get(FieldName.WIDGET_NAME) == null) {
-            //This isnt a valid widget configuration. No need to traverse this.
-            return;
+    private boolean isBindingTo(Set<String> mustacheKeys, String name) {
+        if (mustacheKeys == null || mustacheKeys.isEmpty()) {
+            return false;
         }
 
-        String widgetName = dsl.getAsString(FieldName.WIDGET_NAME);
-
-        //Since we are parsing this widget in this, add it.
-        widgetNames.add(widgetName);
-
-        ArrayList<Object> children = (ArrayList<Object>) dsl.get(FieldName.CHILDREN);
-        if (children != null) {
-            for (int i = 0; i < children.size(); i++) {
-                Map data = (Map) children.get(i);
-                JSONObject object = new JSONObject();
-                // If the children tag exists and there are entries within it
-                if (!CollectionUtils.isEmpty(data)) {
-                    object.putAll(data);
-                    extractAllWidgetNamesFromDSL(object, widgetNames);
-                }
-            }
+        Set<String> bindingNames = new HashSet<>();
+        for (String mustacheKey : mustacheKeys) {
+            extractWordsAndAddToSet(bindingNames, mustacheKey);
         }
+        return bindingNames.contains(name);
     }
 
     /**
-     * Compares the new name with the existing widget and action names for this page. If they match, then it returns
-     * false to signify that refactoring can not be allowed. Else, refactoring should be allowed and hence true is
-     * returned.
+     * Renames the references to the old name in the templated fields of the action's configuration, in place.
      *
-     * @param pageId
-     * @param layoutId
-     * @param newName
-     * @return
+     * @return Whether anything in the configuration was renamed.
      */
+    private static boolean renameReferencesInAction(Action action, String oldName, String newName) {
+        ActionConfiguration actionConfiguration = action.getActionConfiguration();
+        BindingPlan bindingPlan = BindingPlan.of(actionConfiguration);
+        if (bindingPlan == null) {
+            return false;
+        }
+
+        return Boolean.TRUE.equals(bindingPlan.update(actionConfiguration,
+                template -> RefactorHelper.renameReferences(template, oldName, newName)));
+    }
+
     private Mono<Boolean> isNameAllowed(String pageId, String layoutId, String newName) {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         if (pageId != null) {
@@ -12,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -50,25 +49,19 @@ public class LayoutServiceImpl implements LayoutService {
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.INVALID_PARAMETER, FieldName.PAGE_ID)));
 
         return pageMono
-                .map(page -> {
-                    List<Layout> layoutList = page.getLayouts();
-                    if (layoutList == null) {
-                        //no layouts exist for this page
-                        layoutList = new ArrayList<Layout>();
-                    }
+                .flatMap(page -> {
                     //Adding an Id to the layout to ensure that a layout can be referred to by its ID as well.
                     layout.setId(new ObjectId().toString());
-                    layoutList.add(layout);
-                    page.setLayouts(layoutList);
-                    return page;
+                    // Only the new layout is written, so that changes made to the page since it was read are kept.
+                    return pageService.addLayout(page, layout);
                 })
-                .flatMap(pageService::save)
                 .then(Mono.just(layout));
     }
 
     @Override
     public Mono<Layout> getLayout(String pageId, String layoutId, Boolean viewMode) {
-        return pageService.findByIdAndLayoutsId(pageId, layoutId, READ_PAGES)
+        // Only the fields of the layouts used in the mode are loaded.
+        return pageService.findByIdAndLayoutsId(pageId, layoutId, READ_PAGES, Boolean.TRUE.equals(viewMode))
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.INVALID_PARAMETER, FieldName.PAGE_ID + " or " + FieldName.LAYOUT_ID)))
                 .map(page -> {
                     List<Layout> layoutList = page.getLayouts();
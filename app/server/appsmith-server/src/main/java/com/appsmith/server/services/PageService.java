@@ -4,13 +4,18 @@ import com.appsmith.server.acl.AclPermission;
 import com.appsmith.server.domains.Layout;
 import com.appsmith.server.domains.Page;
 import com.appsmith.server.dtos.ApplicationPagesDTO;
+import com.querydsl.core.types.Path;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface PageService extends CrudService<Page, String> {
 
     Mono<Page> findById(String pageId, AclPermission aclPermission);
 
+    Mono<Page> findById(String pageId, AclPermission aclPermission, boolean viewMode);
+
     Flux<Page> findByApplicationId(String applicationId, AclPermission permission);
 
     Mono<Page> save(Page page);
@@ -19,6 +24,12 @@ public interface PageService extends CrudService<Page, String> {
 
     Mono<Page> findByIdAndLayoutsId(String pageId, String layoutId, AclPermission aclPermission);
 
+    Mono<Page> findByIdAndLayoutsId(String pageId, String layoutId, AclPermission aclPermission, boolean viewMode);
+
+    Mono<Page> updateLayoutFields(Page page, List<Layout> layouts, Path<?>... layoutFields);
+
+    Mono<Page> addLayout(Page page, Layout layout);
+
     Mono<Page> findByName(String name, AclPermission permission);
 
     Mono<Void> deleteAll();
@@ -30,4 +41,6 @@ public interface PageService extends CrudService<Page, String> {
     Mono<ApplicationPagesDTO> findNamesByApplicationName(String applicationName);
 
     Mono<Page> findByNameAndApplicationId(String name, String applicationId, AclPermission permission);
+
+    Mono<Page> findByNameAndApplicationId(String name, String applicationId, AclPermission permission, boolean viewMode);
 }
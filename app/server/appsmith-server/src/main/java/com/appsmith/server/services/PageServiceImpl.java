@@ -7,12 +7,14 @@ import com.appsmith.server.domains.Application;
 import com.appsmith.server.domains.ApplicationPage;
 import com.appsmith.server.domains.Layout;
 import com.appsmith.server.domains.Page;
+import com.appsmith.server.domains.QPage;
 import com.appsmith.server.dtos.ApplicationPagesDTO;
 import com.appsmith.server.dtos.PageNameIdDTO;
 import com.appsmith.server.exceptions.AppsmithError;
 import com.appsmith.server.exceptions.AppsmithException;
 import com.appsmith.server.repositories.ActionRepository;
 import com.appsmith.server.repositories.PageRepository;
+import com.querydsl.core.types.Path;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONObject;
 import net.minidev.json.parser.JSONParser;
@@ -21,6 +23,7 @@ import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -30,6 +33,8 @@ import javax.validation.Validator;
 import java.util.List;
 import java.util.Set;
 
+import static com.appsmith.server.repositories.BaseAppsmithRepositoryImpl.fieldName;
+
 @Service
 @Slf4j
 public class PageServiceImpl extends BaseService<PageRepository, Page, String> implements PageService {
@@ -56,6 +61,16 @@ public class PageServiceImpl extends BaseService<PageRepository, Page, String> i
         return repository.findById(pageId, aclPermission);
     }
 
+    /**
+     * Finds the page with only the fields of its layouts that are used in the given mode. The layouts are set to that
+     * mode, so that they return the DSL and on load actions of the mode.
+     */
+    @Override
+    public Mono<Page> findById(String pageId, AclPermission aclPermission, boolean viewMode) {
+        return repository.findById(pageId, aclPermission, viewMode)
+                .map(page -> setViewMode(page, viewMode));
+    }
+
     @Override
     public Flux<Page> findByApplicationId(String applicationId, AclPermission permission) {
         return repository.findByApplicationId(applicationId, permission);
@@ -81,6 +96,37 @@ public class PageServiceImpl extends BaseService<PageRepository, Page, String> i
         return repository.findByIdAndLayoutsId(pageId, layoutId, aclPermission);
     }
 
+    @Override
+    public Mono<Page> findByIdAndLayoutsId(String pageId, String layoutId, AclPermission aclPermission, boolean viewMode) {
+        return repository.findByIdAndLayoutsId(pageId, layoutId, aclPermission, viewMode)
+                .map(page -> setViewMode(page, viewMode));
+    }
+
+    @Override
+    public Mono<Page> updateLayoutFields(Page page, List<Layout> layouts, Path<?>... layoutFields) {
+        return repository.updateLayoutFields(page, layouts, layoutFields);
+    }
+
+    /**
+     * Replacing the layouts of a page increments its version, like the partial updates of the layouts do, so that
+     * those that read the page before this don't apply on top of it.
+     */
+    @Override
+    protected Update getUpdate(Page page) {
+        // The version is only ever incremented.
+        page.setVersion(null);
+        Update update = super.getUpdate(page);
+        if (page.getLayouts() != null) {
+            update.inc(fieldName(QPage.page.version), 1);
+        }
+        return update;
+    }
+
+    @Override
+    public Mono<Page> addLayout(Page page, Layout layout) {
+        return repository.addLayout(page, layout);
+    }
+
     @Override
     public Mono<Page> findByName(String name, AclPermission permission) {
         return repository.findByName(name, permission);
@@ -186,7 +232,7 @@ public class PageServiceImpl extends BaseService<PageRepository, Page, String> i
 
     private Flux<PageNameIdDTO> findNamesByApplication(Application application) {
         List<ApplicationPage> pages = application.getPages();
-        return findByApplicationId(application.getId(), AclPermission.READ_PAGES)
+        return repository.findNamesByApplicationId(application.getId(), AclPermission.READ_PAGES)
                 .switchIfEmpty(Mono.error(new AppsmithException(AppsmithError.ACL_NO_RESOURCE_FOUND, FieldName.PAGE + "by application name", application.getName())))
                 .map(page -> {
                     PageNameIdDTO pageNameIdDTO = new PageNameIdDTO();
@@ -205,4 +251,17 @@ public class PageServiceImpl extends BaseService<PageRepository, Page, String> i
     public Mono<Page> findByNameAndApplicationId(String name, String applicationId, AclPermission permission) {
         return repository.findByNameAndApplicationId(name, applicationId, permission);
     }
+
+    @Override
+    public Mono<Page> findByNameAndApplicationId(String name, String applicationId, AclPermission permission, boolean viewMode) {
+        return repository.findByNameAndApplicationId(name, applicationId, permission, viewMode)
+                .map(page -> setViewMode(page, viewMode));
+    }
+
+    private static Page setViewMode(Page page, boolean viewMode) {
+        if (page.getLayouts() != null) {
+            page.getLayouts().forEach(layout -> layout.setViewMode(viewMode));
+        }
+        return page;
+    }
 }
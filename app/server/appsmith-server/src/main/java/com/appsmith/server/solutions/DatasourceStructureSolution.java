@@ -11,6 +11,7 @@ import com.appsmith.server.domains.Datasource;
 import com.appsmith.server.exceptions.AppsmithError;
 import com.appsmith.server.exceptions.AppsmithException;
 import com.appsmith.server.helpers.PluginExecutorHelper;
+import com.appsmith.server.helpers.PluginSchedulerHelper;
 import com.appsmith.server.repositories.CustomDatasourceRepository;
 import com.appsmith.server.services.DatasourceContextService;
 import com.appsmith.server.services.DatasourceService;
@@ -32,6 +33,7 @@ public class DatasourceStructureSolution {
 
     private final DatasourceService datasourceService;
     private final PluginExecutorHelper pluginExecutorHelper;
+    private final PluginSchedulerHelper pluginSchedulerHelper;
     private final PluginService pluginService;
     private final DatasourceContextService datasourceContextService;
     private final EncryptionService encryptionService;
@@ -57,8 +59,11 @@ public class DatasourceStructureSolution {
                 .flatMap(pluginExecutor -> datasourceContextService
                         .retryOnce(
                                 datasource,
-                                resourceContext -> ((PluginExecutor<Object>) pluginExecutor)
-                                        .getStructure(resourceContext.getConnection(), datasource.getDatasourceConfiguration())
+                                resourceContext -> pluginSchedulerHelper.runOnPluginScheduler(
+                                        pluginExecutor,
+                                        () -> ((PluginExecutor<Object>) pluginExecutor)
+                                                .getStructure(resourceContext.getConnection(), datasource.getDatasourceConfiguration())
+                                )
                         )
                 )
                 .timeout(Duration.ofSeconds(GET_STRUCTURE_TIMEOUT_SECONDS))
@@ -0,0 +1,87 @@
+package com.appsmith.server.controllers;
+
+import com.appsmith.external.models.RowsChunk;
+import com.appsmith.external.pluginExceptions.AppsmithPluginError;
+import com.appsmith.external.pluginExceptions.AppsmithPluginException;
+import com.appsmith.server.configurations.CommonConfig;
+import com.appsmith.server.configurations.SecurityTestConfig;
+import com.appsmith.server.services.ActionCollectionService;
+import com.appsmith.server.services.ActionService;
+import com.appsmith.server.services.LayoutActionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@WebFluxTest(ActionController.class)
+@Import(SecurityTestConfig.class)
+public class ActionControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ActionService actionService;
+
+    @MockBean
+    private ActionCollectionService actionCollectionService;
+
+    @MockBean
+    private LayoutActionService layoutActionService;
+
+    @MockBean
+    private CommonConfig commonConfig;
+
+    @Test
+    @WithMockUser
+    public void executeActionStreamingEndsWithErrorResponse() throws IOException {
+        Mockito.when(actionService.executeActionStreaming(Mockito.any())).thenReturn(Flux.concat(
+                Flux.just(new RowsChunk(List.of("id"), List.<Object[]>of(new Object[]{1}))),
+                Flux.error(new AppsmithPluginException(AppsmithPluginError.PLUGIN_ERROR, "No rows were streamed for 100 ms."))
+        ));
+
+        final String body = webTestClient.post().uri("/api/v1/actions/execute/stream").
+                contentType(MediaType.APPLICATION_JSON).
+                accept(MediaType.APPLICATION_STREAM_JSON).
+                body(BodyInserters.fromValue("{\"action\": {\"id\": \"action1\"}}")).
+                exchange().
+                expectStatus().isOk().
+                expectBody(String.class).
+                returnResult().
+                getResponseBody();
+
+        final List<String> lines = body.lines().filter(line -> !line.isBlank()).collect(Collectors.toList());
+        assertThat(lines).hasSize(2);
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+
+        final JsonNode chunk = objectMapper.readTree(lines.get(0));
+        assertThat(chunk.at("/responseMeta/status").asInt()).isEqualTo(200);
+        assertThat(chunk.at("/responseMeta/success").asBoolean()).isTrue();
+        assertThat(chunk.at("/data/columns/0").asText()).isEqualTo("id");
+        assertThat(chunk.at("/data/rows/0/0").asInt()).isEqualTo(1);
+
+        final JsonNode error = objectMapper.readTree(lines.get(1));
+        assertThat(error.at("/responseMeta/status").asInt()).isEqualTo(500);
+        assertThat(error.at("/responseMeta/success").asBoolean()).isFalse();
+        assertThat(error.at("/responseMeta/error/code").asInt()).isEqualTo(5000);
+        assertThat(error.at("/responseMeta/error/message").asText()).contains("No rows were streamed for 100 ms.");
+    }
+}
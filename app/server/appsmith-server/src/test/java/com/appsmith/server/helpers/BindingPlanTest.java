@@ -0,0 +1,122 @@
+package com.appsmith.server.helpers;
+
+import com.appsmith.external.models.ActionConfiguration;
+import com.appsmith.external.models.AuthenticationDTO;
+import com.appsmith.external.models.DatasourceConfiguration;
+import com.appsmith.external.models.Property;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BindingPlanTest {
+
+    private ActionConfiguration makeActionConfiguration() {
+        ActionConfiguration configuration = new ActionConfiguration();
+        configuration.setBody("select * from users where id = {{Input1.text}}");
+        configuration.setPath("/users");
+        List<Property> headers = new ArrayList<>();
+        headers.add(new Property("Accept", "application/json"));
+        headers.add(new Property("Authorization", "Bearer {{appsmith.store.token}}"));
+        configuration.setHeaders(headers);
+        return configuration;
+    }
+
+    @Test
+    public void planHasOnlyTemplatedFields() {
+        BindingPlan plan = BindingPlan.of(makeActionConfiguration());
+        assertThat(plan.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void emptyPlanForConfigurationWithoutTemplates() {
+        ActionConfiguration configuration = new ActionConfiguration();
+        configuration.setBody("select * from users");
+        assertThat(BindingPlan.of(configuration).isEmpty()).isTrue();
+        assertThat(BindingPlan.of(null).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void planRendersAnotherInstanceOfSameShape() {
+        BindingPlan plan = BindingPlan.of(makeActionConfiguration());
+
+        ActionConfiguration configuration = makeActionConfiguration();
+        boolean rendered = plan.render(configuration, Map.of("Input1.text", "42", "appsmith.store.token", "abc"));
+
+        assertThat(rendered).isTrue();
+        assertThat(configuration.getBody()).isEqualTo("select * from users where id = 42");
+        assertThat(configuration.getPath()).isEqualTo("/users");
+        assertThat(configuration.getHeaders().get(0).getValue()).isEqualTo("application/json");
+        assertThat(configuration.getHeaders().get(1).getValue()).isEqualTo("Bearer abc");
+    }
+
+    @Test
+    public void planRendersNestedDomainModels() {
+        DatasourceConfiguration configuration = new DatasourceConfiguration();
+        AuthenticationDTO authentication = new AuthenticationDTO();
+        authentication.setDatabaseName("{{dbName}}");
+        configuration.setAuthentication(authentication);
+        configuration.setUrl("https://example.com");
+
+        BindingPlan plan = BindingPlan.of(configuration);
+        assertThat(plan.size()).isEqualTo(1);
+
+        assertThat(plan.render(configuration, Map.of("dbName", "reports"))).isTrue();
+        assertThat(configuration.getAuthentication().getDatabaseName()).isEqualTo("reports");
+    }
+
+    @Test
+    public void planReportsShapeMismatch() {
+        BindingPlan plan = BindingPlan.of(makeActionConfiguration());
+
+        ActionConfiguration configuration = makeActionConfiguration();
+        configuration.setHeaders(null);
+
+        assertThat(plan.render(configuration, Map.of("Input1.text", "42"))).isFalse();
+    }
+
+    @Test
+    public void planLeavesObjectAsItWasOnShapeMismatch() {
+        BindingPlan plan = BindingPlan.of(makeActionConfiguration());
+
+        // The body is rendered before the headers, where the mismatch is.
+        ActionConfiguration configuration = makeActionConfiguration();
+        configuration.setHeaders(new ArrayList<>(List.of(new Property("Accept", "application/json"))));
+
+        assertThat(plan.render(configuration, Map.of("Input1.text", "42"))).isFalse();
+        assertThat(configuration.getBody()).isEqualTo("select * from users where id = {{Input1.text}}");
+    }
+
+    @Test
+    public void planUnescapesFieldsLikeFullRender() {
+        ActionConfiguration configuration = makeActionConfiguration();
+        configuration.setPath("/users?active=true&amp;sort=name");
+        BindingPlan plan = BindingPlan.of(configuration);
+
+        ActionConfiguration renderedWithPlan = makeActionConfiguration();
+        renderedWithPlan.setPath(configuration.getPath());
+        assertThat(plan.render(renderedWithPlan, Map.of("Input1.text", "42"))).isTrue();
+
+        ActionConfiguration renderedInFull = MustacheHelper.renderFieldValues(configuration, Map.of("Input1.text", "42"));
+
+        assertThat(renderedWithPlan.getPath()).isEqualTo("/users?active=true&sort=name");
+        assertThat(renderedWithPlan).usingRecursiveComparison().isEqualTo(renderedInFull);
+    }
+
+
+    @Test
+    public void updateChangesOnlyTemplatedFields() {
+        ActionConfiguration configuration = makeActionConfiguration();
+        BindingPlan plan = BindingPlan.of(configuration);
+
+        assertThat(plan.update(configuration, value -> value.replace("{{", "{{ "))).isTrue();
+        assertThat(configuration.getBody()).isEqualTo("select * from users where id = {{ Input1.text}}");
+        assertThat(configuration.getHeaders().get(0).getValue()).isEqualTo("application/json");
+        assertThat(configuration.getHeaders().get(1).getValue()).isEqualTo("Bearer {{ appsmith.store.token}}");
+
+        assertThat(plan.update(configuration, value -> value)).isFalse();
+    }
+}
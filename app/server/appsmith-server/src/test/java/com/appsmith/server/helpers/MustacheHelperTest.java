@@ -5,6 +5,7 @@ import com.appsmith.external.models.Connection;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.external.models.Endpoint;
 import com.appsmith.external.models.Property;
+import com.appsmith.server.exceptions.AppsmithException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.assertj.core.api.IterableAssert;
 import org.junit.Test;
@@ -13,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -21,8 +23,10 @@ import java.util.Set;
 import static com.appsmith.server.helpers.MustacheHelper.extractMustacheKeys;
 import static com.appsmith.server.helpers.MustacheHelper.extractMustacheKeysFromFields;
 import static com.appsmith.server.helpers.MustacheHelper.renderFieldValues;
+import static com.appsmith.server.helpers.MustacheHelper.replaceMustacheWithPlaceholders;
 import static com.appsmith.server.helpers.MustacheHelper.tokenize;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SuppressWarnings(
         // Disabling this so we may use `Arrays.asList` with single argument, which is easier to refactor, just for tests.
@@ -102,6 +106,62 @@ public class MustacheHelperTest {
         );
     }
 
+    @Test
+    public void placeholdersForPreparedStatement() throws AppsmithException {
+        final List<String> keys = new ArrayList<>();
+        final String query = replaceMustacheWithPlaceholders(
+                "SELECT * FROM users WHERE id = {{ Table1.selectedRow.id }} AND name = {{Input1.text}} LIMIT 10",
+                keys
+        );
+
+        assertThat(query).isEqualTo("SELECT * FROM users WHERE id = ? AND name = ? LIMIT 10");
+        assertThat(keys).containsExactly("Table1.selectedRow.id", "Input1.text");
+    }
+
+    @Test
+    public void placeholdersForQuotedBindingsInPreparedStatement() throws AppsmithException {
+        final List<String> keys = new ArrayList<>();
+        final String query = replaceMustacheWithPlaceholders(
+                "SELECT * FROM users WHERE name = '{{Input1.text}}' AND id = {{Input2.text}} AND role = '{{Input3.text}}'",
+                keys
+        );
+
+        assertThat(query).isEqualTo("SELECT * FROM users WHERE name = ? AND id = ? AND role = ?");
+        assertThat(keys).containsExactly("Input1.text", "Input2.text", "Input3.text");
+    }
+
+    @Test
+    public void bindingInsideSingleQuotedStringIsRejectedInPreparedStatement() {
+        assertThatThrownBy(() -> replaceMustacheWithPlaceholders(
+                "SELECT * FROM users WHERE name LIKE '%{{Input1.text}}%'",
+                new ArrayList<>()
+        ))
+                .isInstanceOf(AppsmithException.class)
+                .hasMessageContaining("{{Input1.text}}");
+    }
+
+    @Test
+    public void bindingInsideDoubleQuotedStringIsRejectedInPreparedStatement() {
+        assertThatThrownBy(() -> replaceMustacheWithPlaceholders(
+                "SELECT * FROM users WHERE name = \"{{Input1.text}}\"",
+                new ArrayList<>()
+        ))
+                .isInstanceOf(AppsmithException.class)
+                .hasMessageContaining("{{Input1.text}}");
+    }
+
+    @Test
+    public void quotesAndCommentsAroundBindingsInPreparedStatement() throws AppsmithException {
+        final List<String> keys = new ArrayList<>();
+        final String query = replaceMustacheWithPlaceholders(
+                "SELECT * FROM users -- who don't {{Input1.text}}\nWHERE note = 'it''s' AND id = {{Input2.text}} /* '{{Input3.text}}' */",
+                keys
+        );
+
+        assertThat(query).isEqualTo("SELECT * FROM users -- who don't \nWHERE note = 'it''s' AND id = ? /* '' */");
+        assertThat(keys).containsExactly("Input2.text");
+    }
+
     @Test
     public void realWorldText2() {
         checkTokens(
@@ -516,4 +576,20 @@ public class MustacheHelperTest {
         assertThat(configuration.getBody()).isEqualTo("outside {\"more\": \"json\"} outside");
     }
 
+    @Test
+    public void renderReusesCompiledTemplates() {
+        final long initialHits = MustacheHelper.getTemplateCacheStats().hitCount();
+
+        ActionConfiguration configuration = new ActionConfiguration();
+        configuration.setBody("select * from users where id = {{cachedTemplateId}}");
+        renderFieldValues(configuration, Map.of("cachedTemplateId", "1"));
+        assertThat(configuration.getBody()).isEqualTo("select * from users where id = 1");
+
+        configuration.setBody("select * from users where id = {{cachedTemplateId}}");
+        renderFieldValues(configuration, Map.of("cachedTemplateId", "2"));
+        assertThat(configuration.getBody()).isEqualTo("select * from users where id = 2");
+
+        assertThat(MustacheHelper.getTemplateCacheStats().hitCount()).isGreaterThan(initialHits);
+    }
+
 }
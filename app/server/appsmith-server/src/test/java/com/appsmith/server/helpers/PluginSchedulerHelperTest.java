@@ -0,0 +1,97 @@
+package com.appsmith.server.helpers;
+
+import com.appsmith.external.pluginExceptions.AppsmithPluginError;
+import com.appsmith.external.pluginExceptions.AppsmithPluginException;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PluginSchedulerHelperTest {
+
+    private final PluginSchedulerHelper pluginSchedulerHelper = new PluginSchedulerHelper(1, 1);
+
+    private static class NonBlockingPluginExecutor extends MockPluginExecutor {
+        @Override
+        public boolean isBlocking() {
+            return false;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pluginSchedulerHelper.shutdown();
+    }
+
+    @Test
+    public void blockingPluginRunsOnWorkerPool() {
+        final String callingThread = Thread.currentThread().getName();
+
+        StepVerifier
+                .create(pluginSchedulerHelper.runOnPluginScheduler(
+                        new MockPluginExecutor(),
+                        () -> Mono.just(Thread.currentThread().getName())
+                ))
+                .assertNext(threadName -> {
+                    assertThat(threadName).isNotEqualTo(callingThread);
+                    assertThat(threadName).startsWith("plugin-MockPluginExecutor-");
+                })
+                .verifyComplete();
+
+        assertThat(pluginSchedulerHelper.getWorkerPoolStats()).containsOnlyKeys("MockPluginExecutor");
+    }
+
+    @Test
+    public void nonBlockingPluginRunsOnCallingThread() {
+        final String callingThread = Thread.currentThread().getName();
+
+        StepVerifier
+                .create(pluginSchedulerHelper.runOnPluginScheduler(
+                        new NonBlockingPluginExecutor(),
+                        () -> Mono.just(Thread.currentThread().getName())
+                ))
+                .assertNext(threadName -> assertThat(threadName).isEqualTo(callingThread))
+                .verifyComplete();
+
+        assertThat(pluginSchedulerHelper.getWorkerPoolStats()).isEmpty();
+    }
+
+    @Test
+    public void executionIsRejectedWhenWorkerPoolIsFull() throws InterruptedException {
+        final MockPluginExecutor pluginExecutor = new MockPluginExecutor();
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // Occupy the only worker thread, and the only slot in the queue.
+        pluginSchedulerHelper
+                .runOnPluginScheduler(pluginExecutor, () -> {
+                    running.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Mono.just("first");
+                })
+                .subscribe();
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        pluginSchedulerHelper.runOnPluginScheduler(pluginExecutor, () -> Mono.just("second")).subscribe();
+
+        StepVerifier
+                .create(pluginSchedulerHelper.runOnPluginScheduler(pluginExecutor, () -> Mono.just("third")))
+                .expectErrorMatches(error -> error instanceof AppsmithPluginException
+                        && ((AppsmithPluginException) error).getError() == AppsmithPluginError.PLUGIN_EXECUTION_REJECTED)
+                .verify();
+
+        release.countDown();
+
+        assertThat(pluginSchedulerHelper.getWorkerPoolStats().get("MockPluginExecutor").getRejectedTasks())
+                .isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.appsmith.server.helpers;
+
+import net.minidev.json.JSONObject;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RefactorHelperTest {
+
+    private String rename(String template) {
+        return RefactorHelper.renameReferences(template, "Input1", "Input2");
+    }
+
+    @Test
+    public void renamesReferencesInBindings() {
+        assertThat(rename("{{Input1.text}}")).isEqualTo("{{Input2.text}}");
+        assertThat(rename("Hello {{ Input1.text + Input1.value }}!")).isEqualTo("Hello {{ Input2.text + Input2.value }}!");
+        assertThat(rename("{{[...Input1.selectedRows]}}")).isEqualTo("{{[...Input2.selectedRows]}}");
+        assertThat(rename("{{`Name: ${Input1.text}`}}")).isEqualTo("{{`Name: ${Input2.text}`}}");
+    }
+
+    @Test
+    public void leavesOtherTextAsIs() {
+        // Text outside the bindings
+        assertThat(rename("Input1 is {{Input1.text}}")).isEqualTo("Input1 is {{Input2.text}}");
+        // String literals and comments
+        assertThat(rename("{{Input1.text || 'Input1' /* Input1 */}}")).isEqualTo("{{Input2.text || 'Input1' /* Input1 */}}");
+        // Properties of other objects and object keys
+        assertThat(rename("{{ { Input1: Table1.Input1 } }}")).isEqualTo("{{ { Input1: Table1.Input1 } }}");
+        // Other names that contain the name
+        assertThat(rename("{{Input10.text + myInput1}}")).isEqualTo("{{Input10.text + myInput1}}");
+    }
+
+    @Test
+    public void returnsSameInstanceWhenNothingIsRenamed() {
+        String template = "{{Input10.text}}";
+        assertThat(rename(template)).isSameAs(template);
+
+        Map<String, Object> widget = new JSONObject();
+        widget.put("text", "{{Table1.selectedRow}}");
+        widget.put("items", List.of("Input1", "{{Input5.text}}"));
+        assertThat(RefactorHelper.renameReferencesInValue(widget, "Input1", "Input2")).isSameAs(widget);
+    }
+
+    @Test
+    public void copiesValuesThatChange() {
+        Map<String, Object> widget = new JSONObject();
+        widget.put("text", "{{Input1.text}}");
+        widget.put("items", List.of("Input1", "{{Input1.value}}"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> renamedWidget = (Map<String, Object>) RefactorHelper.renameReferencesInValue(widget, "Input1", "Input2");
+
+        assertThat(renamedWidget).isNotSameAs(widget);
+        assertThat(renamedWidget.get("text")).isEqualTo("{{Input2.text}}");
+        assertThat(renamedWidget.get("items")).isEqualTo(List.of("Input1", "{{Input2.value}}"));
+        assertThat(widget.get("text")).isEqualTo("{{Input1.text}}");
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.appsmith.server.services;
+
+import com.appsmith.external.models.ActionExecutionResult;
+import com.appsmith.external.models.Param;
+import com.appsmith.server.domains.Action;
+import com.appsmith.server.domains.Datasource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ActionExecutionCacheServiceTest {
+
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private ActionExecutionCacheService actionExecutionCacheService;
+
+    private Action action;
+
+    private Datasource datasource;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final ReactiveRedisOperations<String, String> reactiveRedisOperations = Mockito.mock(ReactiveRedisOperations.class);
+        valueOperations = Mockito.mock(ReactiveValueOperations.class);
+        final ReactiveSetOperations<String, String> setOperations = Mockito.mock(ReactiveSetOperations.class);
+        Mockito.when(reactiveRedisOperations.opsForValue()).thenReturn(valueOperations);
+        Mockito.when(reactiveRedisOperations.opsForSet()).thenReturn(setOperations);
+        Mockito.when(valueOperations.set(Mockito.anyString(), Mockito.anyString(), Mockito.any(Duration.class)))
+                .thenReturn(Mono.just(true));
+        Mockito.when(valueOperations.get(Mockito.anyString())).thenReturn(Mono.empty());
+        Mockito.when(setOperations.add(Mockito.anyString(), Mockito.any())).thenReturn(Mono.just(1L));
+        Mockito.when(setOperations.members(Mockito.anyString())).thenReturn(Flux.empty());
+        Mockito.when(reactiveRedisOperations.expire(Mockito.anyString(), Mockito.any(Duration.class)))
+                .thenReturn(Mono.just(true));
+        Mockito.when(reactiveRedisOperations.delete(Mockito.<String>any())).thenReturn(Mono.just(1L));
+
+        actionExecutionCacheService = new ActionExecutionCacheServiceImpl(
+                reactiveRedisOperations, new ObjectMapper(), 1024 * 1024, 1024, 3600);
+
+        datasource = new Datasource();
+        datasource.setId("datasource1");
+        datasource.setUpdatedAt(Instant.ofEpochMilli(1000));
+
+        action = new Action();
+        action.setId("action1");
+        action.setUpdatedAt(Instant.ofEpochMilli(2000));
+        action.setDatasource(datasource);
+    }
+
+    private Param makeParam(String key, String value) {
+        Param param = new Param();
+        param.setKey(key);
+        param.setValue(value);
+        return param;
+    }
+
+    private ActionExecutionResult makeResult(String body) {
+        ActionExecutionResult result = new ActionExecutionResult();
+        result.setBody(body);
+        result.setIsExecutionSuccess(true);
+        return result;
+    }
+
+    @Test
+    public void cacheKeyDependsOnParamsAndUpdatedAt() {
+        final List<Param> params = List.of(makeParam("Input1.text", "a"), makeParam("Input2.text", "b"));
+        final String key = actionExecutionCacheService.getCacheKey(action, datasource, params, null);
+
+        assertThat(actionExecutionCacheService.getCacheKey(
+                action, datasource, List.of(makeParam("Input2.text", "b"), makeParam("Input1.text", "a")), null))
+                .isEqualTo(key);
+        assertThat(actionExecutionCacheService.getCacheKey(
+                action, datasource, List.of(makeParam("Input1.text", "a"), makeParam("Input2.text", "c")), null))
+                .isNotEqualTo(key);
+
+        datasource.setUpdatedAt(Instant.ofEpochMilli(3000));
+        assertThat(actionExecutionCacheService.getCacheKey(action, datasource, params, null)).isNotEqualTo(key);
+    }
+
+    @Test
+    public void cachedResultIsReturnedFromMemory() {
+        final String key = actionExecutionCacheService.getCacheKey(action, datasource, null, null);
+
+        StepVerifier.create(actionExecutionCacheService.put(key, action, makeResult("rows"), Duration.ofMinutes(1)))
+                .verifyComplete();
+
+        StepVerifier.create(actionExecutionCacheService.get(key))
+                .assertNext(result -> {
+                    assertThat(result.getBody()).isEqualTo("rows");
+                    assertThat(result.getIsExecutionSuccess()).isTrue();
+                })
+                .verifyComplete();
+
+        Mockito.verify(valueOperations, Mockito.times(1))
+                .set(Mockito.eq(key), Mockito.anyString(), Mockito.eq(Duration.ofMinutes(1)));
+        Mockito.verify(valueOperations, Mockito.never()).get(Mockito.anyString());
+    }
+
+    @Test
+    public void largeResultIsNotCached() {
+        final String key = actionExecutionCacheService.getCacheKey(action, datasource, null, null);
+
+        StepVerifier.create(actionExecutionCacheService.put(key, action, makeResult("x".repeat(2048)), Duration.ofMinutes(1)))
+                .verifyComplete();
+
+        StepVerifier.create(actionExecutionCacheService.get(key)).verifyComplete();
+        Mockito.verify(valueOperations, Mockito.never())
+                .set(Mockito.anyString(), Mockito.anyString(), Mockito.any(Duration.class));
+    }
+
+    @Test
+    public void invalidatedActionIsNotReturned() {
+        final String key = actionExecutionCacheService.getCacheKey(action, datasource, null, null);
+
+        StepVerifier.create(actionExecutionCacheService.put(key, action, makeResult("rows"), Duration.ofMinutes(1)))
+                .verifyComplete();
+        StepVerifier.create(actionExecutionCacheService.invalidateAction("action1")).verifyComplete();
+
+        StepVerifier.create(actionExecutionCacheService.get(key)).verifyComplete();
+    }
+
+}
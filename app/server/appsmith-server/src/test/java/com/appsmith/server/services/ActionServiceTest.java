@@ -2,6 +2,8 @@ package com.appsmith.server.services;
 
 import com.appsmith.external.models.ActionConfiguration;
 import com.appsmith.external.models.ActionExecutionResult;
+import com.appsmith.external.models.DatasourceConfiguration;
+import com.appsmith.external.models.Param;
 import com.appsmith.external.models.Policy;
 import com.appsmith.external.models.Property;
 import com.appsmith.external.pluginExceptions.AppsmithPluginError;
@@ -18,8 +20,10 @@ import com.appsmith.server.domains.Organization;
 import com.appsmith.server.domains.Page;
 import com.appsmith.server.domains.Plugin;
 import com.appsmith.server.domains.User;
+import com.appsmith.server.dtos.ActionExecutionBatchResultDTO;
 import com.appsmith.server.dtos.ActionMoveDTO;
 import com.appsmith.server.dtos.ActionViewDTO;
+import com.appsmith.server.dtos.ExecuteActionBatchDTO;
 import com.appsmith.server.dtos.ExecuteActionDTO;
 import com.appsmith.server.exceptions.AppsmithError;
 import com.appsmith.server.exceptions.AppsmithException;
@@ -45,6 +49,8 @@ import org.springframework.test.context.junit4.SpringRunner;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -81,6 +87,9 @@ public class ActionServiceTest {
     @Autowired
     PluginRepository pluginRepository;
 
+    @Autowired
+    DatasourceService datasourceService;
+
     @MockBean
     PluginExecutorHelper pluginExecutorHelper;
 
@@ -562,6 +571,199 @@ public class ActionServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void concurrentIdenticalExecutionsAreCoalesced() {
+        ActionExecutionResult mockResult = new ActionExecutionResult();
+        mockResult.setIsExecutionSuccess(true);
+        mockResult.setBody("response-body");
+
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(pluginExecutor));
+        Mockito.when(pluginExecutor.execute(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(Mono.just(mockResult).delayElement(Duration.ofSeconds(1)));
+        Mockito.when(pluginExecutor.datasourceCreate(Mockito.any())).thenReturn(Mono.empty());
+
+        Action action = new Action();
+        action.setName("coalescedAction");
+        action.setPageId(testPage.getId());
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("select * from users");
+        actionConfiguration.setCoalesceExecutions(true);
+        action.setActionConfiguration(actionConfiguration);
+        action.setDatasource(datasource);
+        Action createdAction = actionService.create(action).block();
+
+        ExecuteActionDTO executeActionDTO = new ExecuteActionDTO();
+        Action actionToExecute = new Action();
+        actionToExecute.setId(createdAction.getId());
+        executeActionDTO.setAction(actionToExecute);
+
+        final long coalescedCountBefore = actionService.getCoalescedExecutionCount();
+
+        StepVerifier
+                .create(Mono.zip(
+                        actionService.executeAction(executeActionDTO),
+                        actionService.executeAction(executeActionDTO)
+                ))
+                .assertNext(tuple -> {
+                    assertThat(tuple.getT1().getBody()).isEqualTo(mockResult.getBody());
+                    assertThat(tuple.getT2().getBody()).isEqualTo(mockResult.getBody());
+                })
+                .verifyComplete();
+
+        Mockito.verify(pluginExecutor, Mockito.times(1)).execute(Mockito.any(), Mockito.any(), Mockito.any());
+        assertThat(actionService.getCoalescedExecutionCount()).isEqualTo(coalescedCountBefore + 1);
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void resultsOfActionsThatAreNotReadOnlyAreNotCached() {
+        ActionExecutionResult mockResult = new ActionExecutionResult();
+        mockResult.setIsExecutionSuccess(true);
+        mockResult.setBody("response-body");
+
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(pluginExecutor));
+        Mockito.when(pluginExecutor.execute(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(mockResult));
+        Mockito.when(pluginExecutor.datasourceCreate(Mockito.any())).thenReturn(Mono.empty());
+        Mockito.when(pluginExecutor.isReadOnly(Mockito.any())).thenReturn(false);
+
+        Datasource savedDatasource = datasourceService.create(datasource).block();
+
+        Action action = new Action();
+        action.setName("cachedWritingAction");
+        action.setPageId(testPage.getId());
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("update users set visits = visits + 1");
+        actionConfiguration.setCacheTtlInSeconds(60);
+        action.setActionConfiguration(actionConfiguration);
+        action.setDatasource(savedDatasource);
+        Action createdAction = actionService.create(action).block();
+
+        ExecuteActionDTO executeActionDTO = new ExecuteActionDTO();
+        Action actionToExecute = new Action();
+        actionToExecute.setId(createdAction.getId());
+        executeActionDTO.setAction(actionToExecute);
+
+        StepVerifier
+                .create(actionService.executeAction(executeActionDTO)
+                        .then(actionService.executeAction(executeActionDTO)))
+                .assertNext(result -> assertThat(result.getBody()).isEqualTo(mockResult.getBody()))
+                .verifyComplete();
+
+        // Both executions reach the plugin, even though the action has caching turned on.
+        Mockito.verify(pluginExecutor, Mockito.times(2)).execute(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void executeBatchOfActions() {
+        ActionExecutionResult mockResult = new ActionExecutionResult();
+        mockResult.setIsExecutionSuccess(true);
+        mockResult.setBody("response-body");
+
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(pluginExecutor));
+        Mockito.when(pluginExecutor.execute(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(mockResult));
+        Mockito.when(pluginExecutor.datasourceCreate(Mockito.any())).thenReturn(Mono.empty());
+
+        List<ExecuteActionDTO> wave = new ArrayList<>();
+        for (String name : List.of("batchAction1", "batchAction2")) {
+            Action action = new Action();
+            action.setName(name);
+            action.setPageId(testPage.getId());
+            ActionConfiguration actionConfiguration = new ActionConfiguration();
+            actionConfiguration.setBody("select * from users");
+            action.setActionConfiguration(actionConfiguration);
+            action.setDatasource(datasource);
+            Action createdAction = actionService.create(action).block();
+
+            Action actionToExecute = new Action();
+            actionToExecute.setId(createdAction.getId());
+            ExecuteActionDTO executeActionDTO = new ExecuteActionDTO();
+            executeActionDTO.setAction(actionToExecute);
+            wave.add(executeActionDTO);
+        }
+
+        ExecuteActionBatchDTO executeActionBatchDTO = new ExecuteActionBatchDTO();
+        executeActionBatchDTO.setWaves(List.of(wave));
+
+        StepVerifier
+                .create(actionService.executeActions(executeActionBatchDTO).collectList())
+                .assertNext(results -> {
+                    assertThat(results).hasSize(2);
+                    assertThat(results.stream().map(ActionExecutionBatchResultDTO::getActionId))
+                            .containsExactlyInAnyOrder(wave.get(0).getAction().getId(), wave.get(1).getAction().getId());
+                    assertThat(results).allSatisfy(result -> {
+                        assertThat(result.getWave()).isEqualTo(0);
+                        assertThat(result.getResult().getBody()).isEqualTo(mockResult.getBody());
+                    });
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void executeBatchRendersSharedDatasourcePerAction() {
+        // The plugin echoes the rendered URL and body back, to check what each execution was run with.
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(pluginExecutor));
+        Mockito.when(pluginExecutor.execute(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            DatasourceConfiguration datasourceConfiguration = invocation.getArgument(1);
+            ActionConfiguration actionConfiguration = invocation.getArgument(2);
+            ActionExecutionResult result = new ActionExecutionResult();
+            result.setIsExecutionSuccess(true);
+            result.setBody(datasourceConfiguration.getUrl() + " " + actionConfiguration.getBody());
+            return Mono.just(result);
+        });
+        Mockito.when(pluginExecutor.datasourceCreate(Mockito.any())).thenReturn(Mono.empty());
+
+        Datasource templatedDatasource = new Datasource();
+        templatedDatasource.setName("Templated Datasource");
+        templatedDatasource.setOrganizationId(testApp.getOrganizationId());
+        templatedDatasource.setPluginId(datasource.getPluginId());
+        DatasourceConfiguration datasourceConfiguration = new DatasourceConfiguration();
+        datasourceConfiguration.setUrl("http://{{Input1.text}}.example.com");
+        templatedDatasource.setDatasourceConfiguration(datasourceConfiguration);
+        Datasource savedDatasource = datasourceService.create(templatedDatasource).block();
+
+        Action action = new Action();
+        action.setName("templatedBatchAction");
+        action.setPageId(testPage.getId());
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setBody("select * from users where id = {{Input2.text}}");
+        action.setActionConfiguration(actionConfiguration);
+        action.setDatasource(savedDatasource);
+        Action createdAction = actionService.create(action).block();
+
+        // The same action is executed twice in the wave, with different params.
+        List<ExecuteActionDTO> wave = new ArrayList<>();
+        for (String value : List.of("a", "b")) {
+            Action actionToExecute = new Action();
+            actionToExecute.setId(createdAction.getId());
+            ExecuteActionDTO executeActionDTO = new ExecuteActionDTO();
+            executeActionDTO.setAction(actionToExecute);
+            List<Param> params = new ArrayList<>();
+            for (String key : List.of("Input1.text", "Input2.text")) {
+                Param param = new Param();
+                param.setKey(key);
+                param.setValue(value);
+                params.add(param);
+            }
+            executeActionDTO.setParams(params);
+            wave.add(executeActionDTO);
+        }
+
+        ExecuteActionBatchDTO executeActionBatchDTO = new ExecuteActionBatchDTO();
+        executeActionBatchDTO.setWaves(List.of(wave));
+
+        StepVerifier
+                .create(actionService.executeActions(executeActionBatchDTO).collectList())
+                .assertNext(results -> assertThat(results.stream().map(result -> result.getResult().getBody()))
+                        .containsExactlyInAnyOrder(
+                                "http://a.example.com select * from users where id = a",
+                                "http://b.example.com select * from users where id = b"
+                        ))
+                .verifyComplete();
+    }
+
     private void executeAndAssertAction(ExecuteActionDTO executeActionDTO, ActionConfiguration actionConfiguration, ActionExecutionResult mockResult) {
 
         Mono<ActionExecutionResult> actionExecutionResultMono = executeAction(executeActionDTO, actionConfiguration, mockResult);
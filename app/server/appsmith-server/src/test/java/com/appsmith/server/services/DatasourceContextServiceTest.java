@@ -4,10 +4,12 @@ import com.appsmith.external.models.AuthenticationDTO;
 import com.appsmith.external.models.DatasourceConfiguration;
 import com.appsmith.server.acl.AclPermission;
 import com.appsmith.server.domains.Datasource;
+import com.appsmith.server.domains.DatasourceContext;
 import com.appsmith.server.domains.Organization;
 import com.appsmith.server.domains.Plugin;
 import com.appsmith.server.helpers.MockPluginExecutor;
 import com.appsmith.server.helpers.PluginExecutorHelper;
+import com.appsmith.server.helpers.PluginSchedulerHelper;
 import com.appsmith.server.repositories.OrganizationRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Before;
@@ -19,9 +21,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.junit4.SpringRunner;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(SpringRunner.class)
@@ -41,6 +47,12 @@ public class DatasourceContextServiceTest {
     @Autowired
     DatasourceService datasourceService;
 
+    @Autowired
+    PluginSchedulerHelper pluginSchedulerHelper;
+
+    @Autowired
+    EncryptionService encryptionService;
+
     @MockBean
     PluginExecutorHelper pluginExecutorHelper;
 
@@ -118,4 +130,161 @@ public class DatasourceContextServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void concurrentRequestsShareSingleDatasourceContext() {
+        final AtomicInteger createCount = new AtomicInteger();
+        final MockPluginExecutor pluginExecutor = new MockPluginExecutor() {
+            @Override
+            public Mono<Object> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
+                createCount.incrementAndGet();
+                // Slow enough for all the requests below to come in while the connection is being created.
+                return Mono.just(new Object()).delayElement(Duration.ofMillis(200));
+            }
+        };
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(pluginExecutor));
+
+        Mono<Plugin> pluginMono = pluginService.findByName("Installed Plugin Name");
+        Datasource datasource = new Datasource();
+        datasource.setName("test datasource name for concurrent datasource context creation");
+        DatasourceConfiguration datasourceConfiguration = new DatasourceConfiguration();
+        datasourceConfiguration.setUrl("http://test.com");
+        datasource.setDatasourceConfiguration(datasourceConfiguration);
+        datasource.setOrganizationId(orgId);
+
+        Mono<Datasource> datasourceMono = pluginMono.map(plugin -> {
+            datasource.setPluginId(plugin.getId());
+            return datasource;
+        }).flatMap(datasourceService::create).cache();
+
+        Mono<Long> distinctContextsMono = datasourceMono
+                .flatMapMany(savedDatasource -> Flux.range(0, 5)
+                        .flatMap(i -> datasourceContextService.getDatasourceContext(savedDatasource)))
+                .map(DatasourceContext::getConnection)
+                .distinct()
+                .count();
+
+        StepVerifier
+                .create(distinctContextsMono)
+                .assertNext(distinctContexts -> {
+                    assertThat(distinctContexts).isEqualTo(1);
+                    assertThat(createCount.get()).isEqualTo(1);
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(datasourceMono)
+                .assertNext(savedDatasource -> assertThat(
+                        datasourceContextService.getDatasourceContextCountByPlugin().get(savedDatasource.getPluginId())
+                ).isGreaterThanOrEqualTo(1))
+                .verifyComplete();
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void leastRecentlyUsedDatasourceContextIsEvicted() {
+        final AtomicInteger destroyCount = new AtomicInteger();
+        final MockPluginExecutor pluginExecutor = new MockPluginExecutor() {
+            @Override
+            public Mono<Object> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
+                return Mono.just(new Object());
+            }
+
+            @Override
+            public void datasourceDestroy(Object connection) {
+                destroyCount.incrementAndGet();
+            }
+        };
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(pluginExecutor));
+
+        // A registry that holds only one context at a time.
+        final DatasourceContextService datasourceContextService = new DatasourceContextServiceImpl(
+                datasourceService, pluginService, pluginExecutorHelper, pluginSchedulerHelper, encryptionService, 30, 1);
+
+        Mono<Plugin> pluginMono = pluginService.findByName("Installed Plugin Name").cache();
+        Flux<Datasource> datasourcesFlux = Flux.just("first", "second")
+                .concatMap(name -> pluginMono.flatMap(plugin -> {
+                    Datasource datasource = new Datasource();
+                    datasource.setName("test datasource name for datasource context eviction " + name);
+                    DatasourceConfiguration datasourceConfiguration = new DatasourceConfiguration();
+                    datasourceConfiguration.setUrl("http://test.com");
+                    datasource.setDatasourceConfiguration(datasourceConfiguration);
+                    datasource.setOrganizationId(orgId);
+                    datasource.setPluginId(plugin.getId());
+                    return datasourceService.create(datasource);
+                }));
+
+        // Use the first datasource, then the second one, which evicts the first, and then the first one again.
+        Mono<DatasourceContext> contextMono = datasourcesFlux
+                .collectList()
+                .flatMap(datasources -> datasourceContextService.getDatasourceContext(datasources.get(0))
+                        .then(datasourceContextService.getDatasourceContext(datasources.get(1)))
+                        .then(datasourceContextService.getDatasourceContext(datasources.get(0))));
+
+        StepVerifier
+                .create(contextMono)
+                .assertNext(datasourceContext -> {
+                    assertThat(datasourceContext.getConnection()).isNotNull();
+                    assertThat(datasourceContextService.getDatasourceContextEvictionCount()).isEqualTo(2);
+                    assertThat(datasourceContextService.getDatasourceContextRecreationCount()).isEqualTo(1);
+                })
+                .verifyComplete();
+
+        // Connections of evicted contexts are destroyed asynchronously, on the plugin's scheduler.
+        StepVerifier
+                .create(Mono.fromCallable(destroyCount::get)
+                        .filter(count -> count == 2)
+                        .repeatWhenEmpty(50, attempts -> attempts.delayElements(Duration.ofMillis(100))))
+                .expectNext(2)
+                .verifyComplete();
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void unsavedDatasourceContextIsDestroyedAfterUse() {
+        final AtomicInteger destroyCount = new AtomicInteger();
+        final MockPluginExecutor pluginExecutor = new MockPluginExecutor() {
+            @Override
+            public Mono<Object> datasourceCreate(DatasourceConfiguration datasourceConfiguration) {
+                return Mono.just(new Object());
+            }
+
+            @Override
+            public void datasourceDestroy(Object connection) {
+                destroyCount.incrementAndGet();
+            }
+        };
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(pluginExecutor));
+
+        // A datasource without an ID, like the one of a dry run.
+        Mono<String> resultMono = pluginService.findByName("Installed Plugin Name")
+                .flatMap(plugin -> {
+                    Datasource datasource = new Datasource();
+                    DatasourceConfiguration datasourceConfiguration = new DatasourceConfiguration();
+                    datasourceConfiguration.setUrl("http://test.com");
+                    datasource.setDatasourceConfiguration(datasourceConfiguration);
+                    datasource.setPluginId(plugin.getId());
+                    return datasourceContextService.withDatasourceContext(
+                            datasource,
+                            datasourceContext -> {
+                                assertThat(destroyCount.get()).isEqualTo(0);
+                                return Mono.just("done");
+                            }
+                    );
+                });
+
+        StepVerifier
+                .create(resultMono)
+                .expectNext("done")
+                .verifyComplete();
+
+        // The connection is destroyed on the plugin's scheduler, once the task is done.
+        StepVerifier
+                .create(Mono.fromCallable(destroyCount::get)
+                        .filter(count -> count == 1)
+                        .repeatWhenEmpty(50, attempts -> attempts.delayElements(Duration.ofMillis(100))))
+                .expectNext(1)
+                .verifyComplete();
+    }
+
 }
@@ -9,9 +9,15 @@ import com.appsmith.server.domains.Layout;
 import com.appsmith.server.domains.Organization;
 import com.appsmith.server.domains.Page;
 import com.appsmith.server.domains.Plugin;
+import com.appsmith.server.domains.QLayout;
 import com.appsmith.server.domains.User;
+import com.appsmith.server.dtos.DslActionDTO;
+import com.appsmith.server.dtos.RefactorNameDTO;
+import com.appsmith.server.exceptions.AppsmithError;
+import com.appsmith.server.exceptions.AppsmithException;
 import com.appsmith.server.helpers.MockPluginExecutor;
 import com.appsmith.server.helpers.PluginExecutorHelper;
+import com.appsmith.server.repositories.ActionRepository;
 import com.appsmith.server.repositories.OrganizationRepository;
 import com.appsmith.server.repositories.PluginRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -31,9 +37,12 @@ import org.springframework.test.context.junit4.SpringRunner;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static com.appsmith.server.acl.AclPermission.READ_ACTIONS;
 import static com.appsmith.server.acl.AclPermission.READ_PAGES;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -63,6 +72,9 @@ public class LayoutActionServiceTest {
     @Autowired
     PluginRepository pluginRepository;
 
+    @Autowired
+    ActionRepository actionRepository;
+
     @MockBean
     PluginExecutorHelper pluginExecutorHelper;
 
@@ -156,4 +168,172 @@ public class LayoutActionServiceTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void updateLayoutIndexesBindingsOfWidgets() {
+        Layout layout = testPage.getLayouts().get(0);
+
+        JSONObject firstWidget = new JSONObject(Map.of(
+                "widgetName", "Text1", "widgetId", "1", "text", "{{ query1.data }}"));
+        JSONObject secondWidget = new JSONObject(Map.of(
+                "widgetName", "Text2", "widgetId", "2", "text", "static text"));
+        JSONObject dsl = new JSONObject(Map.of(
+                "widgetName", "MainContainer", "widgetId", "0", "children", List.of(firstWidget, secondWidget)));
+        layout.setDsl(dsl);
+
+        Mono<Layout> firstUpdateMono = layoutActionService.updateLayout(testPage.getId(), layout.getId(), layout);
+
+        StepVerifier
+                .create(firstUpdateMono)
+                .assertNext(updatedLayout -> {
+                    assertThat(updatedLayout.getWidgetNames()).containsExactlyInAnyOrder("MainContainer", "Text1", "Text2");
+                    assertThat(updatedLayout.getWidgetBindingNames()).containsOnlyKeys("0", "1", "2");
+                    assertThat(updatedLayout.getWidgetBindingNames().get("1")).containsExactly("query1");
+                    assertThat(updatedLayout.getWidgetBindingNames().get("2")).isEmpty();
+                })
+                .verifyComplete();
+
+        // Change the binding in the second widget, and remove the first one.
+        JSONObject changedSecondWidget = new JSONObject(Map.of(
+                "widgetName", "Text2", "widgetId", "2", "text", "{{ query2.data }}"));
+        JSONObject changedDsl = new JSONObject(Map.of(
+                "widgetName", "MainContainer", "widgetId", "0", "children", List.of(changedSecondWidget)));
+        layout.setDsl(changedDsl);
+
+        Mono<Layout> secondUpdateMono = layoutActionService.updateLayout(testPage.getId(), layout.getId(), layout);
+
+        StepVerifier
+                .create(secondUpdateMono)
+                .assertNext(updatedLayout -> {
+                    assertThat(updatedLayout.getWidgetNames()).containsExactlyInAnyOrder("MainContainer", "Text2");
+                    assertThat(updatedLayout.getWidgetBindingNames()).containsOnlyKeys("0", "2");
+                    assertThat(updatedLayout.getWidgetBindingNames().get("2")).containsExactly("query2");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void updateLayoutOrdersOnLoadActionsByDependencies() {
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(new MockPluginExecutor()));
+
+        Layout layout = testPage.getLayouts().get(0);
+        layout.setDsl(new JSONObject(Map.of("text", "{{ query1.data }}")));
+
+        Mono<Layout> updateLayoutMono = actionService.create(newGetAction("query1", "{{ query2.data }} {{ query3.data }}"))
+                .then(actionService.create(newGetAction("query2", "{{ query3.data }}")))
+                .then(actionService.create(newGetAction("query3", "static body")))
+                .then(layoutActionService.updateLayout(testPage.getId(), layout.getId(), layout));
+
+        StepVerifier
+                .create(updateLayoutMono)
+                .assertNext(updatedLayout -> {
+                    List<HashSet<DslActionDTO>> onLoadActions = updatedLayout.getLayoutOnLoadActions();
+                    assertThat(onLoadActions).hasSize(3);
+                    assertThat(onLoadActions.get(0)).extracting(DslActionDTO::getName).containsExactly("query3");
+                    assertThat(onLoadActions.get(1)).extracting(DslActionDTO::getName).containsExactly("query2");
+                    assertThat(onLoadActions.get(2)).extracting(DslActionDTO::getName).containsExactly("query1");
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(actionService.findByNameAndPageId("query3", testPage.getId(), READ_ACTIONS))
+                .assertNext(action -> assertThat(action.getExecuteOnLoad()).isTrue())
+                .verifyComplete();
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void updateLayoutWithCyclicOnLoadActions() {
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(new MockPluginExecutor()));
+
+        Layout layout = testPage.getLayouts().get(0);
+        layout.setDsl(new JSONObject(Map.of("text", "{{ query1.data }}")));
+
+        Mono<Layout> updateLayoutMono = actionService.create(newGetAction("query1", "{{ query2.data }}"))
+                .then(actionService.create(newGetAction("query2", "{{ query1.data }}")))
+                .then(layoutActionService.updateLayout(testPage.getId(), layout.getId(), layout));
+
+        StepVerifier
+                .create(updateLayoutMono)
+                .expectErrorMatches(throwable -> throwable instanceof AppsmithException
+                        && throwable.getMessage().equals(AppsmithError.CYCLICAL_DEPENDENCY_IN_ON_LOAD_ACTIONS
+                        .getMessage("query1 -> query2 -> query1")))
+                .verify();
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void updateLayoutFieldsOfStalePage() {
+        Page page = pageService.getById(testPage.getId()).block();
+        Page stalePage = pageService.getById(testPage.getId()).block();
+
+        Layout layout = page.getLayouts().get(0);
+        layout.setDsl(new JSONObject(Map.of("text", "first update")));
+        Long version = page.getVersion();
+
+        StepVerifier
+                .create(pageService.updateLayoutFields(page, List.of(layout), QLayout.layout.dsl))
+                .assertNext(updatedPage -> assertThat(updatedPage.getVersion()).isEqualTo(version + 1))
+                .verifyComplete();
+
+        Layout staleLayout = stalePage.getLayouts().get(0);
+        staleLayout.setDsl(new JSONObject(Map.of("text", "second update")));
+
+        StepVerifier
+                .create(pageService.updateLayoutFields(stalePage, List.of(staleLayout), QLayout.layout.dsl))
+                .expectErrorMatches(throwable -> throwable instanceof AppsmithException
+                        && ((AppsmithException) throwable).getError() == AppsmithError.CONCURRENT_PAGE_UPDATE)
+                .verify();
+
+        StepVerifier
+                .create(pageService.getById(testPage.getId()))
+                .assertNext(storedPage -> {
+                    Layout storedLayout = storedPage.getLayouts().get(0);
+                    assertThat(storedLayout.getDsl()).isEqualTo(new JSONObject(Map.of("text", "first update")));
+                    assertThat(storedPage.getVersion()).isEqualTo(version + 1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void refactorWidgetNameInActionWithoutExtractedBindings() {
+        Mockito.when(pluginExecutorHelper.getPluginExecutor(Mockito.any())).thenReturn(Mono.just(new MockPluginExecutor()));
+
+        // Actions saved before their bindings were extracted don't have any JSON path keys.
+        Action action = actionService.create(newGetAction("query1", "{{ Input1.text }}")).block();
+        action.setJsonPathKeys(null);
+        actionRepository.save(action).block();
+
+        RefactorNameDTO refactorNameDTO = new RefactorNameDTO();
+        refactorNameDTO.setPageId(testPage.getId());
+        refactorNameDTO.setLayoutId(testPage.getLayouts().get(0).getId());
+        refactorNameDTO.setOldName("Input1");
+        refactorNameDTO.setNewName("Input2");
+
+        Mono<Action> renamedActionMono = layoutActionService.refactorWidgetName(refactorNameDTO)
+                .then(actionService.findByNameAndPageId("query1", testPage.getId(), READ_ACTIONS));
+
+        StepVerifier
+                .create(renamedActionMono)
+                .assertNext(renamedAction -> {
+                    assertThat(renamedAction.getActionConfiguration().getBody()).isEqualTo("{{ Input2.text }}");
+                    assertThat(renamedAction.getJsonPathKeys()).containsExactly("Input2.text");
+                })
+                .verifyComplete();
+    }
+
+    private Action newGetAction(String name, String body) {
+        Action action = new Action();
+        action.setName(name);
+        action.setPageId(testPage.getId());
+        ActionConfiguration actionConfiguration = new ActionConfiguration();
+        actionConfiguration.setHttpMethod(HttpMethod.GET);
+        actionConfiguration.setBody(body);
+        action.setActionConfiguration(actionConfiguration);
+        action.setDatasource(datasource);
+        return action;
+    }
 }
@@ -3,8 +3,10 @@ package com.appsmith.server.services;
 import com.appsmith.external.models.Policy;
 import com.appsmith.server.constants.FieldName;
 import com.appsmith.server.domains.Application;
+import com.appsmith.server.domains.Layout;
 import com.appsmith.server.domains.Page;
 import com.appsmith.server.domains.User;
+import com.appsmith.server.dtos.PageNameIdDTO;
 import com.appsmith.server.exceptions.AppsmithError;
 import com.appsmith.server.exceptions.AppsmithException;
 import lombok.extern.slf4j.Slf4j;
@@ -209,6 +211,48 @@ public class PageServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @WithUserDetails(value = "api_user")
+    public void getPageOnlyLoadsDslOfMode() throws ParseException {
+        Page testPage = new Page();
+        testPage.setName("PageServiceTest ViewMode");
+        setupTestApplication();
+        testPage.setApplicationId(application.getId());
+
+        Page page = applicationPageService.createPage(testPage)
+                .flatMap(savedPage -> applicationService.publish(savedPage.getApplicationId()).thenReturn(savedPage))
+                .block();
+
+        Object parsedJson = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(FieldName.DEFAULT_PAGE_LAYOUT);
+
+        StepVerifier
+                .create(applicationPageService.getPage(page.getId(), false))
+                .assertNext(editedPage -> {
+                    Layout layout = editedPage.getLayouts().get(0);
+                    assertThat(layout.getDsl()).isEqualTo(parsedJson);
+                    assertThat(layout.getWidgetNames()).isNotEmpty();
+                    assertThat(layout.getPublishedDsl()).isNull();
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(applicationPageService.getPage(page.getId(), true))
+                .assertNext(viewedPage -> {
+                    Layout layout = viewedPage.getLayouts().get(0);
+                    assertThat(layout.getViewMode()).isTrue();
+                    assertThat(layout.getDsl()).isEqualTo(parsedJson);
+                    assertThat(layout.getWidgetNames()).isNull();
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(pageService.findNamesByApplicationId(application.getId()))
+                .assertNext(applicationPages -> assertThat(applicationPages.getPages())
+                        .extracting(PageNameIdDTO::getName)
+                        .contains("PageServiceTest ViewMode"))
+                .verifyComplete();
+    }
+
 
     @After
     public void purgeAllPages() {